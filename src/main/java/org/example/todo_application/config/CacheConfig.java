@@ -0,0 +1,43 @@
+package org.example.todo_application.config;
+
+import org.example.todo_application.service.TodoListChangeTracker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Read-through caches for the todo list reads. Their keys start with the list version of
+ * TodoListChangeTracker, taken before the rows are loaded: a read that overlaps a write caches under
+ * the version from before the write, and reads after the commit look up the new version.
+ * <p>
+ * The cache is consulted before anything else, so a hit takes no permit of the TodoServiceBulkhead.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "todo.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheConfig {
+    public static final String TODO_LIST_CACHE = "todoList";
+    public static final String TODO_PAGE_CACHE = "todoPages";
+    public static final String TODO_LIST_KEY_GENERATOR = "todoListKeyGenerator";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${todo.cache.spec:maximumSize=1000,expireAfterWrite=60s,recordStats}") String cacheSpec) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(TODO_LIST_CACHE, TODO_PAGE_CACHE);
+        caffeineCacheManager.setCacheSpecification(cacheSpec);
+        return caffeineCacheManager;
+    }
+
+    @Bean(TODO_LIST_KEY_GENERATOR)
+    public KeyGenerator todoListKeyGenerator(TodoListChangeTracker todoListChangeTracker) {
+        return (target, method, params) ->
+                new SimpleKey(todoListChangeTracker.currentVersion(), SimpleKeyGenerator.generateKey(params));
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.todo_application.config;
+
+import net.ttddyy.dsproxy.listener.logging.SLF4JLogLevel;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps the DataSource in a datasource-proxy that logs statements slower than
+ * {@code todo.datasource-proxy.slow-query-threshold-ms} and, when {@code todo.datasource-proxy.count-queries}
+ * is set, counts statements per thread in {@link net.ttddyy.dsproxy.QueryCountHolder} so tests can assert them.
+ */
+@Configuration
+@ConditionalOnProperty(name = "todo.datasource-proxy.enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceProxyConfig {
+
+    // Static so the post-processor is registered before the DataSource it wraps is created
+    @Bean
+    public static BeanPostProcessor dataSourceProxyBeanPostProcessor(
+            @Value("${todo.datasource-proxy.slow-query-threshold-ms:500}") long slowQueryThresholdMs,
+            @Value("${todo.datasource-proxy.count-queries:false}") boolean countQueries) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .logSlowQueryBySlf4j(slowQueryThresholdMs, TimeUnit.MILLISECONDS, SLF4JLogLevel.WARN);
+                if (countQueries) {
+                    builder.countQuery();
+                }
+                return builder.build();
+            }
+        };
+    }
+}
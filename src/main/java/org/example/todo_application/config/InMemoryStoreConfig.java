@@ -0,0 +1,60 @@
+package org.example.todo_application.config;
+
+import org.example.todo_application.journal.FileTodoJournal;
+import org.example.todo_application.journal.TodoJournal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.nio.file.Path;
+
+/**
+ * Transaction manager for the in-memory profile, where no database is configured. InMemoryTodoStore applies
+ * each write atomically on its own, so there is nothing to commit or roll back, but {@code @Transactional}
+ * keeps demarcating units of work: transaction synchronization, and with it the after-commit handling of
+ * TodoChangedEvent, behaves as it does with JPA.
+ * <p>
+ * Durability comes from the todo journal when {@code todo.journal.enabled} is set.
+ */
+@Configuration
+@Profile("in-memory")
+public class InMemoryStoreConfig {
+
+    @Bean
+    public PlatformTransactionManager transactionManager() {
+        return new InMemoryTransactionManager();
+    }
+
+    @Bean(destroyMethod = "close")
+    public TodoJournal todoJournal(@Value("${todo.journal.enabled:false}") boolean enabled,
+                                   @Value("${todo.journal.directory:data/journal}") Path directory,
+                                   @Value("${todo.journal.fsync:true}") boolean fsync,
+                                   @Value("${todo.journal.snapshot-after-records:100000}") long snapshotAfterRecords) {
+        return enabled ? new FileTodoJournal(directory, fsync, snapshotAfterRecords) : TodoJournal.NONE;
+    }
+
+    private static class InMemoryTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
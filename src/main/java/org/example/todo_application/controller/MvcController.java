@@ -1,22 +1,36 @@
 package org.example.todo_application.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.todo_application.dto.TodoFilterDto;
+import org.example.todo_application.dto.TodoFrontendDto;
+import org.example.todo_application.dto.TodoPageDto;
 import org.example.todo_application.dto.TodoSaveDto;
 import org.example.todo_application.entity.Priority;
+import org.example.todo_application.exception.DeadlineCannotBeInPastException;
+import org.example.todo_application.exception.ServiceBusyException;
+import org.example.todo_application.exception.TodoNotFoundException;
+import org.example.todo_application.metrics.TodoMetrics;
 import org.example.todo_application.service.TodoService;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
 
 @Controller
 @RequiredArgsConstructor
 @Slf4j
 public class MvcController {
+    static final String TODO_ROW = "fragments/todo-row :: todoRow";
+
     private final TodoService todoService;
 
     @PostMapping("/createTodo")
@@ -24,6 +38,7 @@ public class MvcController {
                              BindingResult result,
                              Model model) {
         if (result.hasErrors()) {
+            TodoMetrics.validationFailed(TodoMetrics.INVALID_REQUEST);
             model.addAttribute("todoSaveDto", todoSaveDto);
             return "index";
         }
@@ -38,9 +53,19 @@ public class MvcController {
     }
 
     @GetMapping()
-    public String getFrontendTodoList(Model model) {
+    public String getFrontendTodoList(@RequestParam(required = false) String cursor,
+                                      @RequestParam(defaultValue = "" + TodoService.DEFAULT_PAGE_SIZE) int size,
+                                      WebRequest webRequest,
+                                      Model model) {
         try {
-            model.addAttribute("todos", todoService.getFrontedTodoDtoList());
+            if (webRequest.checkNotModified(todoService.getTodoListETag())) {
+                return null;
+            }
+            TodoPageDto todoPage = todoService.getFrontendTodoPage(cursor, size);
+            model.addAttribute("todos", todoPage.getTodos());
+            model.addAttribute("nextCursor", todoPage.getNextCursor());
+            // Only the first page is rendered; script.js loads the following ones as the list is scrolled
+            model.addAttribute("virtualScroll", true);
             model.addAttribute("todoSaveDto", new TodoSaveDto());
             return "index";
         } catch (Exception e) {
@@ -50,11 +75,52 @@ public class MvcController {
         }
     }
 
+    @GetMapping("/filter")
+    public String getFilteredFrontendTodoList(TodoFilterDto todoFilterDto,
+                                              @RequestParam(defaultValue = "0") int page,
+                                              @RequestParam(defaultValue = "" + TodoService.DEFAULT_PAGE_SIZE) int size,
+                                              Model model) {
+        try {
+            List<TodoFrontendDto> todos = todoService.getFilteredFrontendTodoDtoList(todoFilterDto, page, size);
+            model.addAttribute("todos", todos);
+            model.addAttribute("todoSaveDto", new TodoSaveDto());
+            if (!todos.isEmpty() && todos.size() >= Math.min(size, TodoService.MAX_PAGE_SIZE)) {
+                model.addAttribute("nextPage", page + 1);
+            }
+            return "index";
+        } catch (Exception e) {
+            log.error("Failed to get filtered list of todos: {} ", e.getMessage());
+            model.addAttribute("errormessage", "Failed to get todos: " + e.getMessage());
+            return "error-page";
+        }
+    }
+
+    @GetMapping("/search")
+    public String searchTodos(@RequestParam("q") String query,
+                              @RequestParam(defaultValue = "0") int page,
+                              @RequestParam(defaultValue = "" + TodoService.DEFAULT_PAGE_SIZE) int size,
+                              Model model) {
+        try {
+            List<TodoFrontendDto> todos = todoService.searchTodos(query, page, size);
+            model.addAttribute("todos", todos);
+            model.addAttribute("todoSaveDto", new TodoSaveDto());
+            if (!todos.isEmpty() && todos.size() >= Math.min(size, TodoService.MAX_PAGE_SIZE)) {
+                model.addAttribute("nextSearchPage", page + 1);
+            }
+            return "index";
+        } catch (Exception e) {
+            log.error("Failed to search todos: {} ", e.getMessage());
+            model.addAttribute("errormessage", "Failed to search todos: " + e.getMessage());
+            return "error-page";
+        }
+    }
+
     @PostMapping("/updateName")
     public String updateName(@RequestParam Long todoId,
                              @RequestParam String newName,
                              Model model) {
         if (newName.length() > 100) {
+            TodoMetrics.validationFailed(TodoMetrics.INVALID_REQUEST);
             model.addAttribute("errormessage", "Failed to update todo: Name cannot exceed 100 characters.");
             return "error-page";
         }
@@ -128,4 +194,160 @@ public class MvcController {
             return "error-page";
         }
     }
+
+    @PostMapping("/updateIsDoneStatuses")
+    public String changeIsDoneStatuses(@RequestParam(required = false) List<Long> todoIds,
+                                       @RequestParam boolean isDone,
+                                       Model model) {
+        if (todoIds == null || todoIds.isEmpty()) {
+            return "redirect:/";
+        }
+        try {
+            todoService.changeTodosIsDoneStatus(todoIds, isDone);
+            return "redirect:/";
+        } catch (Exception e) {
+            log.error("Failed to change status for {} todos: {}", todoIds.size(), e.getMessage());
+            model.addAttribute("errormessage", "Failed to change todo status: " + e.getMessage());
+            return "error-page";
+        }
+    }
+
+    @PostMapping("/updatePriorities")
+    public String updatePriorities(@RequestParam(required = false) List<Long> todoIds,
+                                   @RequestParam(required = false) String priority, // String for flexible input
+                                   Model model) {
+        if (todoIds == null || todoIds.isEmpty()) {
+            return "redirect:/";
+        }
+        try {
+            Priority priorityValue = (priority == null || priority.isEmpty() || "null".equals(priority)) ? null : Priority.valueOf(priority);
+            todoService.updateTodosPriority(todoIds, priorityValue);
+            return "redirect:/";
+        } catch (Exception e) {
+            log.error("Failed to update priority for {} todos: {}", todoIds.size(), e.getMessage());
+            model.addAttribute("errormessage", "Failed to update priority: " + e.getMessage());
+            return "error-page";
+        }
+    }
+
+    @PostMapping("/deleteTodos")
+    public String deleteTodos(@RequestParam(required = false) List<Long> todoIds, Model model) {
+        if (todoIds == null || todoIds.isEmpty()) {
+            return "redirect:/";
+        }
+        try {
+            todoService.deleteTodos(todoIds);
+            return "redirect:/";
+        } catch (Exception e) {
+            log.error("Failed to delete {} todos: {}", todoIds.size(), e.getMessage());
+            model.addAttribute("errormessage", "Failed to delete todos: " + e.getMessage());
+            return "error-page";
+        }
+    }
+
+    @PostMapping("/deleteCompletedTodos")
+    public String deleteCompletedTodos(Model model) {
+        try {
+            todoService.deleteCompletedTodos();
+            return "redirect:/";
+        } catch (Exception e) {
+            log.error("Failed to delete completed todos: {}", e.getMessage());
+            model.addAttribute("errormessage", "Failed to delete completed todos: " + e.getMessage());
+            return "error-page";
+        }
+    }
+
+    // Row edits used by script.js: each answers with just the edited row, rendered from the same fragment as the list
+
+    @PostMapping("/row/updateName")
+    public String updateNameRow(@RequestParam Long todoId,
+                                @RequestParam String newName,
+                                HttpServletResponse response,
+                                Model model) {
+        if (newName.length() > 100) {
+            TodoMetrics.validationFailed(TodoMetrics.INVALID_REQUEST);
+            return rowError(response, HttpServletResponse.SC_BAD_REQUEST, model, "Failed to update todo: Name cannot exceed 100 characters.");
+        }
+        try {
+            todoService.updateTodoName(todoId, newName);
+            return row(todoId, model);
+        } catch (Exception e) {
+            log.error("Failed to update todo with id {}: {}", todoId, e.getMessage());
+            return rowError(response, rowErrorStatus(e), model, "Failed to update todo: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/row/changeIsDoneStatus")
+    public String changeIsDoneStatusRow(@RequestParam Long todoId,
+                                        HttpServletResponse response,
+                                        Model model) {
+        try {
+            todoService.changeTodoIsDoneStatus(todoId);
+            return row(todoId, model);
+        } catch (Exception e) {
+            log.error("Failed to change status for todo with id {}: {}", todoId, e.getMessage());
+            return rowError(response, rowErrorStatus(e), model, "Failed to change todo status: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/row/updateDeadline")
+    public String updateDeadlineRow(@RequestParam Long todoId,
+                                    @RequestParam(required = false) String newLocalDate,
+                                    HttpServletResponse response,
+                                    Model model) {
+        try {
+            LocalDate deadline = (newLocalDate == null || newLocalDate.isEmpty()) ? null : LocalDate.parse(newLocalDate);
+            todoService.updateTodoDeadline(todoId, deadline);
+            return row(todoId, model);
+        } catch (Exception e) {
+            log.error("Failed to update deadline for todo with id {}: {}", todoId, e.getMessage());
+            return rowError(response, rowErrorStatus(e), model, "Failed to update todo deadline: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/row/updatePriority")
+    public String updatePriorityRow(@RequestParam Long todoId,
+                                    @RequestParam(required = false) String priority,
+                                    HttpServletResponse response,
+                                    Model model) {
+        try {
+            Priority priorityValue = (priority == null || priority.isEmpty() || "null".equals(priority)) ? null : Priority.valueOf(priority);
+            todoService.updateTodoPriority(todoId, priorityValue);
+            return row(todoId, model);
+        } catch (Exception e) {
+            log.error("Failed to update priority for todo with id {}: {}", todoId, e.getMessage());
+            return rowError(response, rowErrorStatus(e), model, "Failed to update priority: " + e.getMessage());
+        }
+    }
+
+    private String row(Long todoId, Model model) {
+        model.addAttribute("todo", todoService.getFrontendTodo(todoId));
+        return TODO_ROW;
+    }
+
+    // Same statuses as GlobalExceptionHandler gives the REST endpoints, where Spring parses the values instead: a bad
+    // value or a deadline in the past is 400, a missing todo 404, a concurrent edit 409 and a busy service 503
+    private static int rowErrorStatus(Exception e) {
+        if (e instanceof DeadlineCannotBeInPastException || e instanceof DateTimeParseException
+                || e instanceof IllegalArgumentException) {
+            return HttpServletResponse.SC_BAD_REQUEST;
+        }
+        if (e instanceof TodoNotFoundException) {
+            return HttpServletResponse.SC_NOT_FOUND;
+        }
+        if (e instanceof OptimisticLockingFailureException) {
+            return HttpServletResponse.SC_CONFLICT;
+        }
+        if (e instanceof ServiceBusyException) {
+            return HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+        }
+        return HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+    }
+
+    // A failed row edit answers with the error page and an error status, so script.js can tell it from a row
+    private static String rowError(HttpServletResponse response, int status, Model model, String message) {
+        response.setStatus(status);
+        model.addAttribute("errormessage", message);
+        return "error-page";
+    }
 }
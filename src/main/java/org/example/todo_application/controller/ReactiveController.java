@@ -0,0 +1,95 @@
+package org.example.todo_application.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.todo_application.dto.TodoFrontendDto;
+import org.example.todo_application.exception.TodoNotFoundException;
+import org.example.todo_application.mapper.TodoMapper;
+import org.example.todo_application.reactive.StreamingResponseWriter;
+import org.example.todo_application.repository.TodoRowRepository;
+import org.example.todo_application.service.TodoWriteBehindBuffer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Non-blocking reads for clients that hold many connections open or read slowly. Todos are read over R2DBC, so
+ * no request thread waits for the database, and the stream is written with non-blocking servlet output by
+ * {@link StreamingResponseWriter}, so no thread waits for a client that is not reading either. Rows are mapped by
+ * {@link TodoMapper} and show waiting write-behind edits, like the blocking reads.
+ */
+@org.springframework.web.bind.annotation.RestController
+@Profile("!in-memory")
+@RequestMapping("api/reactive")
+public class ReactiveController {
+    private final TodoRowRepository todoRowRepository;
+    private final TodoMapper todoMapper;
+    private final TodoWriteBehindBuffer todoWriteBehindBuffer;
+    private final ObjectMapper objectMapper;
+    private final int pageSize;
+    private final Duration streamTimeout;
+
+    public ReactiveController(TodoRowRepository todoRowRepository,
+                              TodoMapper todoMapper,
+                              TodoWriteBehindBuffer todoWriteBehindBuffer,
+                              ObjectMapper objectMapper,
+                              @Value("${todo.reactive.page-size:200}") int pageSize,
+                              @Value("${todo.reactive.stream-timeout:10m}") Duration streamTimeout) {
+        this.todoRowRepository = todoRowRepository;
+        this.todoMapper = todoMapper;
+        this.todoWriteBehindBuffer = todoWriteBehindBuffer;
+        this.objectMapper = objectMapper;
+        this.pageSize = pageSize;
+        this.streamTimeout = streamTimeout;
+    }
+
+    /**
+     * Streams all todos in id order as newline-delimited JSON. Each keyset page is read in its own query once the
+     * client has taken the previous one, so a slow client holds no connection. The stream is ended after
+     * {@code todo.reactive.stream-timeout}, also when its client stopped reading.
+     */
+    @GetMapping(value = "/todos", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamTodos(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Flux<TodoFrontendDto> todos = readPage(0L)
+                .expand(page -> page.size() < pageSize ? Mono.empty() : readPage(page.get(page.size() - 1).getTodoId()))
+                .flatMapIterable(page -> page, 1);
+        StreamingResponseWriter.stream(request, response, MediaType.APPLICATION_NDJSON_VALUE, null, todos,
+                (todo, outputStream) -> {
+                    outputStream.write(objectMapper.writeValueAsBytes(todo));
+                    outputStream.write('\n');
+                }, streamTimeout.toMillis());
+    }
+
+    @GetMapping("/todos/{todoId}")
+    public Mono<TodoFrontendDto> getTodo(@PathVariable Long todoId) {
+        return todoRowRepository.findById(todoId)
+                .map(todoRow -> overlay(List.of(todoMapper.rowToFrontEndDto(todoRow))).get(0))
+                .switchIfEmpty(Mono.error(() -> new TodoNotFoundException("Todo not found")));
+    }
+
+    // The page is read to the end once subscribed, which expand() does one page ahead of the client. collectList()
+    // alone would ask for the rows only when the client gets to the page, holding a pooled connection until then.
+    private Mono<List<TodoFrontendDto>> readPage(long afterTodoId) {
+        return Mono.fromFuture(() -> todoRowRepository.findByTodoIdGreaterThanOrderByTodoIdAsc(afterTodoId, Limit.of(pageSize))
+                        .map(todoMapper::rowToFrontEndDto)
+                        .collectList()
+                        .toFuture())
+                .map(this::overlay);
+    }
+
+    private List<TodoFrontendDto> overlay(List<TodoFrontendDto> todoFrontendDtos) {
+        todoWriteBehindBuffer.overlay(todoFrontendDtos);
+        return todoFrontendDtos;
+    }
+}
@@ -1,16 +1,27 @@
 package org.example.todo_application.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.todo_application.dto.TodoBatchSaveDto;
+import org.example.todo_application.dto.TodoFilterDto;
 import org.example.todo_application.dto.TodoFrontendDto;
+import org.example.todo_application.dto.TodoIdsDto;
+import org.example.todo_application.dto.TodoPageDto;
 import org.example.todo_application.dto.TodoSaveDto;
+import org.example.todo_application.dto.TodoSummaryDto;
 import org.example.todo_application.entity.Priority;
+import org.example.todo_application.metrics.TodoMetrics;
 import org.example.todo_application.service.TodoService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -26,6 +37,7 @@ import java.util.List;
 
 public class RestController {
     private final TodoService todoService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/createTodo")
     public ResponseEntity<String> createTodo(@Valid @RequestBody TodoSaveDto todoSaveDto) {
@@ -33,9 +45,20 @@ public class RestController {
         return new ResponseEntity<>(String.format("Todo: %s was saved", todoSaveDto.getName()), HttpStatus.CREATED);
     }
 
+    @PostMapping("/createTodos")
+    public ResponseEntity<String> createTodos(@Valid @RequestBody TodoBatchSaveDto todoBatchSaveDto) {
+        List<Long> todoIds = todoService.saveTodos(todoBatchSaveDto.getTodos());
+        return new ResponseEntity<>(String.format("%d todos were saved", todoIds.size()), HttpStatus.CREATED);
+    }
+
     @GetMapping("/todos/frontendDto")
-    public ResponseEntity<List<TodoFrontendDto>> getFrontendTodoList() {
+    public ResponseEntity<List<TodoFrontendDto>> getFrontendTodoList(WebRequest webRequest) {
         try {
+            // Answer 304 from the list version alone, before any rows are read or serialized;
+            // checkNotModified also sets the ETag header on a full response
+            if (webRequest.checkNotModified(todoService.getTodoListETag())) {
+                return null;
+            }
             return new ResponseEntity<>(todoService.getFrontedTodoDtoList(), HttpStatus.OK);
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -43,10 +66,68 @@ public class RestController {
         }
     }
 
+    @GetMapping("/todos/frontendDto/page")
+    public ResponseEntity<TodoPageDto> getFrontendTodoPage(@RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "" + TodoService.DEFAULT_PAGE_SIZE) int size,
+                                                           WebRequest webRequest) {
+        if (webRequest.checkNotModified(todoService.getTodoListETag())) {
+            return null;
+        }
+        return new ResponseEntity<>(todoService.getFrontendTodoPage(cursor, size), HttpStatus.OK);
+    }
+
+    @GetMapping("/todos/frontendDto/filter")
+    public ResponseEntity<List<TodoFrontendDto>> getFilteredFrontendTodoList(TodoFilterDto todoFilterDto,
+                                                                             @RequestParam(defaultValue = "0") int page,
+                                                                             @RequestParam(defaultValue = "" + TodoService.DEFAULT_PAGE_SIZE) int size) {
+        return new ResponseEntity<>(todoService.getFilteredFrontendTodoDtoList(todoFilterDto, page, size), HttpStatus.OK);
+    }
+
+    @GetMapping("/todos/frontendDto/search")
+    public ResponseEntity<List<TodoFrontendDto>> searchTodos(@RequestParam("q") String query,
+                                                             @RequestParam(defaultValue = "0") int page,
+                                                             @RequestParam(defaultValue = "" + TodoService.DEFAULT_PAGE_SIZE) int size) {
+        return new ResponseEntity<>(todoService.searchTodos(query, page, size), HttpStatus.OK);
+    }
+
+    @GetMapping("/todos/summary")
+    public ResponseEntity<TodoSummaryDto> getTodoSummary() {
+        return new ResponseEntity<>(todoService.getTodoSummary(), HttpStatus.OK);
+    }
+
+    /**
+     * Streams all todos as newline-delimited JSON, one keyset page of {@value TodoService#MAX_PAGE_SIZE} at a time,
+     * so memory use does not grow with the number of todos. Each page is read in its own short transaction and
+     * written after it, so a slow client holds no connection while its bytes are sent.
+     */
+    @GetMapping(value = "/todos/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportFrontendTodos() {
+        StreamingResponseBody responseBody = outputStream -> {
+            BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(outputStream);
+            long lastTodoId = 0;
+            List<TodoFrontendDto> page;
+            do {
+                page = todoService.getFrontendTodosAfter(lastTodoId, TodoService.MAX_PAGE_SIZE);
+                for (TodoFrontendDto todoFrontendDto : page) {
+                    bufferedOutputStream.write(objectMapper.writeValueAsBytes(todoFrontendDto));
+                    bufferedOutputStream.write('\n');
+                }
+                if (!page.isEmpty()) {
+                    lastTodoId = page.get(page.size() - 1).getTodoId();
+                }
+            } while (page.size() == TodoService.MAX_PAGE_SIZE);
+            bufferedOutputStream.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(responseBody);
+    }
+
     @PatchMapping("/updateName")
     public ResponseEntity<String> updateName(@RequestParam Long todoId,
                                              @RequestParam String newName) {
         if (newName.length() > 100) {
+            TodoMetrics.validationFailed(TodoMetrics.INVALID_REQUEST);
             return new ResponseEntity<>("Name cannot exceed 100 characters", HttpStatus.BAD_REQUEST);
         }
         todoService.updateTodoName(todoId, newName);
@@ -81,4 +162,30 @@ public class RestController {
         return new ResponseEntity<>("Todo was deleted", HttpStatus.OK);
 
     }
+
+    @PatchMapping("/updateIsDoneStatuses")
+    public ResponseEntity<String> changeIsDoneStatuses(@Valid @RequestBody TodoIdsDto todoIdsDto,
+                                                       @RequestParam boolean isDone) {
+        int changed = todoService.changeTodosIsDoneStatus(todoIdsDto.getTodoIds(), isDone);
+        return new ResponseEntity<>(String.format("Status was changed for %d todos", changed), HttpStatus.OK);
+    }
+
+    @PatchMapping("/updatePriorities")
+    public ResponseEntity<String> updatePriorities(@Valid @RequestBody TodoIdsDto todoIdsDto,
+                                                   @RequestParam(required = false) Priority priority) {
+        int changed = todoService.updateTodosPriority(todoIdsDto.getTodoIds(), priority);
+        return new ResponseEntity<>(String.format("Priority was changed for %d todos", changed), HttpStatus.OK);
+    }
+
+    @DeleteMapping("/deleteTodos")
+    public ResponseEntity<String> deleteTodos(@Valid @RequestBody TodoIdsDto todoIdsDto) {
+        int deleted = todoService.deleteTodos(todoIdsDto.getTodoIds());
+        return new ResponseEntity<>(String.format("%d todos were deleted", deleted), HttpStatus.OK);
+    }
+
+    @DeleteMapping("/deleteCompletedTodos")
+    public ResponseEntity<String> deleteCompletedTodos() {
+        int deleted = todoService.deleteCompletedTodos();
+        return new ResponseEntity<>(String.format("%d completed todos were deleted", deleted), HttpStatus.OK);
+    }
 }
@@ -0,0 +1,62 @@
+package org.example.todo_application.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.todo_application.event.TodoChangeType;
+import org.example.todo_application.reactive.StreamingResponseWriter;
+import org.example.todo_application.reactive.TodoEventBroadcaster;
+import org.example.todo_application.reactive.TodoStreamEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Change events for the browsers, in every profile: unlike the reads of {@link ReactiveController} they come
+ * from memory, not from the database.
+ */
+@org.springframework.web.bind.annotation.RestController
+@RequestMapping("api/reactive")
+public class TodoEventController {
+    // Asks the browser to reconnect after 5 seconds when the stream ends
+    private static final byte[] RECONNECT_DELAY = "retry:5000\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final TodoEventBroadcaster todoEventBroadcaster;
+    private final ObjectMapper objectMapper;
+    private final Duration eventStreamTimeout;
+
+    public TodoEventController(TodoEventBroadcaster todoEventBroadcaster,
+                               ObjectMapper objectMapper,
+                               @Value("${todo.events.stream-timeout:30m}") Duration eventStreamTimeout) {
+        this.todoEventBroadcaster = todoEventBroadcaster;
+        this.objectMapper = objectMapper;
+        this.eventStreamTimeout = eventStreamTimeout;
+    }
+
+    /**
+     * Server-sent events for every committed change: {@code created} and {@code updated} carry the current rows,
+     * {@code deleted} the todo ids. A client that falls behind is disconnected and should load the list again
+     * when its event source reconnects. The stream ends after {@code todo.events.stream-timeout}. It is written
+     * with non-blocking output, so a client that is not reading holds no thread.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public void streamEvents(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        StreamingResponseWriter.stream(request, response, MediaType.TEXT_EVENT_STREAM_VALUE, RECONNECT_DELAY,
+                todoEventBroadcaster.events(),
+                (event, outputStream) -> {
+                    outputStream.write(("event:" + event.getType().name().toLowerCase() + "\ndata:")
+                            .getBytes(StandardCharsets.UTF_8));
+                    outputStream.write(objectMapper.writeValueAsBytes(eventData(event)));
+                    outputStream.write("\n\n".getBytes(StandardCharsets.UTF_8));
+                }, eventStreamTimeout.toMillis());
+    }
+
+    private static Object eventData(TodoStreamEvent event) {
+        return event.getType() == TodoChangeType.DELETED ? event.getTodoIds() : event.getTodos();
+    }
+}
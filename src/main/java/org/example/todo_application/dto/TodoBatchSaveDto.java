@@ -0,0 +1,22 @@
+package org.example.todo_application.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoBatchSaveDto {
+    public static final int MAX_BATCH_SIZE = 5000;
+
+    @NotEmpty
+    @Size(max = MAX_BATCH_SIZE)
+    private List<@NotNull @Valid TodoSaveDto> todos;
+}
@@ -0,0 +1,16 @@
+package org.example.todo_application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.todo_application.entity.Priority;
+
+/**
+ * Number of todos with one combination of status and priority; a null priority counts todos without one.
+ */
+@Getter
+@AllArgsConstructor
+public class TodoCountDto {
+    private final boolean isDone;
+    private final Priority priority;
+    private final long count;
+}
@@ -0,0 +1,42 @@
+package org.example.todo_application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import org.example.todo_application.entity.Priority;
+
+import java.time.LocalDate;
+
+/**
+ * Changes to some of a todo's editable fields; a field is only written when its {@code ...Changed} flag is set,
+ * which keeps "clear the deadline" apart from "leave the deadline alone".
+ */
+@Getter
+@Builder(toBuilder = true)
+@AllArgsConstructor
+public class TodoFieldUpdateDto {
+    private final Long todoId;
+    private final boolean nameChanged;
+    private final String name;
+    private final boolean deadlineChanged;
+    private final LocalDate deadline;
+    private final boolean priorityChanged;
+    private final Priority priority;
+
+    /**
+     * This update followed by {@code later}: fields changed by {@code later} take its values, the rest keep these.
+     */
+    public TodoFieldUpdateDto then(TodoFieldUpdateDto later) {
+        TodoFieldUpdateDtoBuilder merged = toBuilder();
+        if (later.nameChanged) {
+            merged.nameChanged(true).name(later.name);
+        }
+        if (later.deadlineChanged) {
+            merged.deadlineChanged(true).deadline(later.deadline);
+        }
+        if (later.priorityChanged) {
+            merged.priorityChanged(true).priority(later.priority);
+        }
+        return merged.build();
+    }
+}
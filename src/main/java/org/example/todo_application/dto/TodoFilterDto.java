@@ -0,0 +1,29 @@
+package org.example.todo_application.dto;
+
+import lombok.*;
+import org.example.todo_application.entity.Priority;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Optional criteria for narrowing the todo list on the database side. Null fields are not filtered on.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoFilterDto {
+    private Boolean isDone;
+    private Priority priority;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate deadlineFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate deadlineTo;
+    @Builder.Default
+    private TodoSortField sortBy = TodoSortField.DEADLINE;
+    @Builder.Default
+    private Sort.Direction direction = Sort.Direction.ASC;
+}
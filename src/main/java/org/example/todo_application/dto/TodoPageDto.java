@@ -0,0 +1,21 @@
+package org.example.todo_application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * One keyset page of todos. {@code nextCursor} is an opaque token to pass back
+ * as {@code cursor} for the following page, or null when this is the last page.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoPageDto {
+    private List<TodoFrontendDto> todos;
+    private String nextCursor;
+}
@@ -0,0 +1,6 @@
+package org.example.todo_application.dto;
+
+public enum TodoSortField {
+    DEADLINE,
+    PRIORITY
+}
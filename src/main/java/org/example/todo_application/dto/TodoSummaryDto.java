@@ -0,0 +1,24 @@
+package org.example.todo_application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Todo counts for dashboards. Overdue todos are the unfinished ones whose deadline is before today.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoSummaryDto {
+    private long total;
+    private long open;
+    private long finished;
+    private long overdue;
+    private long noPriority;
+    private long lowPriority;
+    private long mediumPriority;
+    private long highPriority;
+}
@@ -3,5 +3,12 @@ package org.example.todo_application.entity;
 public enum Priority {
     LOW,
     MEDIUM,
-    HIGH
+    HIGH;
+
+    /**
+     * The sort rank stored next to the priority name, lowest first; null for a todo without priority.
+     */
+    public static Integer rankOf(Priority priority) {
+        return priority == null ? null : priority.ordinal() + 1;
+    }
 }
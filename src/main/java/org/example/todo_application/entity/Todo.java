@@ -6,14 +6,28 @@ import lombok.*;
 import java.time.LocalDate;
 
 @Entity
+@Table(indexes = {
+        // Composite indexes back the filter query: equality on status or priority, then range/sort on deadline
+        @Index(name = "idx_todo_is_done_deadline", columnList = "isDone, deadline"),
+        @Index(name = "idx_todo_priority_deadline", columnList = "priority, deadline"),
+        @Index(name = "idx_todo_deadline", columnList = "deadline"),
+        // Sorting by priority walks these in rank order, alone or after an equality on status
+        @Index(name = "idx_todo_is_done_priority_rank", columnList = "isDone, priorityRank"),
+        @Index(name = "idx_todo_priority_rank", columnList = "priorityRank")
+})
 @NoArgsConstructor
 @Getter
 @Setter
 @Builder
 @AllArgsConstructor
 public class Todo {
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // IDENTITY would force Hibernate to insert rows one at a time to learn each id; a pooled sequence
+    // hands out ids in blocks so inserts can be sent as JDBC batches (MySQL emulates it with a table)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todo_seq")
+    @SequenceGenerator(name = "todo_seq", sequenceName = "todo_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long todoId;
     @Column(length = 100)
     private String name;
@@ -21,9 +35,20 @@ public class Todo {
     private LocalDate deadline;
     @Enumerated(EnumType.STRING)
     private Priority priority;
+    // Priority.rankOf(priority), kept in step on every write so priority sorts can use an index
+    private Integer priorityRank;
+    // Bumped on every write, including the bulk UPDATE statements in TodoRepository
+    @Version
+    private long version;
 
     public void changeIsDoneStatus() {
         this.isDone = !isDone;
     }
 
+    @PrePersist
+    @PreUpdate
+    void rankPriority() {
+        this.priorityRank = Priority.rankOf(priority);
+    }
+
 }
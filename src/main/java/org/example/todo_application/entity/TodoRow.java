@@ -0,0 +1,28 @@
+package org.example.todo_application.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDate;
+
+/**
+ * A row of the {@code todo} table as read by R2DBC for the non-blocking endpoints. The table itself belongs to
+ * {@link Todo}, which JPA maps and writes; only the columns shown to clients are read here.
+ */
+@Table("todo")
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+public class TodoRow {
+    @Id
+    private Long todoId;
+    private String name;
+    @Column("is_done")
+    private boolean isDone;
+    private LocalDate deadline;
+    private Priority priority;
+}
@@ -0,0 +1,7 @@
+package org.example.todo_application.event;
+
+public enum TodoChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
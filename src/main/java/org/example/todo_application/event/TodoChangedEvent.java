@@ -0,0 +1,17 @@
+package org.example.todo_application.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Published by TodoService for every successful write. Listeners that must only see committed
+ * data use {@code @TransactionalEventListener}.
+ */
+@Getter
+@AllArgsConstructor
+public class TodoChangedEvent {
+    private final TodoChangeType type;
+    private final List<Long> todoIds;
+}
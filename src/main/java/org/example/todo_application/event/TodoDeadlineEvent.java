@@ -0,0 +1,17 @@
+package org.example.todo_application.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Published by TodoDeadlineScheduler when unfinished todos become due soon or overdue. Any bean can
+ * listen with {@code @EventListener}; listeners run on the scheduler thread, so slow work belongs elsewhere.
+ */
+@Getter
+@AllArgsConstructor
+public class TodoDeadlineEvent {
+    private final TodoDeadlineType type;
+    private final List<Long> todoIds;
+}
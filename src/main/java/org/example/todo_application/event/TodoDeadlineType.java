@@ -0,0 +1,6 @@
+package org.example.todo_application.event;
+
+public enum TodoDeadlineType {
+    DUE_SOON,
+    OVERDUE
+}
@@ -0,0 +1,7 @@
+package org.example.todo_application.exception;
+
+public class TodoNotFoundException extends RuntimeException {
+    public TodoNotFoundException(String message) {
+        super(message);
+    }
+}
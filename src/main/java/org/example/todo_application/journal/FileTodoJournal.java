@@ -0,0 +1,428 @@
+package org.example.todo_application.journal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.todo_application.entity.Todo;
+import org.example.todo_application.metrics.TodoMetrics;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * File-backed {@link TodoJournal}: an append-only log split into numbered segments, plus snapshots.
+ * <p>
+ * Writers only encode their record into an in-memory buffer. A single flusher thread takes whatever has
+ * accumulated, writes it to the current segment through its FileChannel and syncs once for the whole batch
+ * (group commit), then releases every writer waiting on a record of that batch.
+ * <p>
+ * Once {@code snapshotAfterRecords} records have been logged, the flusher starts a new segment and a
+ * background thread writes a snapshot of the store named after that segment. The snapshot is written to a
+ * temporary file, synced and renamed into place, after which older segments and snapshots are deleted.
+ * Recovery maps the latest snapshot and replays every segment from its number on. A torn or corrupt record
+ * at the end of the last segment is a write that never completed: the segment is truncated before it and
+ * logging continues there. Corruption anywhere else stops startup.
+ */
+@Slf4j
+public class FileTodoJournal implements TodoJournal {
+    private static final String LOG_SUFFIX = ".log";
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int SNAPSHOT_MAGIC = 0x54445331;
+    private static final int SNAPSHOT_HEADER_BYTES = Integer.BYTES + Long.BYTES + Integer.BYTES;
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final Path directory;
+    private final boolean fsync;
+    private final long snapshotAfterRecords;
+
+    // Guarded by appendLock
+    private final Object appendLock = new Object();
+    private ByteBuffer pending = ByteBuffer.allocate(BUFFER_BYTES);
+    private ByteBuffer spare = ByteBuffer.allocate(BUFFER_BYTES);
+    private int pendingRecords;
+    private long appendedSequence;
+    private long maxTodoId;
+    private boolean closed;
+
+    // Guarded by durableLock
+    private final Object durableLock = new Object();
+    private long durableSequence;
+
+    private volatile IOException failure;
+
+    // Used by the flusher thread only, once open() has returned
+    private FileChannel segment;
+    private long generation;
+    private long recordsSinceSnapshot;
+
+    private final AtomicBoolean snapshotRunning = new AtomicBoolean();
+    private Supplier<List<Todo>> snapshotRows;
+    private Thread flusher;
+    private ExecutorService snapshotExecutor;
+
+    public FileTodoJournal(Path directory, boolean fsync, long snapshotAfterRecords) {
+        this.directory = directory;
+        this.fsync = fsync;
+        this.snapshotAfterRecords = snapshotAfterRecords;
+    }
+
+    @Override
+    public synchronized long open(BiConsumer<Long, Todo> replay, Supplier<List<Todo>> snapshotRows) {
+        if (flusher != null) {
+            throw new IllegalStateException("The todo journal is already open");
+        }
+        try {
+            Files.createDirectories(directory);
+            deleteFiles(SNAPSHOT_SUFFIX + TEMP_SUFFIX, Long.MAX_VALUE);
+            Optional<Path> snapshot = latest(SNAPSHOT_SUFFIX);
+            long firstGeneration = snapshot.map(FileTodoJournal::generationOf).orElse(1L);
+            long recovered = snapshot.isPresent() ? replaySnapshot(snapshot.get(), replay) : 0;
+            List<Path> segments = files(LOG_SUFFIX).stream()
+                    .filter(path -> generationOf(path) >= firstGeneration)
+                    .toList();
+            for (int i = 0; i < segments.size(); i++) {
+                recordsSinceSnapshot += replaySegment(segments.get(i), replay, i == segments.size() - 1);
+            }
+            // Left behind when the process stopped between writing a snapshot and deleting what it replaces
+            deleteFiles(LOG_SUFFIX, firstGeneration);
+            deleteFiles(SNAPSHOT_SUFFIX, firstGeneration);
+            generation = segments.isEmpty() ? firstGeneration : generationOf(segments.get(segments.size() - 1));
+            segment = openSegment(generation);
+            log.info("Recovered {} todos and {} logged writes from {}", recovered, recordsSinceSnapshot, directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not recover the todo journal in " + directory, e);
+        }
+        this.snapshotRows = snapshotRows;
+        snapshotExecutor = Executors.newSingleThreadExecutor(runnable -> daemon(runnable, "todo-journal-snapshot"));
+        flusher = daemon(this::flushLoop, "todo-journal-flusher");
+        flusher.start();
+        synchronized (appendLock) {
+            return maxTodoId;
+        }
+    }
+
+    @Override
+    public long logPut(Todo todo) {
+        synchronized (appendLock) {
+            checkWritable();
+            pending = TodoJournalCodec.writePut(pending, todo);
+            maxTodoId = Math.max(maxTodoId, todo.getTodoId());
+            return appended();
+        }
+    }
+
+    @Override
+    public long logDelete(Long todoId) {
+        synchronized (appendLock) {
+            checkWritable();
+            pending = TodoJournalCodec.writeDelete(pending, todoId);
+            return appended();
+        }
+    }
+
+    @Override
+    public void awaitDurable(long sequence) {
+        synchronized (durableLock) {
+            while (durableSequence < sequence) {
+                if (failure != null) {
+                    throw new DataAccessResourceFailureException("The todo journal could not store the write", failure);
+                }
+                try {
+                    durableLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new DataAccessResourceFailureException("Interrupted while waiting for the todo journal", e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (appendLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            appendLock.notifyAll();
+        }
+        if (flusher == null) {
+            return;
+        }
+        try {
+            flusher.join();
+            snapshotExecutor.shutdown();
+            snapshotExecutor.awaitTermination(1, TimeUnit.MINUTES);
+            segment.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("Could not close todo journal segment {}", generation, e);
+        }
+    }
+
+    // Caller holds appendLock
+    private void checkWritable() {
+        if (closed) {
+            throw new IllegalStateException("The todo journal is closed");
+        }
+        if (failure != null) {
+            throw new DataAccessResourceFailureException("The todo journal failed, writes are rejected", failure);
+        }
+    }
+
+    // Caller holds appendLock
+    private long appended() {
+        pendingRecords++;
+        appendLock.notifyAll();
+        return ++appendedSequence;
+    }
+
+    private void flushLoop() {
+        while (true) {
+            ByteBuffer batch;
+            int batchRecords;
+            long batchSequence;
+            synchronized (appendLock) {
+                while (pendingRecords == 0 && !closed) {
+                    try {
+                        appendLock.wait();
+                    } catch (InterruptedException e) {
+                        fail(new InterruptedIOException("Todo journal flusher was interrupted"));
+                        return;
+                    }
+                }
+                if (pendingRecords == 0) {
+                    return;
+                }
+                batch = pending;
+                pending = spare;
+                batchRecords = pendingRecords;
+                batchSequence = appendedSequence;
+                pendingRecords = 0;
+            }
+            try {
+                long start = System.nanoTime();
+                batch.flip();
+                while (batch.hasRemaining()) {
+                    segment.write(batch);
+                }
+                if (fsync) {
+                    segment.force(false);
+                }
+                TodoMetrics.journalSynced(System.nanoTime() - start, batchRecords);
+            } catch (IOException e) {
+                fail(e);
+                return;
+            }
+            synchronized (appendLock) {
+                // A buffer that grew for one large batch is not kept around
+                spare = batch.capacity() > BUFFER_BYTES * 16 ? ByteBuffer.allocate(BUFFER_BYTES) : batch.clear();
+            }
+            synchronized (durableLock) {
+                durableSequence = batchSequence;
+                durableLock.notifyAll();
+            }
+            recordsSinceSnapshot += batchRecords;
+            if (recordsSinceSnapshot >= snapshotAfterRecords && snapshotRunning.compareAndSet(false, true)) {
+                startSnapshot();
+            }
+        }
+    }
+
+    private void fail(IOException e) {
+        log.error("Todo journal failed, further writes are rejected", e);
+        failure = e;
+        synchronized (durableLock) {
+            durableLock.notifyAll();
+        }
+    }
+
+    // Runs on the flusher thread: everything logged so far is in the finished segment, so the snapshot
+    // only has to cover it; records logged while the snapshot is written go to the new segment
+    private void startSnapshot() {
+        try {
+            segment.close();
+            generation++;
+            segment = openSegment(generation);
+            recordsSinceSnapshot = 0;
+        } catch (IOException e) {
+            snapshotRunning.set(false);
+            fail(e);
+            return;
+        }
+        long snapshotGeneration = generation;
+        snapshotExecutor.execute(() -> writeSnapshot(snapshotGeneration));
+    }
+
+    private void writeSnapshot(long snapshotGeneration) {
+        Path snapshot = directory.resolve(fileName(snapshotGeneration, SNAPSHOT_SUFFIX));
+        Path temp = directory.resolve(fileName(snapshotGeneration, SNAPSHOT_SUFFIX + TEMP_SUFFIX));
+        try {
+            // The rows may already include writes of the new segment; replaying those again is harmless
+            List<Todo> todos = snapshotRows.get();
+            long lastTodoId;
+            synchronized (appendLock) {
+                lastTodoId = maxTodoId;
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+                buffer.putInt(SNAPSHOT_MAGIC).putLong(lastTodoId).putInt(todos.size());
+                for (Todo todo : todos) {
+                    buffer = TodoJournalCodec.writePut(buffer, todo);
+                    if (buffer.position() >= BUFFER_BYTES) {
+                        writeFully(channel, buffer);
+                    }
+                }
+                writeFully(channel, buffer);
+                channel.force(true);
+            }
+            Files.move(temp, snapshot, StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory();
+            deleteFiles(LOG_SUFFIX, snapshotGeneration);
+            deleteFiles(SNAPSHOT_SUFFIX, snapshotGeneration);
+            log.info("Wrote todo snapshot {} with {} todos", snapshot.getFileName(), todos.size());
+        } catch (IOException | RuntimeException e) {
+            // Older snapshots and segments are only deleted after a complete snapshot, so recovery is unaffected
+            log.warn("Could not write todo snapshot {}", snapshot.getFileName(), e);
+        } finally {
+            snapshotRunning.set(false);
+        }
+    }
+
+    private long replaySnapshot(Path snapshot, BiConsumer<Long, Todo> replay) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < SNAPSHOT_HEADER_BYTES || buffer.getInt() != SNAPSHOT_MAGIC) {
+                throw new IllegalStateException("Todo snapshot " + snapshot + " has no valid header");
+            }
+            maxTodoId = Math.max(maxTodoId, buffer.getLong());
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                TodoJournalCodec.Entry entry = TodoJournalCodec.read(buffer);
+                if (entry == null) {
+                    throw new IllegalStateException(String.format("Todo snapshot %s is corrupt at offset %d", snapshot, buffer.position()));
+                }
+                apply(entry, replay);
+            }
+            return count;
+        }
+    }
+
+    private long replaySegment(Path segmentPath, BiConsumer<Long, Todo> replay, boolean lastSegment) throws IOException {
+        long records = 0;
+        long validBytes;
+        long size;
+        try (FileChannel channel = FileChannel.open(segmentPath, StandardOpenOption.READ)) {
+            size = channel.size();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            TodoJournalCodec.Entry entry;
+            while ((entry = TodoJournalCodec.read(buffer)) != null) {
+                apply(entry, replay);
+                records++;
+            }
+            validBytes = buffer.position();
+        }
+        if (validBytes < size) {
+            if (!lastSegment) {
+                throw new IllegalStateException(String.format("Todo journal segment %s is corrupt at offset %d", segmentPath, validBytes));
+            }
+            log.warn("Discarding {} bytes of an incomplete write at the end of {}", size - validBytes, segmentPath);
+            try (FileChannel channel = FileChannel.open(segmentPath, StandardOpenOption.WRITE)) {
+                channel.truncate(validBytes);
+                channel.force(true);
+            }
+        }
+        return records;
+    }
+
+    private void apply(TodoJournalCodec.Entry entry, BiConsumer<Long, Todo> replay) {
+        maxTodoId = Math.max(maxTodoId, entry.todoId());
+        replay.accept(entry.todoId(), entry.todo());
+    }
+
+    // Package-private so tests can hand in a channel that fails
+    FileChannel openSegment(long segmentGeneration) throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(fileName(segmentGeneration, LOG_SUFFIX)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        syncDirectory();
+        return channel;
+    }
+
+    private void syncDirectory() {
+        if (!fsync) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not every platform can sync a directory; the files themselves are synced regardless
+            log.debug("Could not sync directory {}", directory, e);
+        }
+    }
+
+    private Optional<Path> latest(String suffix) throws IOException {
+        List<Path> paths = files(suffix);
+        return paths.isEmpty() ? Optional.empty() : Optional.of(paths.get(paths.size() - 1));
+    }
+
+    // Sorted by generation
+    private List<Path> files(String suffix) throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.filter(path -> path.getFileName().toString().endsWith(suffix))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private void deleteFiles(String suffix, long beforeGeneration) throws IOException {
+        for (Path path : files(suffix)) {
+            if (generationOf(path) < beforeGeneration) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Zero-padded so that name order is generation order
+    private static String fileName(long fileGeneration, String suffix) {
+        return String.format("todo-%019d%s", fileGeneration, suffix);
+    }
+
+    private static long generationOf(Path path) {
+        String fileName = path.getFileName().toString();
+        return Long.parseLong(fileName.substring("todo-".length(), "todo-".length() + 19));
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.todo_application.journal;
+
+import org.example.todo_application.entity.Todo;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Durable record of the writes applied to InMemoryTodoStore. The store logs the new state of a todo, or its
+ * deletion, while it holds its write lock, so the log order is the apply order. It waits for the returned
+ * sequence to become durable only after releasing the lock, which lets concurrent writers share one sync.
+ */
+public interface TodoJournal extends AutoCloseable {
+
+    /**
+     * Journal of a store that is not meant to survive a restart.
+     */
+    TodoJournal NONE = new TodoJournal() {
+        @Override
+        public long open(BiConsumer<Long, Todo> replay, Supplier<List<Todo>> snapshotRows) {
+            return 0;
+        }
+
+        @Override
+        public long logPut(Todo todo) {
+            return 0;
+        }
+
+        @Override
+        public long logDelete(Long todoId) {
+            return 0;
+        }
+
+        @Override
+        public void awaitDurable(long sequence) {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    /**
+     * Replays the recovered state into {@code replay}, where a null todo means the id was deleted, and starts
+     * accepting records. Later snapshots are taken from {@code snapshotRows}.
+     *
+     * @return the highest todo id ever logged, so ids are not handed out twice
+     */
+    long open(BiConsumer<Long, Todo> replay, Supplier<List<Todo>> snapshotRows);
+
+    long logPut(Todo todo);
+
+    long logDelete(Long todoId);
+
+    void awaitDurable(long sequence);
+
+    @Override
+    void close();
+}
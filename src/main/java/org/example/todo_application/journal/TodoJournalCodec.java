@@ -0,0 +1,149 @@
+package org.example.todo_application.journal;
+
+import org.example.todo_application.entity.Priority;
+import org.example.todo_application.entity.Todo;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.CRC32;
+
+/**
+ * Binary form of journal records, shared by log segments and snapshots. Each record is framed as
+ * {@code [int payload length][int CRC32 of payload][payload]}; a payload starts with its type byte.
+ * A put carries the whole row, so replaying a record is idempotent and its order relative to a snapshot
+ * taken later does not matter.
+ */
+final class TodoJournalCodec {
+    static final int FRAME_HEADER_BYTES = 2 * Integer.BYTES;
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final byte NO_PRIORITY = -1;
+    private static final long NO_DEADLINE = Long.MIN_VALUE;
+    private static final int NO_NAME = -1;
+    // Type, id, version, isDone, priority, deadline and name length
+    private static final int PUT_FIXED_BYTES = 1 + Long.BYTES + Long.BYTES + 1 + 1 + Long.BYTES + Integer.BYTES;
+    private static final int DELETE_BYTES = 1 + Long.BYTES;
+
+    private TodoJournalCodec() {
+    }
+
+    /**
+     * A decoded record; {@code todo} is null for a deletion.
+     */
+    record Entry(Long todoId, Todo todo) {
+    }
+
+    static ByteBuffer writePut(ByteBuffer buffer, Todo todo) {
+        byte[] name = todo.getName() == null ? null : todo.getName().getBytes(StandardCharsets.UTF_8);
+        int payloadBytes = PUT_FIXED_BYTES + (name == null ? 0 : name.length);
+        ByteBuffer target = ensureCapacity(buffer, FRAME_HEADER_BYTES + payloadBytes);
+        int frameStart = startFrame(target, payloadBytes);
+        target.put(PUT)
+                .putLong(todo.getTodoId())
+                .putLong(todo.getVersion())
+                .put((byte) (todo.isDone() ? 1 : 0))
+                .put(todo.getPriority() == null ? NO_PRIORITY : (byte) todo.getPriority().ordinal())
+                .putLong(todo.getDeadline() == null ? NO_DEADLINE : todo.getDeadline().toEpochDay())
+                .putInt(name == null ? NO_NAME : name.length);
+        if (name != null) {
+            target.put(name);
+        }
+        endFrame(target, frameStart, payloadBytes);
+        return target;
+    }
+
+    static ByteBuffer writeDelete(ByteBuffer buffer, Long todoId) {
+        ByteBuffer target = ensureCapacity(buffer, FRAME_HEADER_BYTES + DELETE_BYTES);
+        int frameStart = startFrame(target, DELETE_BYTES);
+        target.put(DELETE).putLong(todoId);
+        endFrame(target, frameStart, DELETE_BYTES);
+        return target;
+    }
+
+    /**
+     * Reads the record at the buffer's position and moves past it.
+     *
+     * @return the record, or null without moving when the rest of the buffer is not a complete, intact record
+     */
+    static Entry read(ByteBuffer buffer) {
+        int frameStart = buffer.position();
+        if (buffer.remaining() < FRAME_HEADER_BYTES) {
+            return null;
+        }
+        int payloadBytes = buffer.getInt(frameStart);
+        int checksum = buffer.getInt(frameStart + Integer.BYTES);
+        if (payloadBytes <= 0 || payloadBytes > buffer.remaining() - FRAME_HEADER_BYTES) {
+            return null;
+        }
+        ByteBuffer payload = buffer.slice(frameStart + FRAME_HEADER_BYTES, payloadBytes);
+        if (checksum(payload) != checksum) {
+            return null;
+        }
+        Entry entry = decode(payload);
+        if (entry != null) {
+            buffer.position(frameStart + FRAME_HEADER_BYTES + payloadBytes);
+        }
+        return entry;
+    }
+
+    private static Entry decode(ByteBuffer payload) {
+        byte type = payload.get();
+        if (type == DELETE && payload.remaining() == Long.BYTES) {
+            return new Entry(payload.getLong(), null);
+        }
+        if (type != PUT || payload.remaining() < PUT_FIXED_BYTES - 1) {
+            return null;
+        }
+        long todoId = payload.getLong();
+        long version = payload.getLong();
+        boolean isDone = payload.get() == 1;
+        byte priority = payload.get();
+        long deadline = payload.getLong();
+        int nameBytes = payload.getInt();
+        if (nameBytes < NO_NAME || (nameBytes == NO_NAME ? 0 : nameBytes) != payload.remaining()
+                || priority < NO_PRIORITY || priority >= Priority.values().length) {
+            return null;
+        }
+        String name = null;
+        if (nameBytes != NO_NAME) {
+            byte[] nameUtf8 = new byte[nameBytes];
+            payload.get(nameUtf8);
+            name = new String(nameUtf8, StandardCharsets.UTF_8);
+        }
+        Todo todo = Todo.builder()
+                .todoId(todoId)
+                .name(name)
+                .isDone(isDone)
+                .deadline(deadline == NO_DEADLINE ? null : LocalDate.ofEpochDay(deadline))
+                .priority(priority == NO_PRIORITY ? null : Priority.values()[priority])
+                .version(version)
+                .build();
+        return new Entry(todoId, todo);
+    }
+
+    private static int startFrame(ByteBuffer buffer, int payloadBytes) {
+        int frameStart = buffer.position();
+        buffer.putInt(payloadBytes).putInt(0);
+        return frameStart;
+    }
+
+    private static void endFrame(ByteBuffer buffer, int frameStart, int payloadBytes) {
+        buffer.putInt(frameStart + Integer.BYTES, checksum(buffer.slice(frameStart + FRAME_HEADER_BYTES, payloadBytes)));
+    }
+
+    private static int checksum(ByteBuffer payload) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(payload.duplicate());
+        return (int) crc32.getValue();
+    }
+
+    private static ByteBuffer ensureCapacity(ByteBuffer buffer, int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return buffer;
+        }
+        ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+        return larger.put(buffer.flip());
+    }
+}
@@ -1,18 +1,63 @@
 package org.example.todo_application.mapper;
 
+import org.example.todo_application.dto.TodoFieldUpdateDto;
 import org.example.todo_application.dto.TodoFrontendDto;
+import org.example.todo_application.entity.Priority;
 import org.example.todo_application.entity.Todo;
+import org.example.todo_application.entity.TodoRow;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
+
 @Component
 public class TodoMapper {
+    // Display values; also used by the projection queries in TodoRepository, which format on the database side
+    public static final String FINISHED = "Finished";
+    public static final String NOT_FINISHED = "Not finished";
+    public static final String NO_DEADLINE = "No deadline";
+    public static final String NO_PRIORITY = "No priority";
+
     public TodoFrontendDto entityToFrontEndDto(Todo todo) {
+        return frontEndDto(todo.getTodoId(), todo.getName(), todo.isDone(), todo.getDeadline(), todo.getPriority());
+    }
+
+    public TodoFrontendDto rowToFrontEndDto(TodoRow todoRow) {
+        return frontEndDto(todoRow.getTodoId(), todoRow.getName(), todoRow.isDone(), todoRow.getDeadline(),
+                todoRow.getPriority());
+    }
+
+    public void applyFieldUpdate(TodoFrontendDto todoFrontendDto, TodoFieldUpdateDto update) {
+        if (update.isNameChanged()) {
+            todoFrontendDto.setName(update.getName());
+        }
+        if (update.isDeadlineChanged()) {
+            todoFrontendDto.setDeadline(deadlineText(update.getDeadline()));
+        }
+        if (update.isPriorityChanged()) {
+            todoFrontendDto.setPriority(priorityText(update.getPriority()));
+        }
+    }
+
+    private static TodoFrontendDto frontEndDto(Long todoId, String name, boolean isDone, LocalDate deadline,
+                                               Priority priority) {
         TodoFrontendDto todoFrontendDto = new TodoFrontendDto();
-        todoFrontendDto.setTodoId(todo.getTodoId());
-        todoFrontendDto.setName(todo.getName());
-        todoFrontendDto.setIsDone(todo.isDone() ? "Finished" : "Not finished");
-        todoFrontendDto.setDeadline(todo.getDeadline() == null ? "No deadline" : todo.getDeadline().toString());
-        todoFrontendDto.setPriority(todo.getPriority() == null ? "No priority" : todo.getPriority().toString());
+        todoFrontendDto.setTodoId(todoId);
+        todoFrontendDto.setName(name);
+        todoFrontendDto.setIsDone(isDoneText(isDone));
+        todoFrontendDto.setDeadline(deadlineText(deadline));
+        todoFrontendDto.setPriority(priorityText(priority));
         return todoFrontendDto;
     }
+
+    private static String isDoneText(boolean isDone) {
+        return isDone ? FINISHED : NOT_FINISHED;
+    }
+
+    private static String deadlineText(LocalDate deadline) {
+        return deadline == null ? NO_DEADLINE : deadline.toString();
+    }
+
+    private static String priorityText(Priority priority) {
+        return priority == null ? NO_PRIORITY : priority.toString();
+    }
 }
@@ -0,0 +1,78 @@
+package org.example.todo_application.metrics;
+
+import io.micrometer.core.instrument.Metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Names and helpers for the application's own meters. They are recorded on the global registry,
+ * which Spring Boot links to its MeterRegistry, so call sites need no injected dependency.
+ */
+public final class TodoMetrics {
+    public static final String SERVICE_TIMER = "todo.service";
+    public static final String NOT_FOUND = "todo.not.found";
+    public static final String VALIDATION_FAILURES = "todo.validation.failures";
+    public static final String REASON_TAG = "reason";
+    public static final String INVALID_REQUEST = "invalid_request";
+    public static final String DEADLINE_IN_PAST = "deadline_in_past";
+    public static final String JOURNAL_SYNC = "todo.journal.sync";
+    public static final String JOURNAL_BATCH_RECORDS = "todo.journal.batch.records";
+    public static final String WRITE_BEHIND_QUEUED = "todo.write.behind.queued";
+    public static final String WRITE_BEHIND_FLUSHED = "todo.write.behind.flushed";
+    public static final String SUMMARY_CORRECTIONS = "todo.summary.corrections";
+    public static final String DEADLINE_EVENTS = "todo.deadline.events";
+    public static final String TYPE_TAG = "type";
+    public static final String BULKHEAD_WAIT = "todo.bulkhead.wait";
+    public static final String BULKHEAD_REJECTED = "todo.bulkhead.rejected";
+    public static final String EVENT_CLIENTS_DROPPED = "todo.event.clients.dropped";
+
+    private TodoMetrics() {
+    }
+
+    public static void notFound() {
+        Metrics.counter(NOT_FOUND).increment();
+    }
+
+    public static void validationFailed(String reason) {
+        Metrics.counter(VALIDATION_FAILURES, REASON_TAG, reason).increment();
+    }
+
+    // One write and sync of the journal; records per batch shows how much group commit saves
+    public static void journalSynced(long nanos, int records) {
+        Metrics.timer(JOURNAL_SYNC).record(nanos, TimeUnit.NANOSECONDS);
+        Metrics.summary(JOURNAL_BATCH_RECORDS).record(records);
+    }
+
+    // Queued edits against todos written per flush shows how many edits were coalesced away
+    public static void writeBehindQueued() {
+        Metrics.counter(WRITE_BEHIND_QUEUED).increment();
+    }
+
+    public static void writeBehindFlushed(int todos) {
+        Metrics.summary(WRITE_BEHIND_FLUSHED).record(todos);
+    }
+
+    // Corrections of the incremental summary counts by the periodic GROUP BY reconciliation
+    public static void summaryCorrected() {
+        Metrics.counter(SUMMARY_CORRECTIONS).increment();
+    }
+
+    // Todos announced as due soon or overdue, tagged by type
+    public static void deadlineEvents(String type, int todos) {
+        Metrics.counter(DEADLINE_EVENTS, TYPE_TAG, type).increment(todos);
+    }
+
+    // Time calls waited for a bulkhead permit, and calls turned away after waiting too long
+    public static void bulkheadWaited(long nanos) {
+        Metrics.timer(BULKHEAD_WAIT).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public static void bulkheadRejected() {
+        Metrics.counter(BULKHEAD_REJECTED).increment();
+    }
+
+    // Change event streams closed because their client fell a full buffer behind
+    public static void eventClientDropped() {
+        Metrics.counter(EVENT_CLIENTS_DROPPED).increment();
+    }
+}
@@ -0,0 +1,222 @@
+package org.example.todo_application.reactive;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+
+/**
+ * Writes the items of a {@link Publisher}, such as a Reactor {@code Flux}, to an async servlet response with
+ * non-blocking output, each one encoded by an {@link Encoder}. Items are requested {@value #BATCH_SIZE} at a time,
+ * and only once the previous ones have been handed to the connection; while a client is not reading, no thread
+ * waits for it and no more than one batch is buffered. The container calls back when the connection can take more.
+ * <p>
+ * Spring MVC writes a returned {@code Flux} with blocking writes on its task executor, where a few stalled clients
+ * would hold every thread; this writer is what keeps the streams of {@code /api/reactive} non-blocking on Tomcat.
+ */
+@Slf4j
+public class StreamingResponseWriter<T> implements Subscriber<T>, AsyncListener {
+    static final int BATCH_SIZE = 100;
+
+    /**
+     * Writes one item in the format of the response.
+     */
+    @FunctionalInterface
+    public interface Encoder<T> {
+        void encode(T item, OutputStream outputStream) throws IOException;
+    }
+
+    private final AsyncContext asyncContext;
+    private final ServletOutputStream outputStream;
+    private final Encoder<T> encoder;
+
+    // Guarded by this
+    private final ArrayDeque<T> items = new ArrayDeque<>();
+    // Non-blocking output takes one write per isReady(), so each item is encoded here first
+    private final ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+    private byte[] preamble;
+    private Subscription subscription;
+    private int outstanding;
+    private boolean requesting;
+    private boolean unflushed;
+    private boolean published;
+    private boolean finished;
+
+    private StreamingResponseWriter(AsyncContext asyncContext, ServletOutputStream outputStream, byte[] preamble,
+                                    Encoder<T> encoder) {
+        this.asyncContext = asyncContext;
+        this.outputStream = outputStream;
+        this.preamble = preamble;
+        this.encoder = encoder;
+    }
+
+    /**
+     * Starts async processing of the request and streams {@code publisher} into the response, after
+     * {@code preamble} if there is one; returns at once. The response is ended after {@code timeoutMillis}.
+     */
+    public static <T> void stream(HttpServletRequest request, HttpServletResponse response, String contentType,
+                                  byte[] preamble, Publisher<T> publisher, Encoder<T> encoder,
+                                  long timeoutMillis) throws IOException {
+        response.setContentType(contentType);
+        AsyncContext asyncContext = request.startAsync();
+        asyncContext.setTimeout(timeoutMillis);
+        ServletOutputStream outputStream = response.getOutputStream();
+        StreamingResponseWriter<T> writer = new StreamingResponseWriter<>(asyncContext, outputStream, preamble, encoder);
+        asyncContext.addListener(writer);
+        // Output turns non-blocking with the listener, so it is set before any item can be written
+        outputStream.setWriteListener(new WriteListener() {
+            @Override
+            public void onWritePossible() {
+                writer.drain();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                // Usually the client went away; the container follows up with AsyncListener.onError, which completes
+                log.debug("Could not write stream: {}", throwable.getMessage());
+                writer.cancel();
+            }
+        });
+        publisher.subscribe(writer);
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        synchronized (this) {
+            this.subscription = subscription;
+        }
+        drain();
+    }
+
+    @Override
+    public void onNext(T item) {
+        synchronized (this) {
+            items.add(item);
+            outstanding--;
+        }
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        log.warn("Stream failed: {}", throwable.getMessage());
+        HttpServletResponse response = (HttpServletResponse) asyncContext.getResponse();
+        if (!response.isCommitted()) {
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        }
+        finish(false);
+    }
+
+    @Override
+    public void onComplete() {
+        synchronized (this) {
+            published = true;
+        }
+        drain();
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+        finish(true);
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+        finish(true);
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+        synchronized (this) {
+            finished = true;
+        }
+        cancel();
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+    }
+
+    // Writes while the connection takes data; isReady() returning false registers for onWritePossible
+    private synchronized void drain() {
+        // Items published from within request() are written by the drain that requested them, with one flush
+        if (finished || subscription == null || requesting) {
+            return;
+        }
+        try {
+            // Checked again on every pass, since a request() can end the stream
+            while (!finished && outputStream.isReady()) {
+                if (preamble != null) {
+                    outputStream.write(preamble);
+                    preamble = null;
+                    unflushed = true;
+                } else if (!items.isEmpty()) {
+                    encoded.reset();
+                    encoder.encode(items.poll(), encoded);
+                    encoded.writeTo(outputStream);
+                    unflushed = true;
+                } else if (published) {
+                    finish(false);
+                    return;
+                } else if (unflushed) {
+                    // Hands what was written to the client before waiting for the next batch
+                    unflushed = false;
+                    outputStream.flush();
+                } else if (outstanding == 0) {
+                    outstanding = BATCH_SIZE;
+                    requesting = true;
+                    try {
+                        subscription.request(BATCH_SIZE);
+                    } finally {
+                        requesting = false;
+                    }
+                } else {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Could not write stream: {}", e.getMessage());
+            finish(true);
+        }
+    }
+
+    private void cancel() {
+        Subscription current;
+        synchronized (this) {
+            current = subscription;
+        }
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    private void finish(boolean cancel) {
+        synchronized (this) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+        }
+        if (cancel) {
+            cancel();
+        }
+        try {
+            asyncContext.complete();
+        } catch (IllegalStateException e) {
+            // Already completed by the container after an error or timeout
+            log.debug("Stream already completed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.todo_application.reactive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.todo_application.dto.TodoFrontendDto;
+import org.example.todo_application.entity.Todo;
+import org.example.todo_application.event.TodoChangeType;
+import org.example.todo_application.mapper.TodoMapper;
+import org.example.todo_application.metrics.TodoMetrics;
+import org.example.todo_application.service.TodoChangeFeed;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Fans the committed todo changes out to any number of clients, such as the browsers showing the todo list.
+ * Changes come from the {@link TodoChangeFeed}, one {@link TodoStreamEvent} per created, updated or deleted chunk
+ * of todos; the full load at startup is not sent. Each client has a buffer of {@code todo.events.client-buffer}
+ * events. Publishing never waits for a client: one whose buffer is full when an event arrives has fallen behind,
+ * and is dropped with an error so that it can reconnect and start over from the current state.
+ */
+@Slf4j
+@Component
+public class TodoEventBroadcaster implements TodoChangeFeed.Subscriber, DisposableBean {
+    private final TodoMapper todoMapper;
+    private final int clientBuffer;
+    // Emitted to only from the change feed thread, so emissions never race
+    private final Sinks.Many<TodoStreamEvent> sink = Sinks.many().multicast().directBestEffort();
+
+    public TodoEventBroadcaster(TodoMapper todoMapper, @Value("${todo.events.client-buffer:256}") int clientBuffer) {
+        this.todoMapper = todoMapper;
+        this.clientBuffer = clientBuffer;
+    }
+
+    /**
+     * The events published from now on, for one client.
+     */
+    public Flux<TodoStreamEvent> events() {
+        return Flux.defer(() -> {
+            // Reactor's buffer would hold the overflow error back until the client read what is buffered; the
+            // client is dropped right away instead, which also removes it from the sink
+            Sinks.Empty<TodoStreamEvent> fellBehind = Sinks.empty();
+            return sink.asFlux()
+                    .onBackpressureBuffer(clientBuffer, event -> {
+                        TodoMetrics.eventClientDropped();
+                        log.info("Dropped a todo event client that fell behind");
+                        fellBehind.tryEmitError(new IllegalStateException("Todo event client fell behind and was dropped"));
+                    }, BufferOverflowStrategy.DROP_LATEST)
+                    .takeUntilOther(fellBehind.asMono());
+        });
+    }
+
+    public int getNumberOfClients() {
+        return sink.currentSubscriberCount();
+    }
+
+    @Override
+    public void clear() {
+    }
+
+    @Override
+    public void put(List<Todo> todos) {
+        // Only the full load puts todos; the clients already have them
+    }
+
+    @Override
+    public void changed(TodoChangeType type, List<Todo> todos) {
+        if (sink.currentSubscriberCount() > 0) {
+            List<TodoFrontendDto> todoFrontendDtos = todos.stream().map(todoMapper::entityToFrontEndDto).toList();
+            sink.tryEmitNext(new TodoStreamEvent(type, todoFrontendDtos, List.of()));
+        }
+    }
+
+    @Override
+    public void remove(Collection<Long> todoIds) {
+        if (sink.currentSubscriberCount() > 0) {
+            sink.tryEmitNext(new TodoStreamEvent(TodoChangeType.DELETED, List.of(), List.copyOf(todoIds)));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        sink.tryEmitComplete();
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.todo_application.reactive;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.todo_application.dto.TodoFrontendDto;
+import org.example.todo_application.event.TodoChangeType;
+
+import java.util.List;
+
+/**
+ * A committed change sent to the browsers: the current rows of created and updated todos, or the ids of
+ * deleted ones.
+ */
+@Getter
+@AllArgsConstructor
+public class TodoStreamEvent {
+    private final TodoChangeType type;
+    private final List<TodoFrontendDto> todos;
+    private final List<Long> todoIds;
+}
@@ -0,0 +1,536 @@
+package org.example.todo_application.repository;
+
+import org.example.todo_application.dto.TodoCountDto;
+import org.example.todo_application.dto.TodoFieldUpdateDto;
+import org.example.todo_application.dto.TodoFilterDto;
+import org.example.todo_application.dto.TodoFrontendDto;
+import org.example.todo_application.dto.TodoSortField;
+import org.example.todo_application.entity.Priority;
+import org.example.todo_application.entity.Todo;
+import org.example.todo_application.journal.TodoJournal;
+import org.example.todo_application.mapper.TodoMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+/**
+ * Heap-resident {@link TodoStore} for the in-memory profile; durable only when a {@link TodoJournal} is configured.
+ * <p>
+ * Rows live in a hash map for constant-time point writes, next to a skip list of ids that gives ordered keyset
+ * pages and ordered streaming; only inserts and deletes touch the skip list. Secondary indexes on status, priority
+ * and deadline serve filtering and are only touched when the indexed value actually changes. Stored rows are never
+ * modified: every write swaps in an updated copy together with its frontend DTO, so reads take no lock, never see a
+ * half-applied change and do not format dates. Writes are serialized on one lock that keeps a row and its index
+ * entries in step. Rows reached through an index are re-checked, so a read racing a write cannot return a todo
+ * that no longer matches. Callers only ever receive copies.
+ * <p>
+ * With a {@link TodoJournal}, the state is recovered from it on construction and every write is logged before
+ * it is applied; the write returns once its record is durable. Reads do not wait for durability, so they can see
+ * a write whose caller is still waiting. When the journal then fails, that write stays visible until a restart
+ * even though its caller gets an exception, and the store turns read-only: every later write is rejected, so
+ * nothing else is built on state that will not be recovered.
+ */
+@Repository
+@Profile("in-memory")
+public class InMemoryTodoStore implements TodoStore {
+    private static final long NOT_FOUND = -1;
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final TodoMapper todoMapper;
+    private final TodoJournal todoJournal;
+
+    private final Object writeLock = new Object();
+    private final AtomicLong idSequence = new AtomicLong();
+    private final Map<Long, StoredTodo> todosById = new ConcurrentHashMap<>();
+    private final NavigableSet<Long> orderedIds = new ConcurrentSkipListSet<>();
+    private final NavigableSet<Long> finishedIds = new ConcurrentSkipListSet<>();
+    private final Map<Priority, Set<Long>> idsByPriority = newPriorityIndex();
+    private final ConcurrentSkipListMap<LocalDate, Set<Long>> idsByDeadline = new ConcurrentSkipListMap<>();
+    private volatile RuntimeException journalFailure;
+
+    public InMemoryTodoStore(TodoMapper todoMapper) {
+        this(todoMapper, TodoJournal.NONE);
+    }
+
+    @Autowired
+    public InMemoryTodoStore(TodoMapper todoMapper, TodoJournal todoJournal) {
+        this.todoMapper = todoMapper;
+        this.todoJournal = todoJournal;
+        idSequence.set(todoJournal.open(this::restore, this::snapshotRows));
+    }
+
+    @Override
+    public <S extends Todo> S save(S todo) {
+        awaitJournal(write(todo));
+        return todo;
+    }
+
+    @Override
+    public <S extends Todo> List<S> saveAll(Iterable<S> todos) {
+        List<S> savedTodos = new ArrayList<>();
+        long lastSequence = 0;
+        for (S todo : todos) {
+            lastSequence = write(todo);
+            savedTodos.add(todo);
+        }
+        awaitJournal(lastSequence);
+        return savedTodos;
+    }
+
+    @Override
+    public boolean existsById(Long todoId) {
+        return todoId != null && todosById.containsKey(todoId);
+    }
+
+    @Override
+    public List<Todo> findAllById(Iterable<Long> todoIds) {
+        List<Todo> todos = new ArrayList<>();
+        for (Long todoId : todoIds) {
+            StoredTodo storedTodo = todoId == null ? null : todosById.get(todoId);
+            if (storedTodo != null) {
+                todos.add(copy(storedTodo.todo()));
+            }
+        }
+        return todos;
+    }
+
+    @Override
+    public List<TodoFrontendDto> findAllFrontendDtos() {
+        List<TodoFrontendDto> todoFrontendDtos = new ArrayList<>(todosById.size());
+        for (Long todoId : orderedIds) {
+            StoredTodo storedTodo = todosById.get(todoId);
+            if (storedTodo != null) {
+                todoFrontendDtos.add(copy(storedTodo.frontendDto()));
+            }
+        }
+        return todoFrontendDtos;
+    }
+
+    @Override
+    public List<TodoFrontendDto> findFrontendDtosAfter(Long todoId, Limit limit) {
+        int max = limit.isLimited() ? limit.max() : Integer.MAX_VALUE;
+        List<TodoFrontendDto> todoFrontendDtos = new ArrayList<>(Math.min(max, 64));
+        for (Long nextId : orderedIds.tailSet(todoId, false)) {
+            if (todoFrontendDtos.size() == max) {
+                break;
+            }
+            StoredTodo storedTodo = todosById.get(nextId);
+            if (storedTodo != null) {
+                todoFrontendDtos.add(copy(storedTodo.frontendDto()));
+            }
+        }
+        return todoFrontendDtos;
+    }
+
+    @Override
+    public Stream<Todo> streamAllByOrderByTodoIdAsc() {
+        return orderedIds.stream()
+                .map(todosById::get)
+                .filter(Objects::nonNull)
+                .map(storedTodo -> copy(storedTodo.todo()));
+    }
+
+    @Override
+    public List<Todo> findFiltered(TodoFilterDto filter, int page, int pageSize) {
+        return candidateIds(filter).stream()
+                .map(todosById::get)
+                .filter(Objects::nonNull)
+                .map(StoredTodo::todo)
+                .filter(matches(filter))
+                .sorted(order(filter))
+                .skip((long) page * pageSize)
+                .limit(pageSize)
+                .map(InMemoryTodoStore::copy)
+                .toList();
+    }
+
+    @Override
+    public int updateName(Long todoId, String name) {
+        return awaitDurable(update(todoId, todo -> todo.setName(name)));
+    }
+
+    @Override
+    public int toggleIsDone(Long todoId) {
+        return awaitDurable(update(todoId, Todo::changeIsDoneStatus));
+    }
+
+    @Override
+    public int updateDeadline(Long todoId, LocalDate deadline) {
+        return awaitDurable(update(todoId, todo -> todo.setDeadline(deadline)));
+    }
+
+    @Override
+    public int updatePriority(Long todoId, Priority priority) {
+        return awaitDurable(update(todoId, todo -> todo.setPriority(priority)));
+    }
+
+    @Override
+    public int deleteByTodoId(Long todoId) {
+        return awaitDurable(delete(todoId));
+    }
+
+    @Override
+    public int updateFields(List<TodoFieldUpdateDto> updates) {
+        return writeAll(updates, update -> update(update.getTodoId(), todo -> {
+            if (update.isNameChanged()) {
+                todo.setName(update.getName());
+            }
+            if (update.isDeadlineChanged()) {
+                todo.setDeadline(update.getDeadline());
+            }
+            if (update.isPriorityChanged()) {
+                todo.setPriority(update.getPriority());
+            }
+        }));
+    }
+
+    @Override
+    public int updateIsDoneIn(Collection<Long> todoIds, boolean isDone) {
+        return writeAll(todoIds, todoId -> update(todoId, todo -> todo.setDone(isDone)));
+    }
+
+    @Override
+    public int updatePriorityIn(Collection<Long> todoIds, Priority priority) {
+        return writeAll(todoIds, todoId -> update(todoId, todo -> todo.setPriority(priority)));
+    }
+
+    @Override
+    public int deleteByTodoIdIn(Collection<Long> todoIds) {
+        return writeAll(todoIds, this::delete);
+    }
+
+    @Override
+    public List<TodoCountDto> countByStatusAndPriority() {
+        // [not finished, finished] x [no priority, priorities by ordinal]
+        long[][] counts = new long[2][PRIORITIES.length + 1];
+        for (StoredTodo storedTodo : todosById.values()) {
+            Todo todo = storedTodo.todo();
+            counts[todo.isDone() ? 1 : 0][todo.getPriority() == null ? 0 : todo.getPriority().ordinal() + 1]++;
+        }
+        List<TodoCountDto> todoCounts = new ArrayList<>();
+        for (int status = 0; status < counts.length; status++) {
+            for (int priority = 0; priority < counts[status].length; priority++) {
+                if (counts[status][priority] > 0) {
+                    todoCounts.add(new TodoCountDto(status == 1, priority == 0 ? null : PRIORITIES[priority - 1],
+                            counts[status][priority]));
+                }
+            }
+        }
+        return todoCounts;
+    }
+
+    @Override
+    public long countOverdue(LocalDate today) {
+        long overdue = 0;
+        for (Set<Long> todoIds : idsByDeadline.headMap(today).values()) {
+            for (Long todoId : todoIds) {
+                StoredTodo storedTodo = todosById.get(todoId);
+                if (storedTodo != null && !storedTodo.todo().isDone()) {
+                    overdue++;
+                }
+            }
+        }
+        return overdue;
+    }
+
+    @Override
+    public List<Long> findCompletedTodoIds(Limit limit) {
+        int max = limit.isLimited() ? limit.max() : Integer.MAX_VALUE;
+        List<Long> todoIds = new ArrayList<>();
+        for (Long todoId : finishedIds) {
+            if (todoIds.size() == max) {
+                break;
+            }
+            StoredTodo storedTodo = todosById.get(todoId);
+            if (storedTodo != null && storedTodo.todo().isDone()) {
+                todoIds.add(todoId);
+            }
+        }
+        return todoIds;
+    }
+
+    @Override
+    public void flushAndClear() {
+        // Nothing is tracked, so there is nothing to flush or clear
+    }
+
+    @Override
+    public void detach(Todo todo) {
+        // Callers already hold copies
+    }
+
+    // The write* methods below return the journal sequence of their record, or NOT_FOUND when nothing changed.
+    // Records are logged under writeLock before the change is applied, so a failing journal leaves the store
+    // untouched; waiting for durability happens after the lock is released, and a failure there makes the
+    // store read-only.
+
+    private long write(Todo todo) {
+        synchronized (writeLock) {
+            checkWritable();
+            if (todo.getTodoId() == null) {
+                Todo inserted = copy(todo);
+                inserted.setTodoId(idSequence.incrementAndGet());
+                inserted.setVersion(0);
+                long sequence = todoJournal.logPut(inserted);
+                apply(null, inserted);
+                todo.setTodoId(inserted.getTodoId());
+                todo.setVersion(0);
+                return sequence;
+            }
+            // Same outcome as merging a stale or deleted versioned entity with JPA
+            StoredTodo current = todosById.get(todo.getTodoId());
+            if (current == null || current.todo().getVersion() != todo.getVersion()) {
+                throw new OptimisticLockingFailureException(
+                        String.format("Todo %d was updated or deleted concurrently", todo.getTodoId()));
+            }
+            Todo updated = copy(todo);
+            updated.setVersion(current.todo().getVersion() + 1);
+            long sequence = todoJournal.logPut(updated);
+            apply(current, updated);
+            todo.setVersion(updated.getVersion());
+            return sequence;
+        }
+    }
+
+    private long update(Long todoId, Consumer<Todo> change) {
+        if (todoId == null) {
+            return NOT_FOUND;
+        }
+        synchronized (writeLock) {
+            checkWritable();
+            StoredTodo current = todosById.get(todoId);
+            if (current == null) {
+                return NOT_FOUND;
+            }
+            Todo updated = copy(current.todo());
+            change.accept(updated);
+            updated.setVersion(current.todo().getVersion() + 1);
+            long sequence = todoJournal.logPut(updated);
+            apply(current, updated);
+            return sequence;
+        }
+    }
+
+    private long delete(Long todoId) {
+        if (todoId == null) {
+            return NOT_FOUND;
+        }
+        synchronized (writeLock) {
+            checkWritable();
+            StoredTodo current = todosById.get(todoId);
+            if (current == null) {
+                return NOT_FOUND;
+            }
+            long sequence = todoJournal.logDelete(todoId);
+            apply(current, null);
+            return sequence;
+        }
+    }
+
+    // Applies each write on its own and waits for durability once, for the last record
+    private <T> int writeAll(Collection<T> items, ToLongFunction<T> write) {
+        int written = 0;
+        long lastSequence = 0;
+        for (T item : items) {
+            long sequence = write.applyAsLong(item);
+            if (sequence != NOT_FOUND) {
+                written++;
+                lastSequence = sequence;
+            }
+        }
+        awaitJournal(lastSequence);
+        return written;
+    }
+
+    private int awaitDurable(long sequence) {
+        if (sequence == NOT_FOUND) {
+            return 0;
+        }
+        awaitJournal(sequence);
+        return 1;
+    }
+
+    private void awaitJournal(long sequence) {
+        try {
+            todoJournal.awaitDurable(sequence);
+        } catch (RuntimeException e) {
+            journalFailure = e;
+            throw e;
+        }
+    }
+
+    // Caller holds writeLock
+    private void checkWritable() {
+        if (journalFailure != null) {
+            throw new DataAccessResourceFailureException("The todo store is read-only after a failed journal write",
+                    journalFailure);
+        }
+    }
+
+    // Caller holds writeLock; current is null when the todo is deleted
+    private void apply(StoredTodo previous, Todo current) {
+        if (current == null) {
+            // Leave the ordered ids first so pages never look up a row that is already gone
+            orderedIds.remove(previous.todo().getTodoId());
+            todosById.remove(previous.todo().getTodoId());
+        } else {
+            todosById.put(current.getTodoId(), stored(current));
+            if (previous == null) {
+                orderedIds.add(current.getTodoId());
+            }
+        }
+        reindex(previous == null ? null : previous.todo(), current);
+    }
+
+    // Journal replay on startup; a null todo is a deletion
+    private void restore(Long todoId, Todo todo) {
+        synchronized (writeLock) {
+            StoredTodo previous = todosById.get(todoId);
+            if (previous != null || todo != null) {
+                apply(previous, todo);
+            }
+        }
+    }
+
+    // Stored rows are immutable, so copying the references under the lock is a consistent cut
+    private List<Todo> snapshotRows() {
+        synchronized (writeLock) {
+            return todosById.values().stream().map(StoredTodo::todo).toList();
+        }
+    }
+
+    // Moves index entries whose key changed between previous and current; either side is null on insert or delete
+    private void reindex(Todo previous, Todo current) {
+        Long todoId = (current != null ? current : previous).getTodoId();
+        boolean wasDone = previous != null && previous.isDone();
+        boolean isDone = current != null && current.isDone();
+        if (wasDone != isDone) {
+            if (isDone) {
+                finishedIds.add(todoId);
+            } else {
+                finishedIds.remove(todoId);
+            }
+        }
+        Priority previousPriority = previous != null ? previous.getPriority() : null;
+        Priority currentPriority = current != null ? current.getPriority() : null;
+        if (previousPriority != currentPriority) {
+            if (previousPriority != null) {
+                idsByPriority.get(previousPriority).remove(todoId);
+            }
+            if (currentPriority != null) {
+                idsByPriority.get(currentPriority).add(todoId);
+            }
+        }
+        LocalDate previousDeadline = previous != null ? previous.getDeadline() : null;
+        LocalDate currentDeadline = current != null ? current.getDeadline() : null;
+        if (!Objects.equals(previousDeadline, currentDeadline)) {
+            if (previousDeadline != null) {
+                Set<Long> sameDeadlineIds = idsByDeadline.get(previousDeadline);
+                sameDeadlineIds.remove(todoId);
+                if (sameDeadlineIds.isEmpty()) {
+                    idsByDeadline.remove(previousDeadline);
+                }
+            }
+            if (currentDeadline != null) {
+                idsByDeadline.computeIfAbsent(currentDeadline, deadline -> ConcurrentHashMap.newKeySet()).add(todoId);
+            }
+        }
+    }
+
+    // Starts from the narrowest index the filter allows; matches() still checks every condition
+    private Collection<Long> candidateIds(TodoFilterDto filter) {
+        if (filter.getDeadlineFrom() != null || filter.getDeadlineTo() != null) {
+            List<Long> todoIds = new ArrayList<>();
+            deadlineRange(filter.getDeadlineFrom(), filter.getDeadlineTo()).values().forEach(todoIds::addAll);
+            return todoIds;
+        }
+        if (filter.getPriority() != null) {
+            return idsByPriority.get(filter.getPriority());
+        }
+        if (Boolean.TRUE.equals(filter.getIsDone())) {
+            return finishedIds;
+        }
+        return orderedIds;
+    }
+
+    private Map<LocalDate, Set<Long>> deadlineRange(LocalDate from, LocalDate to) {
+        if (from == null) {
+            return idsByDeadline.headMap(to, true);
+        }
+        if (to == null) {
+            return idsByDeadline.tailMap(from, true);
+        }
+        return from.isAfter(to) ? Map.of() : idsByDeadline.subMap(from, true, to, true);
+    }
+
+    private static Predicate<Todo> matches(TodoFilterDto filter) {
+        return todo -> (filter.getIsDone() == null || todo.isDone() == filter.getIsDone())
+                && (filter.getPriority() == null || todo.getPriority() == filter.getPriority())
+                && (filter.getDeadlineFrom() == null || (todo.getDeadline() != null && !todo.getDeadline().isBefore(filter.getDeadlineFrom())))
+                && (filter.getDeadlineTo() == null || (todo.getDeadline() != null && !todo.getDeadline().isAfter(filter.getDeadlineTo())));
+    }
+
+    // Same order as TodoRepository: missing values last in either direction, then by id
+    private static Comparator<Todo> order(TodoFilterDto filter) {
+        boolean ascending = filter.getDirection() == null || filter.getDirection() == Sort.Direction.ASC;
+        Comparator<Todo> bySortField = filter.getSortBy() == TodoSortField.PRIORITY
+                ? Comparator.comparing(Todo::getPriority, Comparator.nullsLast(ascending ? Comparator.<Priority>naturalOrder() : Comparator.<Priority>reverseOrder()))
+                : Comparator.comparing(Todo::getDeadline, Comparator.nullsLast(ascending ? Comparator.<LocalDate>naturalOrder() : Comparator.<LocalDate>reverseOrder()));
+        return bySortField.thenComparing(Todo::getTodoId);
+    }
+
+    private StoredTodo stored(Todo todo) {
+        return new StoredTodo(todo, todoMapper.entityToFrontEndDto(todo));
+    }
+
+    private static Todo copy(Todo todo) {
+        return Todo.builder()
+                .todoId(todo.getTodoId())
+                .name(todo.getName())
+                .isDone(todo.isDone())
+                .deadline(todo.getDeadline())
+                .priority(todo.getPriority())
+                .version(todo.getVersion())
+                .build();
+    }
+
+    private static TodoFrontendDto copy(TodoFrontendDto todoFrontendDto) {
+        return new TodoFrontendDto(todoFrontendDto.getTodoId(), todoFrontendDto.getName(), todoFrontendDto.getIsDone(),
+                todoFrontendDto.getDeadline(), todoFrontendDto.getPriority());
+    }
+
+    private static Map<Priority, Set<Long>> newPriorityIndex() {
+        Map<Priority, Set<Long>> idsByPriority = new EnumMap<>(Priority.class);
+        for (Priority priority : Priority.values()) {
+            idsByPriority.put(priority, ConcurrentHashMap.newKeySet());
+        }
+        return idsByPriority;
+    }
+
+    // Both halves are built once per write and never modified afterwards
+    private record StoredTodo(Todo todo, TodoFrontendDto frontendDto) {
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.todo_application.repository;
+
+import org.example.todo_application.dto.TodoFieldUpdateDto;
+
+import java.util.List;
+
+/**
+ * Batched field updates for TodoRepository, implemented with JDBC by {@link TodoFieldUpdateOperationsImpl}.
+ */
+public interface TodoFieldUpdateOperations {
+
+    int updateFields(List<TodoFieldUpdateDto> updates);
+}
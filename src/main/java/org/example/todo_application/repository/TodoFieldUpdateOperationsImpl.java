@@ -0,0 +1,48 @@
+package org.example.todo_application.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.todo_application.dto.TodoFieldUpdateDto;
+import org.example.todo_application.entity.Priority;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+
+@RequiredArgsConstructor
+class TodoFieldUpdateOperationsImpl implements TodoFieldUpdateOperations {
+    // One statement shape for any combination of changed fields, so every update goes into the same JDBC batch;
+    // the flag parameters pick between the new value and the current one
+    private static final String UPDATE_FIELDS = "update todo set " +
+            "name = case when ? then ? else name end, " +
+            "deadline = case when ? then ? else deadline end, " +
+            "priority = case when ? then ? else priority end, " +
+            "priority_rank = case when ? then ? else priority_rank end, " +
+            "version = version + 1 " +
+            "where todo_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int updateFields(List<TodoFieldUpdateDto> updates) {
+        int[][] batchCounts = jdbcTemplate.batchUpdate(UPDATE_FIELDS, updates, updates.size(), (statement, update) -> {
+            statement.setBoolean(1, update.isNameChanged());
+            statement.setString(2, update.getName());
+            statement.setBoolean(3, update.isDeadlineChanged());
+            statement.setObject(4, update.getDeadline(), Types.DATE);
+            statement.setBoolean(5, update.isPriorityChanged());
+            statement.setString(6, update.getPriority() == null ? null : update.getPriority().name());
+            statement.setBoolean(7, update.isPriorityChanged());
+            statement.setObject(8, Priority.rankOf(update.getPriority()), Types.INTEGER);
+            statement.setLong(9, update.getTodoId());
+        });
+        int affectedRows = 0;
+        for (int[] counts : batchCounts) {
+            for (int count : counts) {
+                // Drivers that rewrite the batch may not report per-statement counts
+                affectedRows += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+            }
+        }
+        return affectedRows;
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.todo_application.repository;
+
+import org.example.todo_application.dto.TodoFilterDto;
+import org.example.todo_application.entity.Todo;
+
+import java.util.List;
+
+/**
+ * The filtered todo list for TodoRepository, implemented with Specifications by {@link TodoFilterOperationsImpl}.
+ */
+public interface TodoFilterOperations {
+
+    List<Todo> findFiltered(TodoFilterDto filter, int page, int pageSize);
+}
@@ -0,0 +1,105 @@
+package org.example.todo_application.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.example.todo_application.dto.TodoFilterDto;
+import org.example.todo_application.dto.TodoSortField;
+import org.example.todo_application.entity.Priority;
+import org.example.todo_application.entity.Todo;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class TodoFilterOperationsImpl implements TodoFilterOperations {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Todos without the sorted value come last in either direction. Instead of sorting on an expression, they are
+    // read by a second query, so each query can walk an index in order and stop after the page
+    @Override
+    public List<Todo> findFiltered(TodoFilterDto filter, int page, int pageSize) {
+        Specification<Todo> matching = matching(filter);
+        String sortAttribute = filter.getSortBy() == TodoSortField.PRIORITY ? "priorityRank" : "deadline";
+        Sort.Direction direction = filter.getDirection() == null ? Sort.Direction.ASC : filter.getDirection();
+        long offset = (long) page * pageSize;
+
+        Specification<Todo> withValue = matching.and(hasValue(sortAttribute));
+        List<Todo> todos = new ArrayList<>(find(withValue, Sort.by(direction, sortAttribute).and(Sort.by("todoId")),
+                offset, pageSize));
+        if (todos.size() == pageSize || excludesMissingValues(filter)) {
+            return todos;
+        }
+        // A partly filled page holds the last todos with a value; a later empty one may be further past them
+        long withValueCount = todos.isEmpty() && offset > 0 ? count(withValue) : offset + todos.size();
+        Specification<Todo> withoutValue = matching.and((root, query, cb) -> cb.isNull(root.get(sortAttribute)));
+        todos.addAll(find(withoutValue, Sort.by("todoId"), Math.max(0, offset - withValueCount),
+                pageSize - todos.size()));
+        return todos;
+    }
+
+    // Only the criteria that are set become conditions, so the database plans each combination on its own
+    private static Specification<Todo> matching(TodoFilterDto filter) {
+        List<Specification<Todo>> conditions = new ArrayList<>();
+        if (filter.getIsDone() != null) {
+            conditions.add((root, query, cb) -> cb.equal(root.get("isDone"), filter.getIsDone()));
+        }
+        if (filter.getPriority() != null) {
+            conditions.add((root, query, cb) -> cb.equal(root.get("priority"), filter.getPriority()));
+        }
+        if (filter.getDeadlineFrom() != null) {
+            conditions.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("deadline"), filter.getDeadlineFrom()));
+        }
+        if (filter.getDeadlineTo() != null) {
+            conditions.add((root, query, cb) -> cb.lessThanOrEqualTo(root.get("deadline"), filter.getDeadlineTo()));
+        }
+        return Specification.allOf(conditions);
+    }
+
+    // The rank is bounded from below rather than tested for null: a range is matched to an index by every planner
+    private static Specification<Todo> hasValue(String sortAttribute) {
+        if (sortAttribute.equals("priorityRank")) {
+            return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get(sortAttribute), Priority.rankOf(Priority.LOW));
+        }
+        return (root, query, cb) -> cb.isNotNull(root.get(sortAttribute));
+    }
+
+    private static boolean excludesMissingValues(TodoFilterDto filter) {
+        if (filter.getSortBy() == TodoSortField.PRIORITY) {
+            return filter.getPriority() != null;
+        }
+        return filter.getDeadlineFrom() != null || filter.getDeadlineTo() != null;
+    }
+
+    private List<Todo> find(Specification<Todo> specification, Sort sort, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Todo> query = cb.createQuery(Todo.class);
+        Root<Todo> root = query.from(Todo.class);
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private long count(Specification<Todo> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Todo> root = query.from(Todo.class);
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query.select(cb.count(root))).getSingleResult();
+    }
+}
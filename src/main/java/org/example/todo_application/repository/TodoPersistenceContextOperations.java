@@ -0,0 +1,14 @@
+package org.example.todo_application.repository;
+
+import org.example.todo_application.entity.Todo;
+
+/**
+ * Persistence-context housekeeping for TodoRepository, implemented on the EntityManager by
+ * {@link TodoPersistenceContextOperationsImpl}.
+ */
+public interface TodoPersistenceContextOperations {
+
+    void flushAndClear();
+
+    void detach(Todo todo);
+}
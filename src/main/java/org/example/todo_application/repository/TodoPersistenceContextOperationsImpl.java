@@ -0,0 +1,21 @@
+package org.example.todo_application.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.example.todo_application.entity.Todo;
+
+class TodoPersistenceContextOperationsImpl implements TodoPersistenceContextOperations {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Override
+    public void detach(Todo todo) {
+        entityManager.detach(todo);
+    }
+}
@@ -1,9 +1,121 @@
 package org.example.todo_application.repository;
 
+import jakarta.persistence.QueryHint;
+import org.example.todo_application.dto.TodoCountDto;
+import org.example.todo_application.dto.TodoFrontendDto;
 import org.example.todo_application.entity.Todo;
+import org.hibernate.jpa.HibernateHints;
+import org.example.todo_application.entity.Priority;
+import org.example.todo_application.mapper.TodoMapper;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface TodoRepository extends JpaRepository<Todo,Long> {
+public interface TodoRepository extends JpaRepository<Todo,Long>, TodoStore, TodoPersistenceContextOperations,
+        TodoFieldUpdateOperations, TodoFilterOperations {
+    int LOAD_FETCH_SIZE = 500;
+
+    // Declared by both JpaRepository and TodoStore; redeclared so calls through TodoRepository are unambiguous
+    @Override
+    <S extends Todo> S save(S todo);
+
+    @Override
+    <S extends Todo> List<S> saveAll(Iterable<S> todos);
+
+    @Override
+    List<Todo> findAllById(Iterable<Long> todoIds);
+
+    // Builds TodoFrontendDto straight from the selected columns with the same display values as TodoMapper,
+    // so list reads never hydrate managed entities
+    String FRONTEND_DTO_SELECT = "select new org.example.todo_application.dto.TodoFrontendDto(t.todoId, t.name, " +
+            "case when t.isDone = true then '" + TodoMapper.FINISHED + "' else '" + TodoMapper.NOT_FINISHED + "' end, " +
+            "coalesce(cast(t.deadline as String), '" + TodoMapper.NO_DEADLINE + "'), " +
+            "coalesce(cast(t.priority as String), '" + TodoMapper.NO_PRIORITY + "')) " +
+            "from Todo t ";
+
+    @Query(FRONTEND_DTO_SELECT + "order by t.todoId")
+    List<TodoFrontendDto> findAllFrontendDtos();
+
+    // Keyset page: seeks on the primary key index, so the cost does not depend on how deep the page is
+    @Query(FRONTEND_DTO_SELECT + "where t.todoId > :todoId order by t.todoId")
+    List<TodoFrontendDto> findFrontendDtosAfter(@Param("todoId") Long todoId, Limit limit);
+
+    // Used by the change feed's full load. Must be consumed inside a transaction and closed; rows are pulled from the
+    // driver LOAD_FETCH_SIZE at a time
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + LOAD_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Todo> streamAllByOrderByTodoIdAsc();
+
+    // Single-statement mutators; the returned row count is 0 when no todo has the given id.
+    // The status toggle is computed by the database, so concurrent toggles can never both flip from the same state.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Todo t set t.name = :name, t.version = t.version + 1 where t.todoId = :todoId")
+    int updateName(@Param("todoId") Long todoId, @Param("name") String name);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Todo t set t.isDone = (case when t.isDone = true then false else true end), t.version = t.version + 1 " +
+            "where t.todoId = :todoId")
+    int toggleIsDone(@Param("todoId") Long todoId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Todo t set t.deadline = :deadline, t.version = t.version + 1 where t.todoId = :todoId")
+    int updateDeadline(@Param("todoId") Long todoId, @Param("deadline") LocalDate deadline);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Todo t set t.priority = :priority, t.priorityRank = :priorityRank, t.version = t.version + 1 " +
+            "where t.todoId = :todoId")
+    int updatePriority(@Param("todoId") Long todoId, @Param("priority") Priority priority,
+                       @Param("priorityRank") Integer priorityRank);
+
+    @Override
+    default int updatePriority(Long todoId, Priority priority) {
+        return updatePriority(todoId, priority, Priority.rankOf(priority));
+    }
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Todo t where t.todoId = :todoId")
+    int deleteByTodoId(@Param("todoId") Long todoId);
+
+    // Set-based variants of the mutators above for bulk operations; callers keep the id sets bounded
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Todo t set t.isDone = :isDone, t.version = t.version + 1 where t.todoId in :todoIds")
+    int updateIsDoneIn(@Param("todoIds") Collection<Long> todoIds, @Param("isDone") boolean isDone);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Todo t set t.priority = :priority, t.priorityRank = :priorityRank, t.version = t.version + 1 " +
+            "where t.todoId in :todoIds")
+    int updatePriorityIn(@Param("todoIds") Collection<Long> todoIds, @Param("priority") Priority priority,
+                         @Param("priorityRank") Integer priorityRank);
+
+    @Override
+    default int updatePriorityIn(Collection<Long> todoIds, Priority priority) {
+        return updatePriorityIn(todoIds, priority, Priority.rankOf(priority));
+    }
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Todo t where t.todoId in :todoIds")
+    int deleteByTodoIdIn(@Param("todoIds") Collection<Long> todoIds);
+
+    // Served from the status and priority indexes; TodoSummaryCounters reconciles against these periodically
+    @Query("select new org.example.todo_application.dto.TodoCountDto(t.isDone, t.priority, count(t)) " +
+            "from Todo t group by t.isDone, t.priority")
+    List<TodoCountDto> countByStatusAndPriority();
+
+    @Query("select count(t) from Todo t where t.isDone = false and t.deadline < :today")
+    long countOverdue(@Param("today") LocalDate today);
+
+    @Query("select t.todoId from Todo t where t.isDone = true order by t.todoId")
+    List<Long> findCompletedTodoIds(Limit limit);
 }
@@ -0,0 +1,17 @@
+package org.example.todo_application.repository;
+
+import org.example.todo_application.entity.TodoRow;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking reads of the {@code todo} table over R2DBC. Writes go through {@link TodoRepository}.
+ */
+@Repository
+public interface TodoRowRepository extends R2dbcRepository<TodoRow, Long> {
+
+    // Keyset page: the first rows after afterTodoId in id order
+    Flux<TodoRow> findByTodoIdGreaterThanOrderByTodoIdAsc(Long afterTodoId, Limit limit);
+}
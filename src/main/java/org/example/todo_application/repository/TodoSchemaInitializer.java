@@ -0,0 +1,74 @@
+package org.example.todo_application.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.todo_application.entity.Priority;
+import org.example.todo_application.entity.Todo;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Brings data written before a schema change in line with it once Hibernate has updated the schema: the
+ * priority rank column is added empty, so it is filled in for todos that have a priority but no rank yet, and the
+ * {@code todo_seq} id sequence starts at 1, so it is moved past the ids already in the table.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Profile("!in-memory")
+@DependsOn("entityManagerFactory")
+public class TodoSchemaInitializer implements InitializingBean {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterPropertiesSet() {
+        seedIdSequence();
+        fillInPriorityRanks();
+    }
+
+    // The pooled optimizer hands out the ids up to the value it reads, (value - allocation size, value], so that
+    // value must be at least the highest id plus the allocation size. The sequence is only ever moved forward, so
+    // blocks held by other running instances stay valid
+    private void seedIdSequence() {
+        Long maxTodoId = jdbcTemplate.queryForObject("select max(todo_id) from todo", Long.class);
+        if (maxTodoId == null) {
+            return;
+        }
+        long nextValue = maxTodoId + Todo.ID_ALLOCATION_SIZE;
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        boolean seeded = false;
+        if ("MySQL".equals(database)) {
+            // MySQL has no sequences; Hibernate keeps the next value in a one-row todo_seq table
+            seeded = jdbcTemplate.update("update todo_seq set next_val = ? where next_val < ?", nextValue, nextValue) > 0;
+        } else if ("H2".equals(database)) {
+            Long currentValue = jdbcTemplate.queryForObject(
+                    "select base_value from information_schema.sequences where sequence_name = 'TODO_SEQ'", Long.class);
+            if (currentValue != null && currentValue < nextValue) {
+                jdbcTemplate.execute("alter sequence todo_seq restart with " + nextValue);
+                seeded = true;
+            }
+        } else {
+            log.warn("Cannot check the todo id sequence on {}, make sure it is above {}", database, maxTodoId);
+        }
+        if (seeded) {
+            log.info("Moved the todo id sequence past the existing id {}", maxTodoId);
+        }
+    }
+
+    private void fillInPriorityRanks() {
+        StringBuilder rank = new StringBuilder("case priority");
+        for (Priority priority : Priority.values()) {
+            rank.append(" when '").append(priority.name()).append("' then ").append(Priority.rankOf(priority));
+        }
+        int rankedRows = jdbcTemplate.update("update todo set priority_rank = " + rank + " end " +
+                "where priority is not null and priority_rank is null");
+        if (rankedRows > 0) {
+            log.info("Filled in the priority rank of {} todos", rankedRows);
+        }
+    }
+}
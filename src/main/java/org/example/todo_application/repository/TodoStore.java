@@ -0,0 +1,101 @@
+package org.example.todo_application.repository;
+
+import org.example.todo_application.dto.TodoCountDto;
+import org.example.todo_application.dto.TodoFieldUpdateDto;
+import org.example.todo_application.dto.TodoFilterDto;
+import org.example.todo_application.dto.TodoFrontendDto;
+import org.example.todo_application.entity.Priority;
+import org.example.todo_application.entity.Todo;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The storage operations TodoService relies on. {@link TodoRepository} implements them with JPA;
+ * {@link InMemoryTodoStore} keeps todos on the heap when the in-memory profile is active.
+ * <p>
+ * Mutators return the number of affected todos, so 0 means no todo has the given id.
+ */
+public interface TodoStore {
+
+    <S extends Todo> S save(S todo);
+
+    <S extends Todo> List<S> saveAll(Iterable<S> todos);
+
+    boolean existsById(Long todoId);
+
+    /**
+     * The todos with the given ids in no particular order; ids without a todo are skipped.
+     */
+    List<Todo> findAllById(Iterable<Long> todoIds);
+
+    /**
+     * All todos in frontend form, ordered by id.
+     */
+    List<TodoFrontendDto> findAllFrontendDtos();
+
+    /**
+     * Todos with an id greater than {@code todoId} in frontend form, ordered by id.
+     */
+    List<TodoFrontendDto> findFrontendDtosAfter(Long todoId, Limit limit);
+
+    /**
+     * All todos ordered by id; must be closed, and for JPA consumed inside a transaction.
+     */
+    Stream<Todo> streamAllByOrderByTodoIdAsc();
+
+    /**
+     * One page of todos matching {@code filter}, sorted by its sort field with the id as tie-breaker.
+     * Todos without the sorted value come last in either direction.
+     */
+    List<Todo> findFiltered(TodoFilterDto filter, int page, int pageSize);
+
+    int updateName(Long todoId, String name);
+
+    int toggleIsDone(Long todoId);
+
+    int updateDeadline(Long todoId, LocalDate deadline);
+
+    int updatePriority(Long todoId, Priority priority);
+
+    int deleteByTodoId(Long todoId);
+
+    /**
+     * Applies every update in one batch, each to its own todo; todos that no longer exist are skipped.
+     */
+    int updateFields(List<TodoFieldUpdateDto> updates);
+
+    int updateIsDoneIn(Collection<Long> todoIds, boolean isDone);
+
+    int updatePriorityIn(Collection<Long> todoIds, Priority priority);
+
+    int deleteByTodoIdIn(Collection<Long> todoIds);
+
+    /**
+     * Number of todos per combination of status and priority; combinations without todos are left out.
+     */
+    List<TodoCountDto> countByStatusAndPriority();
+
+    /**
+     * Number of unfinished todos with a deadline before {@code today}.
+     */
+    long countOverdue(LocalDate today);
+
+    /**
+     * Ids of finished todos in ascending order.
+     */
+    List<Long> findCompletedTodoIds(Limit limit);
+
+    /**
+     * Writes pending changes and forgets all tracked todos; a no-op for stores without a persistence context.
+     */
+    void flushAndClear();
+
+    /**
+     * Stops tracking {@code todo}; a no-op for stores without a persistence context.
+     */
+    void detach(Todo todo);
+}
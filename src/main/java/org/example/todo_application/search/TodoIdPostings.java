@@ -0,0 +1,100 @@
+package org.example.todo_application.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted set of todo ids on a primitive array. New todos get ascending ids, so adds almost always append;
+ * removals come in sorted batches and close all their gaps in one pass over the tail of the array.
+ */
+final class TodoIdPostings {
+    private long[] ids = new long[4];
+    private int size;
+
+    boolean add(long todoId) {
+        if (size == 0 || ids[size - 1] < todoId) {
+            ensureCapacity();
+            ids[size++] = todoId;
+            return true;
+        }
+        int index = Arrays.binarySearch(ids, 0, size, todoId);
+        if (index >= 0) {
+            return false;
+        }
+        int insertAt = -index - 1;
+        ensureCapacity();
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = todoId;
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes the ids of {@code todoIds}, which must be sorted; returns how many were in this set. Ids before the
+     * first one removed are not touched.
+     */
+    int removeAll(long[] todoIds) {
+        if (size == 0 || todoIds.length == 0) {
+            return 0;
+        }
+        int start = Arrays.binarySearch(ids, 0, size, todoIds[0]);
+        int kept = start >= 0 ? start : -start - 1;
+        int next = 0;
+        for (int i = kept; i < size; i++) {
+            long todoId = ids[i];
+            while (next < todoIds.length && todoIds[next] < todoId) {
+                next++;
+            }
+            if (next < todoIds.length && todoIds[next] == todoId) {
+                next++;
+            } else {
+                ids[kept++] = todoId;
+            }
+        }
+        int removed = size - kept;
+        size = kept;
+        return removed;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * The ids of {@code candidates} (sorted, first {@code count} used) that are also in this set, written back
+     * into {@code candidates}; returns how many there are. Each lookup gallops forward from the previous one,
+     * so the cost follows the gaps between candidates rather than the size of this set.
+     */
+    int retainIn(long[] candidates, int count) {
+        int retained = 0;
+        int from = 0;
+        for (int i = 0; i < count && from < size; i++) {
+            long candidate = candidates[i];
+            int step = 1;
+            while (from + step < size && ids[from + step] < candidate) {
+                step <<= 1;
+            }
+            int index = Arrays.binarySearch(ids, from + (step >> 1), Math.min(from + step + 1, size), candidate);
+            if (index >= 0) {
+                candidates[retained++] = candidate;
+                from = index + 1;
+            } else {
+                from = -index - 1;
+            }
+        }
+        return retained;
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package org.example.todo_application.search;
+
+import org.example.todo_application.entity.Todo;
+import org.example.todo_application.service.TodoChangeFeed;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index over todo names. Names and queries are lowercased, stripped of accents and split into words
+ * on everything that is not a letter or digit. Every query word must occur in a matching name: words of three or
+ * more characters anywhere, found through the trigrams of the name; shorter words at the start of a name word,
+ * found through the one- and two-character word prefixes. Matches rank by how well the query words fit whole
+ * words of the name (exact word, word prefix, substring), then shorter names first, then lower ids first.
+ * <p>
+ * Names are also indexed by their whole words. Todos that hold every query word as a whole word have the top
+ * score, so they are found through those keys and ranked without scoring; the other candidates are scored only
+ * when fewer whole-word matches than the requested pages hold exist. Each search ranks at most
+ * {@value #MAX_RANKED_CANDIDATES} todos, lowest ids first, which bounds its work: a query that matches more todos
+ * than that may leave out shorter names among the rest. The ranked list is capped at {@value #MAX_RESULTS}.
+ * <p>
+ * The index is fed by {@link TodoChangeFeed}, so it trails a write by a moment and searches during the initial
+ * load see the todos loaded so far. Like the list ETags, the index is local to this instance.
+ */
+@Component
+public class TodoSearchIndex implements TodoChangeFeed.Subscriber {
+    public static final int MAX_RESULTS = 1000;
+    public static final int MAX_RANKED_CANDIDATES = 20_000;
+    public static final int MAX_QUERY_LENGTH = 100;
+    public static final int MAX_QUERY_WORDS = 8;
+    static final int EXACT_WORD = 3;
+    static final int WORD_PREFIX = 2;
+    static final int SUBSTRING = 1;
+    private static final int GRAM_LENGTH = 3;
+    // Cannot occur in normalized text, so word prefix and whole word keys never collide with trigrams
+    private static final char WORD_PREFIX_MARK = '^';
+    private static final char WHOLE_WORD_MARK = '$';
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::score).reversed()
+            .thenComparingInt(Hit::length)
+            .thenComparingLong(Hit::todoId);
+
+    // Guarded by lock; names are kept in normalized form
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, String> namesById = new HashMap<>();
+    private final Map<String, TodoIdPostings> postingsByKey = new HashMap<>();
+
+    private record Hit(long todoId, int score, int length) {
+    }
+
+    /**
+     * Ids of one page of todos whose names match {@code query}, best match first. Only the first
+     * {@value #MAX_RESULTS} matches are returned, so pages past them are empty.
+     */
+    public List<Long> search(String query, int page, int pageSize) {
+        List<String> words = queryWords(query);
+        long from = (long) page * pageSize;
+        if (words.isEmpty() || page < 0 || pageSize < 1 || from >= MAX_RESULTS) {
+            return List.of();
+        }
+        int limit = (int) Math.min(from + pageSize, MAX_RESULTS);
+        // Worst kept hit at the head, so it is the one dropped when a better one arrives
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        lock.readLock().lock();
+        try {
+            long[] wholeWordMatches = matching(words.stream().map(word -> WHOLE_WORD_MARK + word).toList());
+            int ranked = Math.min(wholeWordMatches.length, MAX_RANKED_CANDIDATES);
+            int topScore = EXACT_WORD * words.size();
+            for (int i = 0; i < ranked; i++) {
+                keep(best, new Hit(wholeWordMatches[i], topScore, namesById.get(wholeWordMatches[i]).length()), limit);
+            }
+            // Any other match scores lower, so it can only make the page when the whole-word matches do not fill it
+            if (wholeWordMatches.length < limit) {
+                long[] candidates = matching(words.stream().flatMap(word -> queryKeys(word).stream()).toList());
+                int wholeWord = 0;
+                for (int i = 0; i < candidates.length && ranked < MAX_RANKED_CANDIDATES; i++) {
+                    long todoId = candidates[i];
+                    // Both arrays are ascending, so the whole-word matches already ranked are skipped in one pass
+                    while (wholeWord < wholeWordMatches.length && wholeWordMatches[wholeWord] < todoId) {
+                        wholeWord++;
+                    }
+                    if (wholeWord < wholeWordMatches.length && wholeWordMatches[wholeWord] == todoId) {
+                        continue;
+                    }
+                    String name = namesById.get(todoId);
+                    int score = score(name, words);
+                    ranked++;
+                    if (score > 0) {
+                        keep(best, new Hit(todoId, score, name.length()), limit);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Hit> ranked = new ArrayList<>(best);
+        ranked.sort(RANKING);
+        return ranked.subList((int) Math.min(from, ranked.size()), ranked.size()).stream()
+                .map(Hit::todoId)
+                .toList();
+    }
+
+    private static void keep(PriorityQueue<Hit> best, Hit hit, int limit) {
+        best.add(hit);
+        if (best.size() > limit) {
+            best.poll();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return namesById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            namesById.clear();
+            postingsByKey.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(List<Todo> todos) {
+        List<String> names = todos.stream().map(todo -> normalize(todo.getName())).toList();
+        lock.writeLock().lock();
+        try {
+            Map<String, List<Long>> removals = new HashMap<>();
+            for (int i = 0; i < todos.size(); i++) {
+                put(todos.get(i).getTodoId(), names.get(i), removals);
+            }
+            removePostings(removals);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Collection<Long> todoIds) {
+        lock.writeLock().lock();
+        try {
+            Map<String, List<Long>> removals = new HashMap<>();
+            for (Long todoId : todoIds) {
+                String previous = namesById.remove(todoId);
+                if (previous != null) {
+                    keys(previous).forEach(key -> removals.computeIfAbsent(key, k -> new ArrayList<>()).add(todoId));
+                }
+            }
+            removePostings(removals);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock; only the keys that differ between the old and new name are touched, and
+    // removals are collected in removals so each postings list is compacted once per batch
+    private void put(long todoId, String name, Map<String, List<Long>> removals) {
+        String previous = namesById.put(todoId, name);
+        if (name.equals(previous)) {
+            return;
+        }
+        Set<String> previousKeys = previous == null ? Set.of() : keys(previous);
+        Set<String> keys = keys(name);
+        for (String key : previousKeys) {
+            if (!keys.contains(key)) {
+                removals.computeIfAbsent(key, k -> new ArrayList<>()).add(todoId);
+            }
+        }
+        for (String key : keys) {
+            if (!previousKeys.contains(key)) {
+                postingsByKey.computeIfAbsent(key, k -> new TodoIdPostings()).add(todoId);
+            }
+        }
+    }
+
+    // Caller holds the write lock
+    private void removePostings(Map<String, List<Long>> removals) {
+        removals.forEach((key, todoIds) -> {
+            TodoIdPostings postings = postingsByKey.get(key);
+            if (postings != null) {
+                postings.removeAll(todoIds.stream().mapToLong(Long::longValue).sorted().toArray());
+                if (postings.isEmpty()) {
+                    postingsByKey.remove(key);
+                }
+            }
+        });
+    }
+
+    // Caller holds the read lock; ids of todos that hold every one of keys, in ascending order
+    private long[] matching(List<String> keys) {
+        List<TodoIdPostings> postingsLists = new ArrayList<>();
+        for (String key : keys) {
+            TodoIdPostings postings = postingsByKey.get(key);
+            if (postings == null) {
+                return new long[0];
+            }
+            postingsLists.add(postings);
+        }
+        // Intersecting from the rarest key keeps the candidate list as short as possible from the start
+        postingsLists.sort(Comparator.comparingInt(TodoIdPostings::size));
+        long[] candidates = postingsLists.get(0).toArray();
+        int count = candidates.length;
+        for (int i = 1; i < postingsLists.size() && count > 0; i++) {
+            count = postingsLists.get(i).retainIn(candidates, count);
+        }
+        return count == candidates.length ? candidates : Arrays.copyOf(candidates, count);
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String withoutMarks = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("");
+        return NON_WORD.matcher(withoutMarks.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+    }
+
+    static List<String> queryWords(String query) {
+        if (query == null) {
+            return List.of();
+        }
+        String normalized = normalize(query.length() > MAX_QUERY_LENGTH ? query.substring(0, MAX_QUERY_LENGTH) : query);
+        return Stream.of(normalized.split(" "))
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .limit(MAX_QUERY_WORDS)
+                .toList();
+    }
+
+    /**
+     * Sum of the word scores of {@code words} in {@code name}, or 0 when any of them does not match.
+     */
+    static int score(String name, List<String> words) {
+        int score = 0;
+        for (String word : words) {
+            int wordScore = wordScore(name, word);
+            if (wordScore == 0) {
+                return 0;
+            }
+            score += wordScore;
+        }
+        return score;
+    }
+
+    // Best fit of one query word over all of its occurrences; words shorter than a trigram only match word starts
+    private static int wordScore(String name, String word) {
+        int best = 0;
+        for (int at = name.indexOf(word); at >= 0 && best < EXACT_WORD; at = name.indexOf(word, at + 1)) {
+            int end = at + word.length();
+            boolean startsWord = at == 0 || name.charAt(at - 1) == ' ';
+            boolean endsWord = end == name.length() || name.charAt(end) == ' ';
+            int score = startsWord ? (endsWord ? EXACT_WORD : WORD_PREFIX) : SUBSTRING;
+            best = Math.max(best, score);
+        }
+        return word.length() < GRAM_LENGTH && best < WORD_PREFIX ? 0 : best;
+    }
+
+    private static Set<String> keys(String name) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= name.length(); i++) {
+            keys.add(name.substring(i, i + GRAM_LENGTH));
+        }
+        int start = 0;
+        while (start < name.length()) {
+            int end = name.indexOf(' ', start);
+            if (end < 0) {
+                end = name.length();
+            }
+            keys.add(WORD_PREFIX_MARK + name.substring(start, start + 1));
+            if (end - start > 1) {
+                keys.add(WORD_PREFIX_MARK + name.substring(start, start + 2));
+            }
+            keys.add(WHOLE_WORD_MARK + name.substring(start, end));
+            start = end + 1;
+        }
+        return keys;
+    }
+
+    private static Set<String> queryKeys(String word) {
+        if (word.length() < GRAM_LENGTH) {
+            return Set.of(WORD_PREFIX_MARK + word);
+        }
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= word.length(); i++) {
+            keys.add(word.substring(i, i + GRAM_LENGTH));
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,239 @@
+package org.example.todo_application.service;
+
+import org.example.todo_application.event.TodoDeadlineType;
+
+import java.util.Arrays;
+
+/**
+ * Hierarchical timing wheel of deadline timers, one per todo, ticking once a day. Level {@code l} has
+ * {@value #SLOTS} slots of {@code 64^l} days each, so four levels reach about 45,000 years ahead; later timers
+ * wait in an overflow list. A timer sits in the lowest level whose span still contains its day and moves down a
+ * level each time the wheel reaches its slot, so scheduling and cancelling are O(1) and a tick only touches the
+ * timers that fire or move. Each timer first fires {@link TodoDeadlineType#DUE_SOON}, then
+ * {@link TodoDeadlineType#OVERDUE} the day after the deadline, and is then kept without a slot so that the same
+ * deadline is not scheduled again.
+ * <p>
+ * Timers are kept in parallel primitive arrays chained into doubly linked slot lists, found by todo id through a
+ * {@link TodoStateMap}, so millions of timers take a few tens of megabytes. Not thread-safe.
+ */
+final class DeadlineTimingWheel {
+    interface Expiry {
+        void expired(TodoDeadlineType type, long todoId);
+    }
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = 4;
+    private static final int OVERFLOW = LEVELS * SLOTS;
+    // Timers whose day had already come when they were linked
+    private static final int DUE = OVERFLOW + 1;
+    private static final int NONE = -1;
+    private static final int MIN_CAPACITY = 16;
+    private static final byte DUE_SOON = 0;
+    private static final byte OVERDUE = 1;
+    private static final byte FIRED = 2;
+
+    private final TodoStateMap timersById = new TodoStateMap();
+    private final int[] heads = new int[DUE + 1];
+    private long currentDay;
+
+    // Timer slots; free ones are chained through next
+    private long[] todoIds;
+    private long[] deadlineDays;
+    private long[] fireDays;
+    private byte[] stages;
+    private int[] buckets;
+    private int[] next;
+    private int[] previous;
+    private int used;
+    private int free;
+
+    DeadlineTimingWheel(long currentDay) {
+        clear(currentDay);
+    }
+
+    /**
+     * Sets the timer of {@code todoId}; a timer for the same deadline is left as it is. Unless {@code firePast},
+     * stages whose day has already come are skipped; otherwise they fire on the next {@link #advanceTo}.
+     */
+    void schedule(long todoId, long deadlineDay, long dueSoonDay, boolean firePast) {
+        long existing = timersById.get(todoId);
+        if (existing != TodoStateMap.ABSENT) {
+            if (deadlineDays[(int) existing] == deadlineDay) {
+                return;
+            }
+            cancel(todoId);
+        }
+        long overdueDay = deadlineDay + 1;
+        int timer = allocate(todoId, deadlineDay);
+        if (dueSoonDay > currentDay || (firePast && overdueDay > currentDay)) {
+            stages[timer] = DUE_SOON;
+            fireDays[timer] = dueSoonDay;
+            link(timer);
+        } else if (overdueDay > currentDay || firePast) {
+            stages[timer] = OVERDUE;
+            fireDays[timer] = overdueDay;
+            link(timer);
+        } else {
+            stages[timer] = FIRED;
+        }
+        timersById.put(todoId, timer);
+    }
+
+    /**
+     * Removes the timer of {@code todoId}, returning whether there was one.
+     */
+    boolean cancel(long todoId) {
+        long timer = timersById.remove(todoId);
+        if (timer == TodoStateMap.ABSENT) {
+            return false;
+        }
+        int index = (int) timer;
+        if (buckets[index] != NONE) {
+            unlink(index);
+        }
+        next[index] = free;
+        free = index;
+        return true;
+    }
+
+    /**
+     * Moves the wheel forward a day at a time up to {@code day}, handing every timer that fires to {@code expiry}.
+     */
+    void advanceTo(long day, Expiry expiry) {
+        fire(DUE, expiry);
+        while (currentDay < day) {
+            currentDay++;
+            if ((currentDay & ((1L << SLOT_BITS * LEVELS) - 1)) == 0) {
+                cascade(OVERFLOW);
+            }
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentDay & ((1L << SLOT_BITS * level) - 1)) == 0) {
+                    cascade(level * SLOTS + (int) ((currentDay >> SLOT_BITS * level) & (SLOTS - 1)));
+                }
+            }
+            fire(DUE, expiry);
+            fire((int) (currentDay & (SLOTS - 1)), expiry);
+        }
+    }
+
+    void clear(long day) {
+        timersById.clear();
+        Arrays.fill(heads, NONE);
+        currentDay = day;
+        todoIds = new long[MIN_CAPACITY];
+        deadlineDays = new long[MIN_CAPACITY];
+        fireDays = new long[MIN_CAPACITY];
+        stages = new byte[MIN_CAPACITY];
+        buckets = new int[MIN_CAPACITY];
+        next = new int[MIN_CAPACITY];
+        previous = new int[MIN_CAPACITY];
+        used = 0;
+        free = NONE;
+    }
+
+    long currentDay() {
+        return currentDay;
+    }
+
+    int size() {
+        return timersById.size();
+    }
+
+    private void fire(int bucket, Expiry expiry) {
+        int timer = detachAll(bucket);
+        while (timer != NONE) {
+            int following = next[timer];
+            if (stages[timer] == DUE_SOON) {
+                expiry.expired(TodoDeadlineType.DUE_SOON, todoIds[timer]);
+                stages[timer] = OVERDUE;
+                fireDays[timer] = deadlineDays[timer] + 1;
+                link(timer);
+            } else {
+                expiry.expired(TodoDeadlineType.OVERDUE, todoIds[timer]);
+                stages[timer] = FIRED;
+            }
+            timer = following;
+        }
+    }
+
+    private void cascade(int bucket) {
+        int timer = detachAll(bucket);
+        while (timer != NONE) {
+            int following = next[timer];
+            link(timer);
+            timer = following;
+        }
+    }
+
+    // Empties the bucket and returns its first timer; the timers stay chained through next
+    private int detachAll(int bucket) {
+        int head = heads[bucket];
+        heads[bucket] = NONE;
+        for (int timer = head; timer != NONE; timer = next[timer]) {
+            buckets[timer] = NONE;
+        }
+        return head;
+    }
+
+    private void link(int timer) {
+        long fireDay = fireDays[timer];
+        int bucket = DUE;
+        if (fireDay > currentDay) {
+            bucket = OVERFLOW;
+            for (int level = 0; level < LEVELS; level++) {
+                int shift = SLOT_BITS * (level + 1);
+                if (fireDay >> shift == currentDay >> shift) {
+                    bucket = level * SLOTS + (int) ((fireDay >> SLOT_BITS * level) & (SLOTS - 1));
+                    break;
+                }
+            }
+        }
+        buckets[timer] = bucket;
+        previous[timer] = NONE;
+        next[timer] = heads[bucket];
+        if (heads[bucket] != NONE) {
+            previous[heads[bucket]] = timer;
+        }
+        heads[bucket] = timer;
+    }
+
+    private void unlink(int timer) {
+        if (previous[timer] == NONE) {
+            heads[buckets[timer]] = next[timer];
+        } else {
+            next[previous[timer]] = next[timer];
+        }
+        if (next[timer] != NONE) {
+            previous[next[timer]] = previous[timer];
+        }
+        buckets[timer] = NONE;
+    }
+
+    private int allocate(long todoId, long deadlineDay) {
+        int timer;
+        if (free != NONE) {
+            timer = free;
+            free = next[timer];
+        } else {
+            if (used == todoIds.length) {
+                grow(todoIds.length * 2);
+            }
+            timer = used++;
+        }
+        todoIds[timer] = todoId;
+        deadlineDays[timer] = deadlineDay;
+        buckets[timer] = NONE;
+        return timer;
+    }
+
+    private void grow(int capacity) {
+        todoIds = Arrays.copyOf(todoIds, capacity);
+        deadlineDays = Arrays.copyOf(deadlineDays, capacity);
+        fireDays = Arrays.copyOf(fireDays, capacity);
+        stages = Arrays.copyOf(stages, capacity);
+        buckets = Arrays.copyOf(buckets, capacity);
+        next = Arrays.copyOf(next, capacity);
+        previous = Arrays.copyOf(previous, capacity);
+    }
+}
@@ -0,0 +1,289 @@
+package org.example.todo_application.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.todo_application.entity.Todo;
+import org.example.todo_application.event.TodoChangeType;
+import org.example.todo_application.event.TodoChangedEvent;
+import org.example.todo_application.repository.TodoStore;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Keeps in-memory views of the todos, such as the search index, the summary counters, the deadline timers and the
+ * change events sent to browsers, in step with the store. Every view is loaded from the store once the application
+ * is ready. After that the todo ids of committed {@link TodoChangedEvent}s are collected, each with its latest
+ * change type, and applied on one background thread: created and updated todos are re-read and handed to every
+ * {@link Subscriber}, deleted ones are removed. Ids that change again before they are applied are only applied
+ * once, so a burst of writes costs one read of the todos it touched. Re-reading means a view always ends up with
+ * the committed state, whatever order the events arrive in; it trails a write by the time it takes to apply it.
+ * <p>
+ * No more than {@code todo.change-feed.max-pending} ids wait: beyond that, and after a failed apply, the views
+ * are loaded again in full instead, retried every {@value #RETRY_DELAY_SECONDS}s until that works.
+ * Only writes made through this instance reach the views.
+ */
+@Slf4j
+@Component
+public class TodoChangeFeed implements DisposableBean {
+    private static final int LOAD_CHUNK_SIZE = 1000;
+    private static final int DEFAULT_MAX_PENDING = 100_000;
+    private static final long RETRY_DELAY_SECONDS = 5;
+
+    /**
+     * An in-memory view fed with the todos. Methods are called one at a time on the feed thread.
+     */
+    public interface Subscriber {
+        /**
+         * Forgets every todo; the todos of a full load follow.
+         */
+        void clear();
+
+        /**
+         * The current state of todos that were loaded, created or changed.
+         */
+        void put(List<Todo> todos);
+
+        /**
+         * The current state of todos created or changed after the load; they are put unless a view needs to know which.
+         */
+        default void changed(TodoChangeType type, List<Todo> todos) {
+            put(todos);
+        }
+
+        void remove(Collection<Long> todoIds);
+
+        /**
+         * Every todo of a full load has been put.
+         */
+        default void loaded() {
+        }
+    }
+
+    private final TodoStore todoStore;
+    private final List<Subscriber> subscribers;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int maxPending;
+    private final ScheduledExecutorService feed = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "todo-change-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by lock; a pending full load replaces the pending ids
+    private final Object lock = new Object();
+    private Map<Long, TodoChangeType> pending = new LinkedHashMap<>();
+    private boolean loadPending;
+    private boolean applyScheduled;
+
+    public TodoChangeFeed(TodoStore todoStore, List<Subscriber> subscribers, PlatformTransactionManager transactionManager) {
+        this(todoStore, subscribers, transactionManager, DEFAULT_MAX_PENDING);
+    }
+
+    @Autowired
+    public TodoChangeFeed(TodoStore todoStore,
+                          List<Subscriber> subscribers,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${todo.change-feed.max-pending:" + DEFAULT_MAX_PENDING + "}") int maxPending) {
+        this.todoStore = todoStore;
+        this.subscribers = List.copyOf(subscribers);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxPending = maxPending;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        requestLoad(0);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        synchronized (lock) {
+            if (!loadPending) {
+                for (Long todoId : event.getTodoIds()) {
+                    pending.merge(todoId, event.getType(), TodoChangeFeed::latest);
+                }
+                if (pending.size() > maxPending) {
+                    log.warn("More than {} todo changes waiting for the in-memory views, loading them in full", maxPending);
+                    requestLoad(0);
+                    return;
+                }
+            }
+            scheduleApply(0);
+        }
+    }
+
+    /**
+     * Loads every view again from the store; returns once they are loaded, or once loading failed and was
+     * scheduled to be retried.
+     */
+    public void reload() {
+        synchronized (lock) {
+            pending = new LinkedHashMap<>();
+            loadPending = true;
+        }
+        // Runs now rather than joining an apply that may be a delayed retry; that one finds nothing left to do
+        await(feed.submit(this::apply));
+    }
+
+    /**
+     * Returns once every change published so far has been applied, unless applying failed and a full load is
+     * waiting to be retried.
+     */
+    public void awaitApplied() {
+        await(feed.submit(() -> {
+        }));
+    }
+
+    @Override
+    public void destroy() {
+        feed.shutdownNow();
+    }
+
+    private void apply() {
+        Map<Long, TodoChangeType> changes;
+        boolean fullLoad;
+        synchronized (lock) {
+            changes = pending;
+            fullLoad = loadPending;
+            pending = new LinkedHashMap<>();
+            loadPending = false;
+            applyScheduled = false;
+        }
+        try {
+            if (fullLoad) {
+                load();
+            } else {
+                applyChanges(changes);
+            }
+        } catch (RuntimeException e) {
+            // Some views may have taken the changes and others not; only a full load brings them back in step
+            log.error("Could not apply todo changes to the in-memory views, loading them again in {}s",
+                    RETRY_DELAY_SECONDS, e);
+            requestLoad(RETRY_DELAY_SECONDS);
+        }
+    }
+
+    private void applyChanges(Map<Long, TodoChangeType> changes) {
+        Map<TodoChangeType, List<Long>> todoIdsByType = new EnumMap<>(TodoChangeType.class);
+        changes.forEach((todoId, type) -> todoIdsByType.computeIfAbsent(type, key -> new ArrayList<>()).add(todoId));
+        todoIdsByType.forEach((type, todoIds) -> {
+            if (type == TodoChangeType.DELETED) {
+                List<Long> deletedIds = List.copyOf(todoIds);
+                subscribers.forEach(subscriber -> subscriber.remove(deletedIds));
+            } else {
+                reload(type, todoIds);
+            }
+        });
+    }
+
+    private void requestLoad(long delaySeconds) {
+        synchronized (lock) {
+            pending = new LinkedHashMap<>();
+            loadPending = true;
+            scheduleApply(delaySeconds);
+        }
+    }
+
+    // Caller holds lock; changes arriving while an apply is scheduled join it, also when it is a delayed retry
+    private void scheduleApply(long delaySeconds) {
+        if (applyScheduled) {
+            return;
+        }
+        try {
+            feed.schedule(this::apply, delaySeconds, TimeUnit.SECONDS);
+            applyScheduled = true;
+        } catch (RejectedExecutionException e) {
+            // Writes flushed during shutdown arrive after the feed has stopped
+            log.debug("Todo change feed is shut down, change not applied");
+        }
+    }
+
+    // A todo created since the last apply is still new to the views, whatever else happened to it
+    private static TodoChangeType latest(TodoChangeType earlier, TodoChangeType later) {
+        return earlier == TodoChangeType.CREATED && later == TodoChangeType.UPDATED ? earlier : later;
+    }
+
+    private void load() {
+        subscribers.forEach(Subscriber::clear);
+        int loaded = readOnlyTransaction.execute(status -> {
+            List<Todo> chunk = new ArrayList<>(LOAD_CHUNK_SIZE);
+            int count = 0;
+            try (Stream<Todo> todoStream = todoStore.streamAllByOrderByTodoIdAsc()) {
+                for (Todo todo : (Iterable<Todo>) todoStream::iterator) {
+                    todoStore.detach(todo);
+                    chunk.add(todo);
+                    if (chunk.size() == LOAD_CHUNK_SIZE) {
+                        put(chunk);
+                        count += chunk.size();
+                        chunk = new ArrayList<>(LOAD_CHUNK_SIZE);
+                    }
+                }
+            }
+            put(chunk);
+            return count + chunk.size();
+        });
+        subscribers.forEach(Subscriber::loaded);
+        log.info("Loaded {} todos into {} in-memory views", loaded, subscribers.size());
+    }
+
+    // Todos that are gone by the time they are re-read were deleted meanwhile
+    private void reload(TodoChangeType type, List<Long> todoIds) {
+        for (int from = 0; from < todoIds.size(); from += LOAD_CHUNK_SIZE) {
+            List<Long> chunk = todoIds.subList(from, Math.min(from + LOAD_CHUNK_SIZE, todoIds.size()));
+            List<Todo> todos = readOnlyTransaction.execute(status -> todoStore.findAllById(chunk));
+            Set<Long> missing = new LinkedHashSet<>(chunk);
+            todos.forEach(todo -> missing.remove(todo.getTodoId()));
+            if (!todos.isEmpty()) {
+                List<Todo> unmodifiable = List.copyOf(todos);
+                subscribers.forEach(subscriber -> subscriber.changed(type, unmodifiable));
+            }
+            if (!missing.isEmpty()) {
+                subscribers.forEach(subscriber -> subscriber.remove(missing));
+            }
+        }
+    }
+
+    private void put(List<Todo> todos) {
+        if (!todos.isEmpty()) {
+            List<Todo> unmodifiable = List.copyOf(todos);
+            subscribers.forEach(subscriber -> subscriber.put(unmodifiable));
+        }
+    }
+
+    private static void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the todo change feed", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
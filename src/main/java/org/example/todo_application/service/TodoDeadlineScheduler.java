@@ -0,0 +1,128 @@
+package org.example.todo_application.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.todo_application.entity.Todo;
+import org.example.todo_application.event.TodoDeadlineEvent;
+import org.example.todo_application.event.TodoDeadlineType;
+import org.example.todo_application.metrics.TodoMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes a {@link TodoDeadlineEvent} when unfinished todos become due soon, {@code todo.deadline.due-soon-days}
+ * before their deadline, and when they become overdue, the day after it.
+ * <p>
+ * Deadlines come from the {@link TodoChangeFeed}, so the timers follow every committed save, deadline change,
+ * status change and delete without querying the store; they are kept in a {@link DeadlineTimingWheel}. Every
+ * {@code todo.deadline.tick-interval} the wheel is moved to the current date. Deadlines already passed when the
+ * todos are loaded at startup are not announced again; a todo that gets a deadline or is reopened after its
+ * due-soon day is announced at the next tick.
+ */
+@Slf4j
+@Component
+public class TodoDeadlineScheduler implements TodoChangeFeed.Subscriber, DisposableBean {
+    private static final int EVENT_CHUNK_SIZE = 1000;
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final int dueSoonDays;
+    private final ScheduledExecutorService ticker;
+
+    // Guarded by this
+    private final DeadlineTimingWheel timingWheel = new DeadlineTimingWheel(LocalDate.now().toEpochDay());
+    private boolean loading;
+
+    public TodoDeadlineScheduler(ApplicationEventPublisher eventPublisher,
+                                 @Value("${todo.deadline.due-soon-days:1}") int dueSoonDays,
+                                 @Value("${todo.deadline.tick-interval:1m}") Duration tickInterval) {
+        this.eventPublisher = eventPublisher;
+        this.dueSoonDays = dueSoonDays;
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "todo-deadline-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalNanos = tickInterval.toNanos();
+        ticker.scheduleWithFixedDelay(this::tick, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Fires the timers due up to {@code today} and publishes their events, due soon before overdue.
+     */
+    public void advanceTo(LocalDate today) {
+        List<Long> dueSoon = new ArrayList<>();
+        List<Long> overdue = new ArrayList<>();
+        synchronized (this) {
+            timingWheel.advanceTo(today.toEpochDay(),
+                    (type, todoId) -> (type == TodoDeadlineType.DUE_SOON ? dueSoon : overdue).add(todoId));
+        }
+        publish(TodoDeadlineType.DUE_SOON, dueSoon);
+        publish(TodoDeadlineType.OVERDUE, overdue);
+    }
+
+    public synchronized int size() {
+        return timingWheel.size();
+    }
+
+    @Override
+    public synchronized void clear() {
+        timingWheel.clear(timingWheel.currentDay());
+        loading = true;
+    }
+
+    @Override
+    public synchronized void loaded() {
+        loading = false;
+    }
+
+    @Override
+    public synchronized void put(List<Todo> todos) {
+        for (Todo todo : todos) {
+            if (todo.isDone() || todo.getDeadline() == null) {
+                timingWheel.cancel(todo.getTodoId());
+            } else {
+                long deadlineDay = todo.getDeadline().toEpochDay();
+                timingWheel.schedule(todo.getTodoId(), deadlineDay, deadlineDay - dueSoonDays, !loading);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void remove(Collection<Long> todoIds) {
+        todoIds.forEach(timingWheel::cancel);
+    }
+
+    @Override
+    public void destroy() {
+        ticker.shutdownNow();
+    }
+
+    private void tick() {
+        try {
+            advanceTo(LocalDate.now());
+        } catch (RuntimeException e) {
+            log.error("Could not publish todo deadline events", e);
+        }
+    }
+
+    private void publish(TodoDeadlineType type, List<Long> todoIds) {
+        for (int from = 0; from < todoIds.size(); from += EVENT_CHUNK_SIZE) {
+            List<Long> chunk = List.copyOf(todoIds.subList(from, Math.min(from + EVENT_CHUNK_SIZE, todoIds.size())));
+            eventPublisher.publishEvent(new TodoDeadlineEvent(type, chunk));
+        }
+        if (!todoIds.isEmpty()) {
+            log.info("{} todos became {}", todoIds.size(), type);
+            TodoMetrics.deadlineEvents(type.name(), todoIds.size());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.todo_application.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.todo_application.config.CacheConfig;
+import org.example.todo_application.event.TodoChangedEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks a version of the todo list that changes after every committed write. The version backs
+ * the list ETags and is part of every cached list key, so a read that loaded its rows before a write
+ * committed can only cache them under the old version, which no later request asks for. Entries of
+ * old versions are evicted once the version has moved. The counter is local to this instance.
+ */
+@Component
+@RequiredArgsConstructor
+public class TodoListChangeTracker {
+    // Part of every ETag so tags handed out before a restart never match ones handed out after it
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong version = new AtomicLong();
+    private final ObjectProvider<CacheManager> cacheManager;
+
+    public String currentETag() {
+        return "\"" + epoch + "-" + version.get() + "\"";
+    }
+
+    public long currentVersion() {
+        return version.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        listChanged();
+    }
+
+    /**
+     * Moves the version for a change the list shows without a committed write, such as an edit waiting in the
+     * write-behind buffer, which list reads overlay on the stored rows.
+     */
+    public void listChanged() {
+        version.incrementAndGet();
+        cacheManager.ifAvailable(manager -> {
+            evict(manager.getCache(CacheConfig.TODO_LIST_CACHE));
+            evict(manager.getCache(CacheConfig.TODO_PAGE_CACHE));
+        });
+    }
+
+    private static void evict(Cache cache) {
+        if (cache != null) {
+            cache.invalidate();
+        }
+    }
+}
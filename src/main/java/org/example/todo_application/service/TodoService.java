@@ -1,81 +1,360 @@
 package org.example.todo_application.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.example.todo_application.config.CacheConfig;
+import org.example.todo_application.dto.TodoFieldUpdateDto;
+import org.example.todo_application.dto.TodoFilterDto;
 import org.example.todo_application.dto.TodoFrontendDto;
+import org.example.todo_application.dto.TodoPageDto;
 import org.example.todo_application.dto.TodoSaveDto;
+import org.example.todo_application.dto.TodoSummaryDto;
 import org.example.todo_application.entity.Priority;
 import org.example.todo_application.entity.Todo;
+import org.example.todo_application.event.TodoChangeType;
+import org.example.todo_application.event.TodoChangedEvent;
 import org.example.todo_application.exception.DeadlineCannotBeInPastException;
+import org.example.todo_application.exception.InvalidCursorException;
+import org.example.todo_application.exception.TodoNotFoundException;
 import org.example.todo_application.mapper.TodoMapper;
-import org.example.todo_application.repository.TodoRepository;
+import org.example.todo_application.metrics.TodoMetrics;
+import org.example.todo_application.repository.TodoStore;
+import org.example.todo_application.search.TodoSearchIndex;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 
+// Every public operation is timed as todo.service{class,method} with a percentile histogram
 @Service
 @RequiredArgsConstructor
+@Timed(value = TodoMetrics.SERVICE_TIMER, histogram = true)
 public class TodoService {
-    private final TodoRepository todoRepository;
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int SAVE_CHUNK_SIZE = Todo.ID_ALLOCATION_SIZE;
+    public static final int BULK_CHUNK_SIZE = 1000;
+
+    private final TodoStore todoStore;
     private final TodoMapper todoMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TodoListChangeTracker todoListChangeTracker;
+    private final TransactionTemplate transactionTemplate;
+    private final TodoWriteBehindBuffer todoWriteBehindBuffer;
+    private final TodoSearchIndex todoSearchIndex;
+    private final TodoSummaryCounters todoSummaryCounters;
 
+    @UsesConnection
     public Todo saveTodo(TodoSaveDto todoSaveDto) {
-        if (todoSaveDto.getDeadline() != null && todoSaveDto.getDeadline().isBefore(LocalDate.now())) {
-            throw new DeadlineCannotBeInPastException("Deadline cannot be in past");
+        validateDeadline(todoSaveDto);
+        Todo savedTodo = todoStore.save(toEntity(todoSaveDto));
+        eventPublisher.publishEvent(new TodoChangedEvent(TodoChangeType.CREATED, List.of(savedTodo.getTodoId())));
+        return savedTodo;
+    }
+
+    /**
+     * Saves all todos in one transaction. Every deadline is checked before anything is written, so the
+     * batch is stored completely or not at all. Inserts are flushed in chunks of {@value #SAVE_CHUNK_SIZE}
+     * to match the JDBC batch size, and each flushed chunk is cleared from the persistence context.
+     */
+    @Transactional
+    @UsesConnection
+    public List<Long> saveTodos(List<TodoSaveDto> todoSaveDtos) {
+        todoSaveDtos.forEach(TodoService::validateDeadline);
+        List<Long> todoIds = new ArrayList<>(todoSaveDtos.size());
+        for (int from = 0; from < todoSaveDtos.size(); from += SAVE_CHUNK_SIZE) {
+            List<Todo> chunk = todoSaveDtos.subList(from, Math.min(from + SAVE_CHUNK_SIZE, todoSaveDtos.size()))
+                    .stream()
+                    .map(TodoService::toEntity)
+                    .collect(Collectors.toList());
+            todoStore.saveAll(chunk).forEach(todo -> todoIds.add(todo.getTodoId()));
+            todoStore.flushAndClear();
         }
-        Todo todo = Todo.builder()
-                .name(todoSaveDto.getName())
-                .isDone(todoSaveDto.isDone())
-                .deadline(todoSaveDto.getDeadline())
-                .priority(todoSaveDto.getPriority())
-                .build();
-        return todoRepository.save(todo);
+        eventPublisher.publishEvent(new TodoChangedEvent(TodoChangeType.CREATED, todoIds));
+        return todoIds;
+    }
+
+    /**
+     * ETag for the current state of the todo list; it changes after every committed write.
+     */
+    public String getTodoListETag() {
+        return todoListChangeTracker.currentETag();
     }
 
+    @Cacheable(cacheNames = CacheConfig.TODO_LIST_CACHE, keyGenerator = CacheConfig.TODO_LIST_KEY_GENERATOR)
+    @Transactional(readOnly = true)
+    @UsesConnection
     public List<TodoFrontendDto> getFrontedTodoDtoList() {
-        List<Todo> todoList = todoRepository.findAll();
-        return todoList.stream()
+        List<TodoFrontendDto> todoList = todoStore.findAllFrontendDtos();
+        todoWriteBehindBuffer.overlay(todoList);
+        return todoList;
+    }
+
+    /**
+     * Returns at most {@code pageSize} todos ordered by id, starting after the position encoded in {@code cursor}.
+     * A null or empty cursor starts from the beginning. The page size is clamped to 1..{@value #MAX_PAGE_SIZE}.
+     */
+    @Cacheable(cacheNames = CacheConfig.TODO_PAGE_CACHE, keyGenerator = CacheConfig.TODO_LIST_KEY_GENERATOR)
+    @Transactional(readOnly = true)
+    @UsesConnection
+    public TodoPageDto getFrontendTodoPage(String cursor, int pageSize) {
+        int size = Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+        // One extra row tells us whether there is a next page without a separate count query
+        List<TodoFrontendDto> todoList = todoStore.findFrontendDtosAfter(decodeCursor(cursor), Limit.of(size + 1));
+        boolean hasNext = todoList.size() > size;
+        List<TodoFrontendDto> todos = hasNext ? new ArrayList<>(todoList.subList(0, size)) : todoList;
+        todoWriteBehindBuffer.overlay(todos);
+        String nextCursor = hasNext ? encodeCursor(todos.get(size - 1).getTodoId()) : null;
+        return new TodoPageDto(todos, nextCursor);
+    }
+
+    /**
+     * Returns at most {@code limit} todos with an id above {@code afterTodoId}, ordered by id; the limit is clamped
+     * to 1..{@value #MAX_PAGE_SIZE}. Unlike {@link #getFrontendTodoPage} it is not cached, so readers that walk the
+     * whole table do not push the list pages out of the cache.
+     */
+    @Transactional(readOnly = true)
+    @UsesConnection
+    public List<TodoFrontendDto> getFrontendTodosAfter(long afterTodoId, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<TodoFrontendDto> todos = new ArrayList<>(todoStore.findFrontendDtosAfter(afterTodoId, Limit.of(size)));
+        todoWriteBehindBuffer.overlay(todos);
+        return todos;
+    }
+
+    @Transactional(readOnly = true)
+    @UsesConnection
+    public TodoFrontendDto getFrontendTodo(Long todoId) {
+        List<TodoFrontendDto> todos = todoStore.findAllById(List.of(todoId)).stream()
                 .map(todoMapper::entityToFrontEndDto)
                 .collect(Collectors.toList());
+        requireFound(todos.size());
+        todoWriteBehindBuffer.overlay(todos);
+        return todos.get(0);
+    }
+
+    /**
+     * Returns one page of todos matching {@code filter}, sorted by its sort field with the id as tie-breaker.
+     * Todos without a deadline or priority are always sorted last. The page size is clamped to 1..{@value #MAX_PAGE_SIZE}.
+     */
+    @UsesConnection
+    public List<TodoFrontendDto> getFilteredFrontendTodoDtoList(TodoFilterDto filter, int page, int pageSize) {
+        int size = Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+        // Buffered edits can change which todos match and in what order, so they are written first,
+        // before the read's own transaction holds a connection
+        todoWriteBehindBuffer.flush();
+        return transactionTemplate.execute(status -> todoStore.findFiltered(filter, Math.max(page, 0), size).stream()
+                .map(todoMapper::entityToFrontEndDto)
+                .collect(Collectors.toList()));
     }
 
-    public Todo updateTodoName(Long todoId, String newName) {
-        Todo todo = todoRepository.findById(todoId)
-                .orElseThrow(() -> new RuntimeException("Todo not found"));
-        todo.setName(newName);
-        return todoRepository.save(todo);
+    /**
+     * Returns one page of todos whose names match {@code query}, best match first; see {@link TodoSearchIndex}
+     * for how names are matched and ranked. The page size is clamped to 1..{@value #MAX_PAGE_SIZE}.
+     * Matching uses the written names, so a rename still waiting in the write-behind buffer is found once written.
+     */
+    @Transactional(readOnly = true)
+    @UsesConnection
+    public List<TodoFrontendDto> searchTodos(String query, int page, int pageSize) {
+        int size = Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+        List<Long> todoIds = todoSearchIndex.search(query, Math.max(page, 0), size);
+        if (todoIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Todo> todosById = todoStore.findAllById(todoIds).stream()
+                .collect(Collectors.toMap(Todo::getTodoId, Function.identity()));
+        // Keeps the ranked order; a todo deleted after the index was searched is left out
+        List<TodoFrontendDto> todos = new ArrayList<>(todoIds.size());
+        for (Long todoId : todoIds) {
+            Todo todo = todosById.get(todoId);
+            if (todo != null) {
+                todos.add(todoMapper.entityToFrontEndDto(todo));
+            }
+        }
+        todoWriteBehindBuffer.overlay(todos);
+        return todos;
     }
 
-    public Todo changeTodoIsDoneStatus(Long todoId) {
-        Todo todo = todoRepository.findById(todoId)
-                .orElseThrow(() -> new RuntimeException("Todo not found"));
-        todo.changeIsDoneStatus();
-        return todoRepository.save(todo);
+    /**
+     * Returns the todo counts by status, priority and overdue deadline without querying the store; see
+     * {@link TodoSummaryCounters}. Like search, they follow written todos, so edits still waiting in the
+     * write-behind buffer are counted once written.
+     */
+    public TodoSummaryDto getTodoSummary() {
+        return todoSummaryCounters.summary();
     }
 
-    public Todo updateTodoDeadline(Long todoId, LocalDate newLocalDate) {
+    @UsesConnection
+    public void updateTodoName(Long todoId, String newName) {
+        updateFields(TodoFieldUpdateDto.builder().todoId(todoId).nameChanged(true).name(newName).build(),
+                () -> todoStore.updateName(todoId, newName));
+    }
+
+    @Transactional
+    @UsesConnection
+    public void changeTodoIsDoneStatus(Long todoId) {
+        requireFound(todoStore.toggleIsDone(todoId));
+        eventPublisher.publishEvent(new TodoChangedEvent(TodoChangeType.UPDATED, List.of(todoId)));
+    }
+
+    @UsesConnection
+    public void updateTodoDeadline(Long todoId, LocalDate newLocalDate) {
         if (newLocalDate != null && newLocalDate.isBefore(LocalDate.now())) {
+            TodoMetrics.validationFailed(TodoMetrics.DEADLINE_IN_PAST);
             throw new DeadlineCannotBeInPastException("Deadline cannot be in past");
         }
-        Todo todo = todoRepository.findById(todoId)
-                .orElseThrow(() -> new RuntimeException("Todo not found"));
-        todo.setDeadline(newLocalDate);
-        return todoRepository.save(todo);
+        updateFields(TodoFieldUpdateDto.builder().todoId(todoId).deadlineChanged(true).deadline(newLocalDate).build(),
+                () -> todoStore.updateDeadline(todoId, newLocalDate));
     }
 
-    public Todo updateTodoPriority(Long todoId, Priority newPriority) {
-        Todo todo = todoRepository.findById(todoId)
-                .orElseThrow(() -> new RuntimeException("Todo not found"));
-        todo.setPriority(newPriority);
-        return todoRepository.save(todo);
+    @UsesConnection
+    public void updateTodoPriority(Long todoId, Priority newPriority) {
+        updateFields(TodoFieldUpdateDto.builder().todoId(todoId).priorityChanged(true).priority(newPriority).build(),
+                () -> todoStore.updatePriority(todoId, newPriority));
     }
 
+    @Transactional
+    @UsesConnection
     public void deleteTodo(Long todoId) {
-        Todo todo = todoRepository.findById(todoId)
-                .orElseThrow(() -> new RuntimeException("Todo not found"));
-        todoRepository.delete(todo);
+        requireFound(todoStore.deleteByTodoId(todoId));
+        todoWriteBehindBuffer.discard(todoId);
+        eventPublisher.publishEvent(new TodoChangedEvent(TodoChangeType.DELETED, List.of(todoId)));
+    }
 
+    /**
+     * Marks the given todos as finished or not finished and returns how many were changed.
+     * Unknown ids are ignored. Large id sets are processed in chunks of {@value #BULK_CHUNK_SIZE},
+     * each in its own transaction, so row locks are held only briefly.
+     */
+    @UsesConnection
+    public int changeTodosIsDoneStatus(Collection<Long> todoIds, boolean isDone) {
+        return inChunks(todoIds, TodoChangeType.UPDATED, chunk -> todoStore.updateIsDoneIn(chunk, isDone));
+    }
+
+    /**
+     * Sets (or clears, when {@code priority} is null) the priority of the given todos; chunked like
+     * {@link #changeTodosIsDoneStatus}.
+     */
+    @UsesConnection
+    public int updateTodosPriority(Collection<Long> todoIds, Priority priority) {
+        return inChunks(todoIds, TodoChangeType.UPDATED, chunk -> todoStore.updatePriorityIn(chunk, priority));
+    }
+
+    /**
+     * Deletes the given todos and returns how many were deleted; chunked like {@link #changeTodosIsDoneStatus}.
+     */
+    @UsesConnection
+    public int deleteTodos(Collection<Long> todoIds) {
+        return inChunks(todoIds, TodoChangeType.DELETED, todoStore::deleteByTodoIdIn);
+    }
+
+    /**
+     * Deletes every finished todo, {@value #BULK_CHUNK_SIZE} at a time with one transaction per chunk,
+     * and returns how many were deleted.
+     */
+    @UsesConnection
+    public int deleteCompletedTodos() {
+        todoWriteBehindBuffer.flush();
+        int deletedRows = 0;
+        int chunkRows;
+        do {
+            chunkRows = transactionTemplate.execute(status -> {
+                List<Long> todoIds = todoStore.findCompletedTodoIds(Limit.of(BULK_CHUNK_SIZE));
+                if (todoIds.isEmpty()) {
+                    return 0;
+                }
+                int affectedRows = todoStore.deleteByTodoIdIn(todoIds);
+                eventPublisher.publishEvent(new TodoChangedEvent(TodoChangeType.DELETED, todoIds));
+                return affectedRows;
+            });
+            deletedRows += chunkRows;
+        } while (chunkRows == BULK_CHUNK_SIZE);
+        return deletedRows;
+    }
+
+    private int inChunks(Collection<Long> todoIds, TodoChangeType changeType, ToIntFunction<List<Long>> statement) {
+        // A buffered edit written after the bulk statement would undo it
+        todoWriteBehindBuffer.flush();
+        List<Long> distinctIds = todoIds.stream().distinct().collect(Collectors.toList());
+        int affectedRows = 0;
+        for (int from = 0; from < distinctIds.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + BULK_CHUNK_SIZE, distinctIds.size()));
+            affectedRows += transactionTemplate.execute(status -> {
+                int chunkRows = statement.applyAsInt(chunk);
+                eventPublisher.publishEvent(new TodoChangedEvent(changeType, List.copyOf(chunk)));
+                return chunkRows;
+            });
+        }
+        return affectedRows;
+    }
+
+    // Queues the edit when write-behind is on, otherwise runs the single-field update right away in its own
+    // transaction. Queuing may flush a full buffer, so it runs outside any transaction of the caller.
+    // A queued edit is not published: the in-memory views re-read the stored row, which only the flush changes,
+    // and the flush publishes it. Only the list version moves, since list reads show the queued edit
+    private void updateFields(TodoFieldUpdateDto update, IntSupplier directUpdate) {
+        if (todoWriteBehindBuffer.isEnabled()) {
+            requireFound(todoWriteBehindBuffer.enqueue(update) ? 1 : 0);
+            todoListChangeTracker.listChanged();
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            requireFound(directUpdate.getAsInt());
+            eventPublisher.publishEvent(new TodoChangedEvent(TodoChangeType.UPDATED, List.of(update.getTodoId())));
+        });
+    }
+
+    private static void validateDeadline(TodoSaveDto todoSaveDto) {
+        if (todoSaveDto.getDeadline() != null && todoSaveDto.getDeadline().isBefore(LocalDate.now())) {
+            TodoMetrics.validationFailed(TodoMetrics.DEADLINE_IN_PAST);
+            throw new DeadlineCannotBeInPastException("Deadline cannot be in past");
+        }
+    }
+
+    private static Todo toEntity(TodoSaveDto todoSaveDto) {
+        return Todo.builder()
+                .name(todoSaveDto.getName())
+                .isDone(todoSaveDto.isDone())
+                .deadline(todoSaveDto.getDeadline())
+                .priority(todoSaveDto.getPriority())
+                .build();
+    }
+
+    private static void requireFound(int affectedRows) {
+        if (affectedRows == 0) {
+            TodoMetrics.notFound();
+            throw new TodoNotFoundException("Todo not found");
+        }
+    }
+
+    private static String encodeCursor(Long todoId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(todoId.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
     }
 }
@@ -0,0 +1,71 @@
+package org.example.todo_application.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.example.todo_application.exception.ServiceBusyException;
+import org.example.todo_application.metrics.TodoMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits concurrent TodoService calls that take a pooled connection, those marked {@link UsesConnection}, to the
+ * size of the connection pool. On virtual threads nothing else bounds concurrency, and without this limit
+ * thousands of requests would queue inside Hikari, each holding its request open until the pool's connection
+ * timeout. Here they wait in a fair semaphore for at most {@code todo.bulkhead.max-wait} and are then rejected
+ * with {@link ServiceBusyException} (503). Each call holds one connection at most, so a permit stands for one.
+ * <p>
+ * Ordered right after the cache, so a cache hit takes no permit and the permit is taken before a transaction asks
+ * for a connection. Background work such as the change feed and write-behind flushes is not limited and briefly
+ * competes for the same pool.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "todo.bulkhead.enabled", havingValue = "true")
+public class TodoServiceBulkhead {
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+
+    public TodoServiceBulkhead(@Value("${todo.bulkhead.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+                               @Value("${todo.bulkhead.max-wait:5s}") Duration maxWait) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxWaitNanos = maxWait.toNanos();
+        log.info("TodoService calls limited to {} at a time", maxConcurrent);
+    }
+
+    @Around("execution(public * org.example.todo_application.service.TodoService.*(..)) && @annotation(org.example.todo_application.service.UsesConnection)")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        long startNanos = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted while waiting for the database");
+        }
+        TodoMetrics.bulkheadWaited(System.nanoTime() - startNanos);
+        if (!acquired) {
+            TodoMetrics.bulkheadRejected();
+            throw new ServiceBusyException("Too many concurrent requests, please try again later");
+        }
+        try {
+            return joinPoint.proceed();
+        } finally {
+            permits.release();
+        }
+    }
+
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+}
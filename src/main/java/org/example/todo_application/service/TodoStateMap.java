@@ -0,0 +1,108 @@
+package org.example.todo_application.service;
+
+/**
+ * Map from todo id to a packed state or an index on two primitive arrays (open addressing, linear probing), so a million
+ * todos take a few tens of megabytes instead of the boxed entries of a HashMap. Ids must be positive.
+ * Not thread-safe.
+ */
+final class TodoStateMap {
+    static final long ABSENT = Long.MIN_VALUE;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys = new long[MIN_CAPACITY];
+    private long[] values = new long[MIN_CAPACITY];
+    private int size;
+
+    /**
+     * Sets the state of {@code todoId} and returns the previous one, or {@link #ABSENT}.
+     */
+    long put(long todoId, long state) {
+        if ((size + 1) * 4L > keys.length * 3L) {
+            resize(keys.length * 2);
+        }
+        int slot = slot(todoId);
+        while (keys[slot] != 0) {
+            if (keys[slot] == todoId) {
+                long previous = values[slot];
+                values[slot] = state;
+                return previous;
+            }
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        keys[slot] = todoId;
+        values[slot] = state;
+        size++;
+        return ABSENT;
+    }
+
+    /**
+     * Returns the state of {@code todoId}, or {@link #ABSENT}.
+     */
+    long get(long todoId) {
+        int slot = slot(todoId);
+        while (keys[slot] != todoId) {
+            if (keys[slot] == 0) {
+                return ABSENT;
+            }
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        return values[slot];
+    }
+
+    /**
+     * Removes {@code todoId} and returns its state, or {@link #ABSENT}.
+     */
+    long remove(long todoId) {
+        int mask = keys.length - 1;
+        int slot = slot(todoId);
+        while (keys[slot] != todoId) {
+            if (keys[slot] == 0) {
+                return ABSENT;
+            }
+            slot = (slot + 1) & mask;
+        }
+        long previous = values[slot];
+        // Moves later entries of the probe run back, so lookups never stop early at the freed slot
+        int free = slot;
+        for (int next = (free + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+            int home = slot(keys[next]);
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                keys[free] = keys[next];
+                values[free] = values[next];
+                free = next;
+            }
+        }
+        keys[free] = 0;
+        values[free] = 0;
+        size--;
+        return previous;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        keys = new long[MIN_CAPACITY];
+        values = new long[MIN_CAPACITY];
+        size = 0;
+    }
+
+    private int slot(long todoId) {
+        long hash = todoId * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & (keys.length - 1);
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[capacity];
+        values = new long[capacity];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+}
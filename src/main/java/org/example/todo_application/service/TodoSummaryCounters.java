@@ -0,0 +1,264 @@
+package org.example.todo_application.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.todo_application.dto.TodoCountDto;
+import org.example.todo_application.dto.TodoSummaryDto;
+import org.example.todo_application.entity.Priority;
+import org.example.todo_application.entity.Todo;
+import org.example.todo_application.metrics.TodoMetrics;
+import org.example.todo_application.repository.TodoStore;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Todo counts by status, priority and overdue deadline, read in constant time.
+ * <p>
+ * The counts are maintained incrementally from the {@link TodoChangeFeed}: for every written todo the state it
+ * had before, remembered in a compact id-to-state map, is counted out and its committed state counted in.
+ * Overdue todos come from a histogram of unfinished todos by deadline that rolls forward when the date changes.
+ * <p>
+ * Every {@code todo.summary.reconcile-interval} the counts are compared with GROUP BY queries. A difference that
+ * is still the same when checked again {@value #RECHECK_DELAY_SECONDS} seconds later, such as one left by writes
+ * made through another instance, is kept as a correction on top of the incremental counts.
+ */
+@Slf4j
+@Component
+public class TodoSummaryCounters implements TodoChangeFeed.Subscriber, DisposableBean {
+    static final int RECHECK_DELAY_SECONDS = 5;
+    private static final Priority[] PRIORITIES = Priority.values();
+    // Count indexes; the priority counts follow NO_PRIORITY in ordinal order, overdue is only corrected
+    private static final int OPEN = 0;
+    private static final int FINISHED = 1;
+    private static final int NO_PRIORITY = 2;
+    private static final int COUNTS = NO_PRIORITY + 1 + PRIORITIES.length;
+    private static final int OVERDUE = COUNTS;
+    // Packed todo state: finished flag, priority (0 = none, else ordinal + 1), deadline flag, deadline epoch day
+    private static final long FINISHED_BIT = 1;
+    private static final int PRIORITY_SHIFT = 1;
+    private static final long PRIORITY_MASK = 0b11;
+    private static final long DEADLINE_BIT = 1 << 3;
+    private static final int DEADLINE_SHIFT = 4;
+
+    private final TodoStore todoStore;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ScheduledExecutorService reconciler;
+
+    // Guarded by lock; counts are also read without it
+    private final Object lock = new Object();
+    private final TodoStateMap states = new TodoStateMap();
+    private final AtomicLongArray counts = new AtomicLongArray(COUNTS);
+    private final TreeMap<Long, Long> openByDeadline = new TreeMap<>();
+    private long overdue;
+    private long overdueDay = LocalDate.now().toEpochDay();
+
+    private final AtomicLongArray corrections = new AtomicLongArray(COUNTS + 1);
+    // Guarded by this
+    private long[] suspectedDifference;
+
+    public TodoSummaryCounters(TodoStore todoStore,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${todo.summary.reconcile-interval:5m}") Duration reconcileInterval) {
+        this.todoStore = todoStore;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "todo-summary-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalNanos = reconcileInterval.toNanos();
+        reconciler.scheduleWithFixedDelay(this::scheduledReconcile, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public TodoSummaryDto summary() {
+        long overdueTodos;
+        synchronized (lock) {
+            overdueTodos = overdueOn(LocalDate.now().toEpochDay());
+        }
+        long open = count(OPEN);
+        long finished = count(FINISHED);
+        return new TodoSummaryDto(open + finished, open, finished, overdueTodos + corrections.get(OVERDUE),
+                count(NO_PRIORITY), priorityCount(Priority.LOW), priorityCount(Priority.MEDIUM), priorityCount(Priority.HIGH));
+    }
+
+    /**
+     * Compares the counts with the store. A difference is kept as a correction once the same difference has been
+     * seen twice in a row, since a single one may come from writes that are committed but not applied yet.
+     *
+     * @return whether the counts were corrected
+     */
+    public synchronized boolean reconcile() {
+        LocalDate today = LocalDate.now();
+        long[] actual = readOnlyTransaction.execute(status -> actualCounts(today));
+        long[] difference = new long[COUNTS + 1];
+        synchronized (lock) {
+            for (int i = 0; i < COUNTS; i++) {
+                difference[i] = actual[i] - counts.get(i) - corrections.get(i);
+            }
+            difference[OVERDUE] = actual[OVERDUE] - overdueOn(today.toEpochDay()) - corrections.get(OVERDUE);
+        }
+        if (Arrays.stream(difference).allMatch(value -> value == 0)) {
+            suspectedDifference = null;
+            return false;
+        }
+        if (!Arrays.equals(difference, suspectedDifference)) {
+            suspectedDifference = difference;
+            return false;
+        }
+        suspectedDifference = null;
+        for (int i = 0; i < difference.length; i++) {
+            corrections.addAndGet(i, difference[i]);
+        }
+        log.info("Corrected todo summary counts by {}", Arrays.toString(difference));
+        TodoMetrics.summaryCorrected();
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        synchronized (lock) {
+            states.clear();
+            for (int i = 0; i < COUNTS; i++) {
+                counts.set(i, 0);
+            }
+            openByDeadline.clear();
+            overdue = 0;
+        }
+        // The load that follows counts every todo, so earlier corrections no longer apply
+        for (int i = 0; i < corrections.length(); i++) {
+            corrections.set(i, 0);
+        }
+    }
+
+    @Override
+    public void put(List<Todo> todos) {
+        synchronized (lock) {
+            for (Todo todo : todos) {
+                long state = pack(todo);
+                long previous = states.put(todo.getTodoId(), state);
+                if (previous != state) {
+                    if (previous != TodoStateMap.ABSENT) {
+                        count(previous, -1);
+                    }
+                    count(state, 1);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void remove(Collection<Long> todoIds) {
+        synchronized (lock) {
+            for (Long todoId : todoIds) {
+                long previous = states.remove(todoId);
+                if (previous != TodoStateMap.ABSENT) {
+                    count(previous, -1);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        reconciler.shutdownNow();
+    }
+
+    private void scheduledReconcile() {
+        try {
+            reconcile();
+            if (hasSuspectedDifference()) {
+                reconciler.schedule(this::recheck, RECHECK_DELAY_SECONDS, TimeUnit.SECONDS);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not reconcile the todo summary counts", e);
+        }
+    }
+
+    private void recheck() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn("Could not reconcile the todo summary counts", e);
+        }
+    }
+
+    private synchronized boolean hasSuspectedDifference() {
+        return suspectedDifference != null;
+    }
+
+    private long[] actualCounts(LocalDate today) {
+        long[] actual = new long[COUNTS + 1];
+        for (TodoCountDto todoCount : todoStore.countByStatusAndPriority()) {
+            actual[todoCount.isDone() ? FINISHED : OPEN] += todoCount.getCount();
+            actual[priorityIndex(todoCount.getPriority())] += todoCount.getCount();
+        }
+        actual[OVERDUE] = todoStore.countOverdue(today);
+        return actual;
+    }
+
+    // Caller holds lock
+    private void count(long state, int delta) {
+        boolean finished = (state & FINISHED_BIT) != 0;
+        counts.addAndGet(finished ? FINISHED : OPEN, delta);
+        counts.addAndGet(NO_PRIORITY + (int) ((state >>> PRIORITY_SHIFT) & PRIORITY_MASK), delta);
+        if (!finished && (state & DEADLINE_BIT) != 0) {
+            long deadlineDay = state >> DEADLINE_SHIFT;
+            openByDeadline.merge(deadlineDay, (long) delta, (current, change) -> current + change == 0 ? null : current + change);
+            if (deadlineDay < overdueDay) {
+                overdue += delta;
+            }
+        }
+    }
+
+    // Caller holds lock; moves the overdue count to another day by the todos due in between
+    private long overdueOn(long today) {
+        if (today > overdueDay) {
+            for (long dueTodos : openByDeadline.subMap(overdueDay, true, today, false).values()) {
+                overdue += dueTodos;
+            }
+        } else if (today < overdueDay) {
+            for (long dueTodos : openByDeadline.subMap(today, true, overdueDay, false).values()) {
+                overdue -= dueTodos;
+            }
+        }
+        overdueDay = today;
+        return overdue;
+    }
+
+    private long count(int index) {
+        return counts.get(index) + corrections.get(index);
+    }
+
+    private long priorityCount(Priority priority) {
+        return count(priorityIndex(priority));
+    }
+
+    private static int priorityIndex(Priority priority) {
+        return priority == null ? NO_PRIORITY : NO_PRIORITY + 1 + priority.ordinal();
+    }
+
+    private static long pack(Todo todo) {
+        long state = todo.isDone() ? FINISHED_BIT : 0;
+        if (todo.getPriority() != null) {
+            state |= (long) (todo.getPriority().ordinal() + 1) << PRIORITY_SHIFT;
+        }
+        if (todo.getDeadline() != null) {
+            state |= DEADLINE_BIT | todo.getDeadline().toEpochDay() << DEADLINE_SHIFT;
+        }
+        return state;
+    }
+}
@@ -0,0 +1,254 @@
+package org.example.todo_application.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.todo_application.dto.TodoFieldUpdateDto;
+import org.example.todo_application.dto.TodoFrontendDto;
+import org.example.todo_application.event.TodoChangeType;
+import org.example.todo_application.event.TodoChangedEvent;
+import org.example.todo_application.exception.ServiceBusyException;
+import org.example.todo_application.mapper.TodoMapper;
+import org.example.todo_application.metrics.TodoMetrics;
+import org.example.todo_application.repository.TodoStore;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opt-in write-behind for name, deadline and priority edits ({@code todo.write-behind.enabled}).
+ * <p>
+ * Edits are merged per todo in memory, so a burst of changes to one todo becomes a single row update, and all
+ * waiting todos are written as one JDBC batch. A flush happens at most {@code todo.write-behind.max-delay} after
+ * the first waiting edit, right away once {@code todo.write-behind.max-pending} todos have edits waiting, and on
+ * shutdown. Flushes run one at a time in their own transaction; edits of a failed flush are kept for the next one.
+ * Callers flush before they open a transaction of their own, so a flush never waits for a second pooled connection
+ * while its caller holds one.
+ * No more than {@code max-pending} todos ever wait: beyond that, edits are refused with {@link ServiceBusyException}
+ * until the waiting ones could be written.
+ * <p>
+ * Until an edit is written, TodoService overlays it on what it reads, so callers see their changes immediately.
+ * Queries that filter or sort on the edited fields and bulk writes flush first instead.
+ * The {@link TodoChangedEvent} of an edit is published by the flush that writes it, so the in-memory views that
+ * re-read changed todos never see it before it is stored.
+ */
+@Slf4j
+@Component
+public class TodoWriteBehindBuffer implements DisposableBean {
+    private final TodoStore todoStore;
+    private final TodoMapper todoMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration maxDelay;
+    private final int maxPending;
+    private final ScheduledExecutorService scheduler;
+
+    // Guarded by lock; edits being written stay visible to reads until their transaction has committed
+    private final Object lock = new Object();
+    private Map<Long, TodoFieldUpdateDto> pending = new HashMap<>();
+    private Map<Long, TodoFieldUpdateDto> inFlight = Map.of();
+    private ScheduledFuture<?> scheduledFlush;
+
+    // Keeps flushes in order, so an older edit can never be written after a newer one
+    private final Object flushLock = new Object();
+
+    public TodoWriteBehindBuffer(TodoStore todoStore,
+                                 TodoMapper todoMapper,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${todo.write-behind.enabled:false}") boolean enabled,
+                                 @Value("${todo.write-behind.max-delay:500ms}") Duration maxDelay,
+                                 @Value("${todo.write-behind.max-pending:1000}") int maxPending) {
+        this.todoStore = todoStore;
+        this.todoMapper = todoMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.maxDelay = maxDelay;
+        this.maxPending = maxPending;
+        this.scheduler = enabled ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "todo-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues {@code update} behind the edits already waiting for its todo. When {@code max-pending} todos are
+     * waiting, the waiting edits are written first on the caller's thread; if that fails the edit is not queued
+     * and {@link ServiceBusyException} is thrown, so an edit is never reported as failed and then written later.
+     *
+     * @return false, with nothing queued, when the todo does not exist
+     */
+    public boolean enqueue(TodoFieldUpdateDto update) {
+        Long todoId = update.getTodoId();
+        // A todo with waiting edits was known to exist; otherwise ask the store once
+        if (!isWaiting(todoId) && !todoStore.existsById(todoId)) {
+            return false;
+        }
+        if (!offer(update)) {
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                throw new ServiceBusyException("Buffered todo edits cannot be written, please try again later", e);
+            }
+            if (!offer(update)) {
+                throw new ServiceBusyException("Too many buffered todo edits, please try again later");
+            }
+        }
+        TodoMetrics.writeBehindQueued();
+        boolean full;
+        synchronized (lock) {
+            full = pending.size() >= maxPending;
+        }
+        if (full) {
+            // The edit is queued whatever happens here; a failed flush is retried like a scheduled one
+            scheduledFlush();
+        }
+        return true;
+    }
+
+    /**
+     * Drops the waiting edits of a deleted todo.
+     */
+    public void discard(Long todoId) {
+        synchronized (lock) {
+            pending.remove(todoId);
+        }
+    }
+
+    /**
+     * Applies the waiting edits to todos read from the store; todos without waiting edits are left as they are.
+     */
+    public void overlay(List<TodoFrontendDto> todoFrontendDtos) {
+        Map<Long, TodoFieldUpdateDto> waiting = waitingUpdates();
+        if (waiting.isEmpty()) {
+            return;
+        }
+        for (TodoFrontendDto todoFrontendDto : todoFrontendDtos) {
+            TodoFieldUpdateDto update = waiting.get(todoFrontendDto.getTodoId());
+            if (update != null) {
+                todoMapper.applyFieldUpdate(todoFrontendDto, update);
+            }
+        }
+    }
+
+    /**
+     * Writes every waiting edit now, in one batch.
+     */
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (flushLock) {
+            List<TodoFieldUpdateDto> updates;
+            synchronized (lock) {
+                if (scheduledFlush != null) {
+                    scheduledFlush.cancel(false);
+                    scheduledFlush = null;
+                }
+                if (pending.isEmpty()) {
+                    return;
+                }
+                inFlight = pending;
+                pending = new HashMap<>();
+                updates = List.copyOf(inFlight.values());
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    int updatedRows = todoStore.updateFields(updates);
+                    if (updatedRows < updates.size()) {
+                        log.debug("{} of {} buffered todo updates found no todo", updates.size() - updatedRows, updates.size());
+                    }
+                    eventPublisher.publishEvent(new TodoChangedEvent(TodoChangeType.UPDATED,
+                            updates.stream().map(TodoFieldUpdateDto::getTodoId).toList()));
+                });
+                TodoMetrics.writeBehindFlushed(updates.size());
+            } catch (RuntimeException e) {
+                synchronized (lock) {
+                    // Newer edits queued during the failed flush go on top of the ones it was writing
+                    Map<Long, TodoFieldUpdateDto> retained = new HashMap<>(inFlight);
+                    pending.forEach((todoId, update) -> retained.merge(todoId, update, TodoFieldUpdateDto::then));
+                    pending = retained;
+                    if (scheduledFlush == null && !scheduler.isShutdown()) {
+                        scheduledFlush = scheduler.schedule(this::scheduledFlush, maxDelay.toNanos(), TimeUnit.NANOSECONDS);
+                    }
+                }
+                throw e;
+            } finally {
+                synchronized (lock) {
+                    inFlight = Map.of();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (!enabled) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Could not write buffered todo updates on shutdown", e);
+        }
+    }
+
+    private void scheduledFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Could not write buffered todo updates, retrying in {}", maxDelay, e);
+        }
+    }
+
+    // Queues the edit unless max-pending todos are waiting, counting those being written
+    private boolean offer(TodoFieldUpdateDto update) {
+        synchronized (lock) {
+            Long todoId = update.getTodoId();
+            // An edit to a todo that is already queued merges into its entry and takes no room
+            if (!pending.containsKey(todoId) && pending.size() + inFlight.size() >= maxPending) {
+                return false;
+            }
+            pending.merge(todoId, update, TodoFieldUpdateDto::then);
+            if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::scheduledFlush, maxDelay.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            return true;
+        }
+    }
+
+    private boolean isWaiting(Long todoId) {
+        synchronized (lock) {
+            return pending.containsKey(todoId) || inFlight.containsKey(todoId);
+        }
+    }
+
+    private Map<Long, TodoFieldUpdateDto> waitingUpdates() {
+        synchronized (lock) {
+            if (inFlight.isEmpty()) {
+                return pending.isEmpty() ? Map.of() : new HashMap<>(pending);
+            }
+            Map<Long, TodoFieldUpdateDto> waiting = new HashMap<>(inFlight);
+            pending.forEach((todoId, update) -> waiting.merge(todoId, update, TodoFieldUpdateDto::then));
+            return waiting;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.todo_application.service;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a TodoService method that takes a pooled connection for the whole call; {@link TodoServiceBulkhead}
+ * limits only these. Methods answered from memory, such as the list ETag and the summary counts, are left unmarked.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@interface UsesConnection {
+}
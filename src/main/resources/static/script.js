@@ -1,6 +1,7 @@
 document.addEventListener('DOMContentLoaded', function () {
     const form = document.getElementById('todoForm');
     const nameInput = document.getElementById('name');
+    const todoRows = document.querySelector('.todo-table tbody');
 
     function validateTaskNameLength(name) {
         if (name.length > 100) {
@@ -10,6 +11,43 @@ document.addEventListener('DOMContentLoaded', function () {
         return true;
     }
 
+    // The MVC endpoints answer a successful edit with a redirect to the list. It is not followed, so an edit does
+    // not render the whole list again; an error answers with the error page instead.
+    function postEdit(url) {
+        return fetch(url, {
+            method: 'POST',
+            redirect: 'manual'
+        }).then(response => response.type === 'opaqueredirect');
+    }
+
+    // The row endpoints answer an edit with the edited row, which replaces the one on the page. A rejected edit
+    // (4xx: bad value, deadline in the past, todo gone) is reported with the server's reason here; only a server
+    // fault resolves to false and is reported by the caller.
+    function postRowEdit(row, url) {
+        return fetch(url, {
+            method: 'POST'
+        }).then(response => {
+            if (response.status >= 400 && response.status < 500) {
+                return response.text().then(html => {
+                    const page = new DOMParser().parseFromString(html, 'text/html');
+                    alert(page.body.textContent.trim());
+                    return true;
+                });
+            }
+            if (!response.ok) {
+                return false;
+            }
+            return response.text().then(html => {
+                const template = document.createElement('template');
+                template.innerHTML = html.trim();
+                const editedRow = template.content.firstElementChild;
+                row.replaceWith(editedRow);
+                rowReplaced(row, editedRow);
+                return true;
+            });
+        });
+    }
+
     form.addEventListener('submit', function (event) {
         const nameValue = nameInput.value.trim();
         if (!validateTaskNameLength(nameValue)) {
@@ -18,174 +56,554 @@ document.addEventListener('DOMContentLoaded', function () {
         }
     });
 
-    function makeTasksEditable() {
-        document.querySelectorAll('.editable-task, .edit-icon').forEach(function (element) {
-            element.addEventListener('click', function () {
-                const taskCell = this.closest('td');
-                const currentName = taskCell.querySelector('.editable-task').innerText;
+    // Rows are replaced after every edit, so their controls are handled by listeners on the table body
 
-                const inputField = document.createElement('input');
-                inputField.type = 'text';
-                inputField.value = currentName;
-                inputField.classList.add('edit-input');
+    function editTaskName(row) {
+        const taskCell = row.querySelector('.task-name');
+        const currentName = taskCell.querySelector('.editable-task').innerText;
+        const todoId = row.getAttribute('data-todo-id');
 
-                taskCell.innerHTML = '';
-                taskCell.appendChild(inputField);
+        const inputField = document.createElement('input');
+        inputField.type = 'text';
+        inputField.value = currentName;
+        inputField.classList.add('edit-input');
 
-                inputField.focus();
+        taskCell.innerHTML = '';
+        taskCell.appendChild(inputField);
 
-                function saveUpdatedName() {
-                    const newName = inputField.value.trim();
+        inputField.focus();
 
-                    if (!validateTaskNameLength(newName)) {
-                        inputField.focus();
-                        return;
-                    }
+        // Enter triggers a save and then a blur when the row is replaced; only submit once
+        let saving = false;
 
-                    const todoId = taskCell.parentElement.querySelector('input[name="todoId"]').value;
-
-                    fetch(`/updateName?todoId=${todoId}&newName=${encodeURIComponent(newName)}`, {
-                        method: 'POST'
-                    }).then(response => {
-                        if (response.ok) {
-                            taskCell.innerHTML = `<span class="editable-task">${newName}</span>
-                                                  <span class="edit-icon">🖉</span>`;
-
-                            makeTasksEditable();
-                            makeStatusToggle();
-                        } else {
-                            alert('Failed to update task name.');
-                        }
-                    }).catch(error => {
-                        console.error('Error:', error);
-                        alert('An error occurred while updating the task name.');
-                    });
-                }
+        function saveUpdatedName() {
+            if (saving) {
+                return;
+            }
+            const newName = inputField.value.trim();
 
-                inputField.addEventListener('blur', saveUpdatedName);
+            if (!validateTaskNameLength(newName)) {
+                inputField.focus();
+                return;
+            }
 
-                inputField.addEventListener('keydown', function (event) {
-                    if (event.key === 'Enter') {
-                        saveUpdatedName();
+            saving = true;
+            postRowEdit(row, `/row/updateName?todoId=${todoId}&newName=${encodeURIComponent(newName)}`)
+                .then(saved => {
+                    if (!saved) {
+                        saving = false;
+                        alert('Failed to update task name.');
                     }
+                })
+                .catch(error => {
+                    saving = false;
+                    console.error('Error:', error);
+                    alert('An error occurred while updating the task name.');
                 });
+        }
 
-                inputField.addEventListener('input', function () {
-                    if (inputField.value.length > 100) {
-                        alert('Task name cannot exceed 100 characters.');
-                        inputField.value = inputField.value.slice(0, 100);
-                    }
-                });
-            });
+        inputField.addEventListener('blur', saveUpdatedName);
+
+        inputField.addEventListener('keydown', function (event) {
+            if (event.key === 'Enter') {
+                saveUpdatedName();
+            }
+        });
+
+        inputField.addEventListener('input', function () {
+            if (inputField.value.length > 100) {
+                alert('Task name cannot exceed 100 characters.');
+                inputField.value = inputField.value.slice(0, 100);
+            }
         });
     }
 
+    // Selected todos are tracked by id, since a selected row may be scrolled out of the DOM
+    const selectedTodoIds = new Set();
 
-    function makeStatusToggle() {
-        document.querySelectorAll('.status-text, .status-icon').forEach(function (element) {
-            element.addEventListener('click', function () {
-                const todoId = this.getAttribute('data-todo-id');
-                const statusCell = this.closest('td');
+    // Todos with a status toggle in flight; further clicks are ignored until the request settles
+    const pendingStatusToggles = new Set();
 
-                fetch(`/updateIsDoneStatus?todoId=${todoId}`, {
-                    method: 'POST'
-                })
-                    .then(response => {
-                        if (response.ok) {
-                            const statusText = statusCell.querySelector('.status-text');
-                            statusText.innerText = statusText.innerText === 'Not finished' ? 'Finished' : 'Not finished';
-                        } else {
-                            alert('Failed to update status.');
-                        }
-                    })
-                    .catch(error => {
-                        console.error('Error:', error);
-                        alert('An error occurred while updating the status.');
-                    });
+    function toggleStatus(row) {
+        const todoId = row.getAttribute('data-todo-id');
+
+        if (pendingStatusToggles.has(todoId)) {
+            return;
+        }
+        pendingStatusToggles.add(todoId);
+
+        postRowEdit(row, `/row/changeIsDoneStatus?todoId=${todoId}`)
+            .then(saved => {
+                if (!saved) {
+                    alert('Failed to update status.');
+                }
+            })
+            .catch(error => {
+                console.error('Error:', error);
+                alert('An error occurred while updating the status.');
+            })
+            .finally(() => pendingStatusToggles.delete(todoId));
+    }
+
+    function updatePriority(row, selectElement) {
+        const todoId = row.getAttribute('data-todo-id');
+        let newPriority = selectElement.value;
+
+        if (newPriority === 'None') {
+            newPriority = 'null';
+        }
+
+        postRowEdit(row, `/row/updatePriority?todoId=${todoId}&priority=${encodeURIComponent(newPriority)}`)
+            .then(saved => {
+                if (!saved) {
+                    alert('Failed to update priority.');
+                }
+            })
+            .catch(error => {
+                console.error('Error:', error);
+                alert('An error occurred while updating the priority.');
             });
-        });
     }
 
-    function makePriorityEditable() {
-        document.querySelectorAll('.priority-select').forEach(function (selectElement) {
-            selectElement.addEventListener('change', function () {
-                const todoId = this.getAttribute('data-todo-id');
-                let newPriority = this.value;
+    function updateDeadline(row, inputElement) {
+        const todoId = row.getAttribute('data-todo-id');
+        const newDate = inputElement.value;
 
-                if (newPriority === 'None') {
-                    newPriority = 'null';
+        if (newDate && new Date(newDate) < new Date().setHours(0, 0, 0, 0)) {
+            alert('The deadline cannot be in the past.');
+            inputElement.value = '';
+            return;
+        }
+
+        postRowEdit(row, `/row/updateDeadline?todoId=${todoId}&newLocalDate=${encodeURIComponent(newDate)}`)
+            .then(saved => {
+                if (!saved) {
+                    alert('Failed to update deadline.');
                 }
+            })
+            .catch(error => {
+                console.error('Error:', error);
+                alert('An error occurred while updating the deadline.');
+            });
+    }
 
-                fetch(`/updatePriority?todoId=${todoId}&priority=${encodeURIComponent(newPriority)}`, {
-                    method: 'POST'
-                })
-                    .then(response => {
-                        if (!response.ok) {
-                            alert('Failed to update priority.');
-                        }
-                    })
-                    .catch(error => {
-                        console.error('Error:', error);
-                        alert('An error occurred while updating the priority.');
-                    });
+    function clearDeadline(row) {
+        const params = new URLSearchParams();
+        params.append('todoId', row.getAttribute('data-todo-id'));
+
+        postRowEdit(row, `/row/updateDeadline?${params.toString()}`)
+            .then(saved => {
+                if (!saved) {
+                    alert('Failed to clear deadline.');
+                }
+            })
+            .catch(error => {
+                console.error('Error:', error);
+                alert('An error occurred while clearing the deadline.');
             });
-        });
     }
 
-    function makeDeadlineEditable() {
-        document.querySelectorAll('.deadline-input').forEach(function (inputElement) {
-            inputElement.addEventListener('change', function () {
-                const todoId = this.getAttribute('data-todo-id');
-                const newDate = this.value;
+    function deleteTodo(row) {
+        postEdit(`/deleteTodo?todoId=${row.getAttribute('data-todo-id')}`)
+            .then(saved => {
+                if (saved) {
+                    todoDeleted(Number(row.getAttribute('data-todo-id')));
+                } else {
+                    alert('Failed to delete todo.');
+                }
+            })
+            .catch(error => {
+                console.error('Error:', error);
+                alert('An error occurred while deleting the todo.');
+            });
+    }
+
+    todoRows.addEventListener('click', function (event) {
+        const row = event.target.closest('tr');
+        if (event.target.closest('.editable-task, .edit-icon')) {
+            editTaskName(row);
+        } else if (event.target.closest('.status-text, .status-icon')) {
+            toggleStatus(row);
+        } else if (event.target.closest('.clear-deadline-btn')) {
+            clearDeadline(row);
+        }
+    });
 
-                if (newDate && new Date(newDate) < new Date().setHours(0, 0, 0, 0)) {
-                    alert('The deadline cannot be in the past.');
-                    this.value = '';
-                    return;
+    todoRows.addEventListener('change', function (event) {
+        const row = event.target.closest('tr');
+        if (event.target.matches('.priority-select')) {
+            updatePriority(row, event.target);
+        } else if (event.target.matches('.deadline-input')) {
+            updateDeadline(row, event.target);
+        } else if (event.target.matches('.select-todo')) {
+            const todoId = Number(event.target.value);
+            if (event.target.checked) {
+                selectedTodoIds.add(todoId);
+            } else {
+                selectedTodoIds.delete(todoId);
+            }
+        }
+    });
+
+    todoRows.addEventListener('submit', function (event) {
+        if (event.target.matches('.delete-form')) {
+            event.preventDefault();
+            deleteTodo(event.target.closest('tr'));
+        }
+    });
+
+    function makeBulkSelection() {
+        const selectAll = document.getElementById('selectAll');
+        selectAll.addEventListener('change', function () {
+            selectedTodoIds.clear();
+            if (selectAll.checked) {
+                const todoIds = virtualScroll
+                    ? Array.from(pageOfTodo.keys())
+                    : Array.from(todoRows.querySelectorAll('tr[data-todo-id]'), row => Number(row.getAttribute('data-todo-id')));
+                todoIds.forEach(todoId => selectedTodoIds.add(todoId));
+            }
+            document.querySelectorAll('.select-todo').forEach(function (checkbox) {
+                checkbox.checked = selectAll.checked;
+            });
+        });
+
+        const bulkForm = document.getElementById('bulkForm');
+        bulkForm.addEventListener('submit', function (event) {
+            if (selectedTodoIds.size === 0) {
+                event.preventDefault();
+                alert('Select at least one todo first.');
+                return;
+            }
+            // Rows out of the DOM submit their selection through hidden fields
+            selectedTodoIds.forEach(todoId => {
+                if (!findRow(todoId)) {
+                    const hiddenInput = document.createElement('input');
+                    hiddenInput.type = 'hidden';
+                    hiddenInput.name = 'todoIds';
+                    hiddenInput.value = todoId;
+                    bulkForm.appendChild(hiddenInput);
                 }
+            });
+        });
+    }
 
-                fetch(`/updateDeadline?todoId=${todoId}&newLocalDate=${encodeURIComponent(newDate)}`, {
-                    method: 'POST'
-                })
-                    .then(response => {
-                        if (!response.ok) {
-                            alert('Failed to update deadline.');
-                        }
-                    })
-                    .catch(error => {
-                        console.error('Error:', error);
-                        alert('An error occurred while updating the deadline.');
-                    });
+    function findRow(todoId) {
+        return todoRows.querySelector(`tr[data-todo-id="${todoId}"]`);
+    }
+
+    function readRow(row) {
+        const priority = row.querySelector('.priority-select').value;
+        const deadline = row.querySelector('.deadline-input').value;
+        return {
+            todoId: Number(row.getAttribute('data-todo-id')),
+            name: row.querySelector('.editable-task').innerText,
+            isDone: row.querySelector('.status-text').innerText,
+            priority: priority === 'null' ? 'No priority' : priority,
+            deadline: deadline === '' ? 'No deadline' : deadline
+        };
+    }
+
+    // Shows the current state of a todo; fields being edited on this page are left alone
+    function patchRow(row, todo) {
+        const name = row.querySelector('.editable-task');
+        if (name) {
+            name.innerText = todo.name;
+        }
+        row.querySelector('.status-text').innerText = todo.isDone;
+        row.querySelector('.priority-select').value = todo.priority === 'No priority' ? 'null' : todo.priority;
+        const deadline = row.querySelector('.deadline-input');
+        if (deadline !== document.activeElement) {
+            deadline.value = todo.deadline === 'No deadline' ? '' : todo.deadline;
+        }
+    }
+
+    function createRow(todo) {
+        const row = document.getElementById('todoRowTemplate').content.firstElementChild.cloneNode(true);
+        row.setAttribute('data-todo-id', todo.todoId);
+        row.querySelector('.select-todo').value = todo.todoId;
+        row.querySelector('.select-todo').checked = selectedTodoIds.has(todo.todoId);
+        row.querySelector('input[name="todoId"]').value = todo.todoId;
+        patchRow(row, todo);
+        return row;
+    }
+
+    // The unfiltered list is scrolled virtually: only the rows around the visible part of the table are in the DOM,
+    // between two spacer rows that stand in for the others. The todos are kept as data in keyset pages; pages after
+    // the first, which the server renders, are loaded from the JSON endpoint as the end of the loaded todos comes near.
+    // A page that falls far behind the view keeps only its size, which holds its place in the spacers, and the cursor
+    // it was loaded with, by which it is loaded again when it comes near. Only a few pages of todos are kept at a time.
+    const virtualScroll = todoRows.getAttribute('data-virtual-scroll') === 'true';
+    const PAGE_SIZE = 200;
+    const OVERSCAN_ROWS = 20;
+    const LOAD_AHEAD_ROWS = 100;
+    const RELOAD_DISTANCE_ROWS = PAGE_SIZE;
+    // Well beyond RELOAD_DISTANCE_ROWS, so a page near the edge is not dropped and loaded again while scrolling
+    const DROP_DISTANCE_ROWS = 5 * PAGE_SIZE;
+    // In id order, as listed: {cursor, todos (null once dropped), count, lastTodoId, loading}
+    const pages = [];
+    // The page of each loaded todo, so that changes find their todo without searching the list
+    const pageOfTodo = new Map();
+    let todoCount = 0;
+    let nextCursor = todoRows.getAttribute('data-next-cursor');
+    let loadingPage = false;
+    let rowHeight = 45;
+    let renderScheduled = false;
+    const renderedRows = new Map();
+    const topSpacer = createSpacer();
+    const bottomSpacer = createSpacer();
+
+    function createSpacer() {
+        const spacer = document.createElement('tr');
+        spacer.className = 'spacer';
+        spacer.innerHTML = '<td colspan="6"></td>';
+        return spacer;
+    }
+
+    // Pages are short, so looking inside one is cheap
+    function indexInPage(page, todoId) {
+        return page.todos.findIndex(todo => todo.todoId === todoId);
+    }
+
+    function addPage(cursor, pageTodos) {
+        const page = {cursor, todos: pageTodos, count: pageTodos.length, lastTodoId: pageTodos[pageTodos.length - 1].todoId, loading: false};
+        pages.push(page);
+        pageTodos.forEach(todo => pageOfTodo.set(todo.todoId, page));
+        todoCount += page.count;
+    }
+
+    function dropPage(page) {
+        page.todos.forEach(todo => pageOfTodo.delete(todo.todoId));
+        page.todos = null;
+    }
+
+    function fetchPage(cursor) {
+        const cursorParameter = cursor ? `cursor=${encodeURIComponent(cursor)}&` : '';
+        return fetch(`/api/restController/todos/frontendDto/page?${cursorParameter}size=${PAGE_SIZE}`)
+            .then(response => {
+                if (!response.ok) {
+                    throw new Error(`Loading todos failed with status ${response.status}`);
+                }
+                return response.json();
             });
+    }
+
+    // A page holds the todos after the previous page up to its last todo. Ids only grow, so none join it later;
+    // its deleted todos are gone and its size is corrected. The last page grows with new todos, so it can take more
+    // than one request.
+    function reloadPage(page) {
+        page.loading = true;
+        const pageTodos = [];
+        const load = cursor => fetchPage(cursor).then(result => {
+            result.todos.filter(todo => todo.todoId <= page.lastTodoId).forEach(todo => pageTodos.push(todo));
+            const last = result.todos[result.todos.length - 1];
+            return last && last.todoId < page.lastTodoId && result.nextCursor ? load(result.nextCursor) : pageTodos;
         });
+        load(page.cursor)
+            .then(() => {
+                todoCount += pageTodos.length - page.count;
+                page.count = pageTodos.length;
+                page.todos = pageTodos;
+                pageTodos.forEach(todo => pageOfTodo.set(todo.todoId, page));
+                page.loading = false;
+                scheduleRender();
+            })
+            .catch(error => {
+                // Tried again on the next scroll
+                console.error('Error:', error);
+                page.loading = false;
+            });
+    }
 
-        document.querySelectorAll('.clear-deadline-btn').forEach(function (button) {
-            button.addEventListener('click', function () {
-                const todoId = this.getAttribute('data-todo-id');
+    function scheduleRender() {
+        if (virtualScroll && !renderScheduled) {
+            renderScheduled = true;
+            window.requestAnimationFrame(render);
+        }
+    }
 
-                const params = new URLSearchParams();
-                params.append('todoId', todoId);
+    function render() {
+        renderScheduled = false;
+        const viewTop = -todoRows.getBoundingClientRect().top;
+        // Starts on an even index so that the striping of the rows does not shift while scrolling
+        let start = Math.min(todoCount, Math.max(0, Math.floor(viewTop / rowHeight) - OVERSCAN_ROWS));
+        start -= start % 2;
+        const end = Math.min(todoCount, Math.max(start, Math.ceil((viewTop + window.innerHeight) / rowHeight) + OVERSCAN_ROWS));
 
-                fetch(`/updateDeadline?${params.toString()}`, {
-                    method: 'POST'
-                })
-                    .then(response => {
-                        if (!response.ok) {
-                            alert('Failed to clear deadline.');
-                        } else {
-                            document.querySelector(`.deadline-input[data-todo-id="${todoId}"]`).value = '';
-                        }
-                    })
-                    .catch(error => {
-                        console.error('Error:', error);
-                        alert('An error occurred while clearing the deadline.');
-                    });
+        // Rows of a page still loading are left to the spacers, so the rows shown are the first loaded run
+        const visibleTodos = [];
+        let renderStart = start;
+        let offset = 0;
+        for (const page of pages) {
+            const pageEnd = offset + page.count;
+            if (page.todos && (pageEnd + DROP_DISTANCE_ROWS < start || offset > end + DROP_DISTANCE_ROWS)) {
+                dropPage(page);
+            } else if (!page.todos && !page.loading && pageEnd + RELOAD_DISTANCE_ROWS >= start && offset <= end + RELOAD_DISTANCE_ROWS) {
+                reloadPage(page);
+            }
+            if (pageEnd > start && offset < end) {
+                if (page.todos && renderStart + visibleTodos.length === Math.max(start, offset)) {
+                    visibleTodos.push(...page.todos.slice(Math.max(start, offset) - offset, Math.min(end, pageEnd) - offset));
+                } else if (page.todos && visibleTodos.length === 0) {
+                    renderStart = offset;
+                    visibleTodos.push(...page.todos.slice(0, Math.min(end, pageEnd) - offset));
+                }
+            }
+            offset = pageEnd;
+        }
+        const renderEnd = renderStart + visibleTodos.length;
+
+        const visibleTodoIds = new Set(visibleTodos.map(todo => todo.todoId));
+        renderedRows.forEach((row, todoId) => {
+            if (!visibleTodoIds.has(todoId)) {
+                row.remove();
+                renderedRows.delete(todoId);
+            }
+        });
+        // Rows that stay are not touched, so an edit in progress in one of them is kept
+        let previous = topSpacer;
+        visibleTodos.forEach(todo => {
+            let row = renderedRows.get(todo.todoId);
+            if (!row) {
+                row = createRow(todo);
+                previous.after(row);
+                renderedRows.set(todo.todoId, row);
+            }
+            previous = row;
+        });
+        topSpacer.style.height = `${renderStart * rowHeight}px`;
+        bottomSpacer.style.height = `${(todoCount - renderEnd) * rowHeight}px`;
+
+        if (nextCursor && !loadingPage && end + LOAD_AHEAD_ROWS >= todoCount) {
+            loadNextPage();
+        }
+    }
+
+    function loadNextPage() {
+        loadingPage = true;
+        const cursor = nextCursor;
+        fetchPage(cursor)
+            .then(page => {
+                const lastPage = pages[pages.length - 1];
+                const pageTodos = lastPage ? page.todos.filter(todo => todo.todoId > lastPage.lastTodoId) : page.todos;
+                if (pageTodos.length > 0) {
+                    addPage(cursor, pageTodos);
+                }
+                nextCursor = page.nextCursor;
+                loadingPage = false;
+                scheduleRender();
+            })
+            .catch(error => {
+                // Tried again on the next scroll
+                console.error('Error:', error);
+                loadingPage = false;
             });
+    }
+
+    function startVirtualScroll() {
+        const rows = Array.from(todoRows.querySelectorAll('tr[data-todo-id]'));
+        if (rows.length > 0) {
+            // The first page has no cursor
+            addPage(null, rows.map(readRow));
+            rowHeight = rows[0].getBoundingClientRect().height || rowHeight;
+        }
+        rows.forEach(row => row.remove());
+        todoRows.prepend(topSpacer);
+        todoRows.append(bottomSpacer);
+        document.querySelector('.todo-table').classList.add('virtual-scroll');
+        const nextCursorLink = document.getElementById('nextCursorLink');
+        if (nextCursorLink) {
+            nextCursorLink.hidden = true;
+        }
+        window.addEventListener('scroll', scheduleRender, {passive: true});
+        window.addEventListener('resize', scheduleRender);
+        render();
+    }
+
+    function rowReplaced(row, editedRow) {
+        const todo = readRow(editedRow);
+        editedRow.querySelector('.select-todo').checked = selectedTodoIds.has(todo.todoId);
+        if (renderedRows.get(todo.todoId) === row) {
+            renderedRows.set(todo.todoId, editedRow);
+        }
+        const page = pageOfTodo.get(todo.todoId);
+        if (page) {
+            page.todos[indexInPage(page, todo.todoId)] = todo;
+        }
+    }
+
+    // New todos come last, so they are shown once every page has been loaded. Changes to the todos of a dropped
+    // page are left out, since the page is loaded again before it is shown.
+    function todoChanged(todo, created) {
+        const page = pageOfTodo.get(todo.todoId);
+        const lastPage = pages[pages.length - 1];
+        if (page) {
+            page.todos[indexInPage(page, todo.todoId)] = todo;
+        } else if (created && virtualScroll && !nextCursor) {
+            if (!lastPage) {
+                addPage(null, [todo]);
+            } else if (todo.todoId > lastPage.lastTodoId) {
+                lastPage.lastTodoId = todo.todoId;
+                lastPage.count++;
+                todoCount++;
+                if (lastPage.todos) {
+                    lastPage.todos.push(todo);
+                    pageOfTodo.set(todo.todoId, lastPage);
+                }
+            }
+            scheduleRender();
+        }
+        const row = findRow(todo.todoId);
+        if (row) {
+            patchRow(row, todo);
+        }
+    }
+
+    function todoDeleted(todoId) {
+        const page = pageOfTodo.get(todoId);
+        if (page) {
+            page.todos.splice(indexInPage(page, todoId), 1);
+            page.count--;
+            todoCount--;
+            pageOfTodo.delete(todoId);
+        }
+        selectedTodoIds.delete(todoId);
+        renderedRows.delete(todoId);
+        const row = findRow(todoId);
+        if (row) {
+            row.remove();
+        }
+        scheduleRender();
+    }
+
+    // Changes made anywhere, on this page or another one, are applied as they are committed
+    function followChanges() {
+        const changes = new EventSource('/api/reactive/events');
+        let connected = false;
+
+        changes.addEventListener('open', function () {
+            // Changes made while reconnecting are lost, for instance after falling behind; the list is loaded again
+            if (connected) {
+                window.location.reload();
+            }
+            connected = true;
+        });
+
+        changes.addEventListener('created', function (event) {
+            JSON.parse(event.data).forEach(todo => todoChanged(todo, true));
+        });
+
+        changes.addEventListener('updated', function (event) {
+            JSON.parse(event.data).forEach(todo => todoChanged(todo, false));
+        });
+
+        changes.addEventListener('deleted', function (event) {
+            JSON.parse(event.data).forEach(todoDeleted);
         });
     }
 
-    makeTasksEditable();
-    makeStatusToggle();
-    makePriorityEditable();
-    makeDeadlineEditable();
+    if (virtualScroll) {
+        startVirtualScroll();
+    }
+    makeBulkSelection();
+    followChanges();
 });
@@ -0,0 +1,43 @@
+package org.example.todo_application.benchmark;
+
+import org.example.todo_application.dto.TodoFrontendDto;
+import org.example.todo_application.entity.Priority;
+import org.example.todo_application.entity.Todo;
+import org.example.todo_application.mapper.TodoMapper;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic test data shared by the benchmarks. Field values cycle so that every branch of the
+ * mapping (finished or not, with or without deadline and priority) is exercised in equal measure.
+ */
+final class BenchmarkData {
+    private static final Priority[] PRIORITIES = {null, Priority.LOW, Priority.MEDIUM, Priority.HIGH};
+
+    private BenchmarkData() {
+    }
+
+    static List<Todo> todos(int count) {
+        LocalDate today = LocalDate.now();
+        List<Todo> todos = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            todos.add(Todo.builder()
+                    .todoId((long) i)
+                    .name("Todo " + i)
+                    .isDone(i % 2 == 0)
+                    .deadline(i % 3 == 0 ? null : today.plusDays(i % 365))
+                    .priority(PRIORITIES[i % PRIORITIES.length])
+                    .build());
+        }
+        return todos;
+    }
+
+    static List<TodoFrontendDto> frontendDtos(int count) {
+        TodoMapper todoMapper = new TodoMapper();
+        return todos(count).stream()
+                .map(todoMapper::entityToFrontEndDto)
+                .toList();
+    }
+}
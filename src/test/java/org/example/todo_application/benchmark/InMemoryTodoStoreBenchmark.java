@@ -0,0 +1,57 @@
+package org.example.todo_application.benchmark;
+
+import org.example.todo_application.dto.TodoFrontendDto;
+import org.example.todo_application.entity.Todo;
+import org.example.todo_application.mapper.TodoMapper;
+import org.example.todo_application.repository.InMemoryTodoStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Update and list paths of {@link InMemoryTodoStore}, the storage behind the in-memory profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InMemoryTodoStoreBenchmark {
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"1000", "100000"})
+    public int todoCount;
+
+    private InMemoryTodoStore todoStore;
+
+    @Setup
+    public void setup() {
+        todoStore = new InMemoryTodoStore(new TodoMapper());
+        List<Todo> todos = BenchmarkData.todos(todoCount);
+        todos.forEach(todo -> todo.setTodoId(null));
+        todoStore.saveAll(todos);
+    }
+
+    @Benchmark
+    public int toggleIsDone() {
+        return todoStore.toggleIsDone(randomId());
+    }
+
+    @Benchmark
+    public int updateName() {
+        return todoStore.updateName(randomId(), "Renamed");
+    }
+
+    @Benchmark
+    public List<TodoFrontendDto> findFrontendDtosAfter() {
+        return todoStore.findFrontendDtosAfter(randomId(), Limit.of(PAGE_SIZE));
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, todoCount + 1);
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.todo_application.benchmark;
+
+import org.example.todo_application.TodoApplication;
+import org.example.todo_application.dto.TodoFrontendDto;
+import org.example.todo_application.service.TodoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TodoService#getFrontedTodoDtoList} end to end through Spring, Hibernate and an in-memory H2
+ * database, with the list cache switched off so every call reads the table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TodoListBenchmark {
+    // Fills the table in one statement; the values cycle like BenchmarkData
+    private static final String SEED_SQL = "insert into todo (todo_id, name, is_done, deadline, priority, version) " +
+            "select x, concat('Todo ', x), mod(x, 2) = 0, " +
+            "case when mod(x, 3) = 0 then null else dateadd(day, mod(x, 365), current_date) end, " +
+            "case mod(x, 4) when 0 then null when 1 then 'LOW' when 2 then 'MEDIUM' else 'HIGH' end, 0 " +
+            "from system_range(1, ?)";
+
+    @Param({"1000", "100000", "1000000"})
+    public int rowCount;
+
+    private ConfigurableApplicationContext context;
+    private TodoService todoService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(TodoApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "todo.cache.enabled=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false")
+                .run();
+        context.getBean(JdbcTemplate.class).update(SEED_SQL, rowCount);
+        todoService = context.getBean(TodoService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TodoFrontendDto> getFrontedTodoDtoList() {
+        return todoService.getFrontedTodoDtoList();
+    }
+}
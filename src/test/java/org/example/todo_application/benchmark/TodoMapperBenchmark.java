@@ -0,0 +1,39 @@
+package org.example.todo_application.benchmark;
+
+import org.example.todo_application.dto.TodoFrontendDto;
+import org.example.todo_application.entity.Todo;
+import org.example.todo_application.mapper.TodoMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping a single entity with {@link TodoMapper#entityToFrontEndDto}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoMapperBenchmark {
+    private static final int TODO_COUNT = 1024;
+
+    private final TodoMapper todoMapper = new TodoMapper();
+    private Todo[] todos;
+    private int next;
+
+    @Setup
+    public void setup() {
+        List<Todo> todoList = BenchmarkData.todos(TODO_COUNT);
+        todos = todoList.toArray(new Todo[0]);
+    }
+
+    @Benchmark
+    public TodoFrontendDto entityToFrontEndDto() {
+        Todo todo = todos[next];
+        next = (next + 1) & (TODO_COUNT - 1);
+        return todoMapper.entityToFrontEndDto(todo);
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.todo_application.benchmark;
+
+import org.example.todo_application.entity.Todo;
+import org.example.todo_application.search.TodoSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TodoSearchIndex#search} over names of three to six words drawn from a vocabulary of 5000 made-up words,
+ * so single words match about 0.1% of the todos and common syllables a lot more.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TodoSearchIndexBenchmark {
+    private static final String[] SYLLABLES = {"ba", "ko", "mi", "ter", "lun", "sa", "ve", "dor", "pi", "ra", "nel", "tu"};
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"100000", "1000000"})
+    public int todoCount;
+
+    @Param({"word", "wordPrefix", "twoWords", "shortPrefix", "substring"})
+    public String queryKind;
+
+    private TodoSearchIndex todoSearchIndex;
+    private String query;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        List<String> vocabulary = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int syllables = 2 + random.nextInt(3); syllables > 0; syllables--) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            vocabulary.add(word.toString());
+        }
+        List<Todo> todos = new ArrayList<>(todoCount);
+        for (int i = 0; i < todoCount; i++) {
+            StringBuilder name = new StringBuilder();
+            for (int words = 3 + random.nextInt(4); words > 0; words--) {
+                name.append(vocabulary.get(random.nextInt(vocabulary.size()))).append(' ');
+            }
+            todos.add(Todo.builder().todoId(i + 1L).name(name.toString().strip()).build());
+        }
+        todoSearchIndex = new TodoSearchIndex();
+        todoSearchIndex.put(todos);
+        String word = vocabulary.get(7);
+        query = switch (queryKind) {
+            case "word" -> word;
+            case "wordPrefix" -> word.substring(0, word.length() - 1);
+            case "twoWords" -> word + " " + vocabulary.get(8);
+            case "shortPrefix" -> word.substring(0, 2);
+            default -> word.substring(1);
+        };
+    }
+
+    @Benchmark
+    public List<Long> search() {
+        return todoSearchIndex.search(query, 0, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.todo_application.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.todo_application.dto.TodoFrontendDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the list returned by the todo list endpoint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoSerializationBenchmark {
+    @Param({"100", "10000"})
+    public int todoCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<TodoFrontendDto> todos;
+
+    @Setup
+    public void setup() {
+        todos = BenchmarkData.frontendDtos(todoCount);
+    }
+
+    @Benchmark
+    public byte[] writeTodoList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(todos);
+    }
+}
@@ -5,6 +5,7 @@ import org.example.todo_application.dto.TodoSaveDto;
 import org.example.todo_application.entity.Priority;
 import org.example.todo_application.entity.Todo;
 import org.example.todo_application.repository.TodoRepository;
+import org.example.todo_application.service.TodoChangeFeed;
 import org.example.todo_application.service.TodoService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +18,7 @@ import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
@@ -37,6 +39,9 @@ public class MvcControllerIntegrationTest {
     @Autowired
     private TodoRepository todoRepository;
 
+    @Autowired
+    private TodoChangeFeed todoChangeFeed;
+
     @BeforeEach
     public void setup() {
         todoRepository.deleteAll();
@@ -118,6 +123,44 @@ public class MvcControllerIntegrationTest {
     }
 
 
+    @Test
+    public void testGetFilteredFrontendTodoList() throws Exception {
+        todoService.saveTodo(TodoSaveDto.builder().name("Todo 1").priority(Priority.LOW).build());
+        todoService.saveTodo(TodoSaveDto.builder().name("Todo 2").isDone(true).priority(Priority.HIGH).build());
+        todoService.saveTodo(TodoSaveDto.builder().name("Todo 3").priority(Priority.HIGH).deadline(today.plusDays(3)).build());
+
+        MvcResult mvcResult = mockMvc.perform(get("/filter")
+                        .param("isDone", "false")
+                        .param("priority", "HIGH"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("index"))
+                .andReturn();
+
+        List<?> todos = (List<?>) mvcResult.getModelAndView().getModel().get("todos");
+        Assertions.assertEquals(1, todos.size());
+        Assertions.assertEquals("Todo 3", ((TodoFrontendDto) todos.get(0)).getName());
+    }
+
+    @Test
+    public void testSearchTodos() throws Exception {
+        todoService.saveTodo(TodoSaveDto.builder().name("Call the plumber").build());
+        todoService.saveTodo(TodoSaveDto.builder().name("Plum jam").build());
+        todoService.saveTodo(TodoSaveDto.builder().name("Pay rent").build());
+        todoChangeFeed.reload();
+
+        MvcResult mvcResult = mockMvc.perform(get("/search")
+                        .param("q", "plum"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("index"))
+                .andExpect(model().attributeDoesNotExist("nextSearchPage"))
+                .andReturn();
+
+        List<?> todos = (List<?>) mvcResult.getModelAndView().getModel().get("todos");
+        Assertions.assertEquals(2, todos.size());
+        Assertions.assertEquals("Plum jam", ((TodoFrontendDto) todos.get(0)).getName());
+        Assertions.assertEquals("Call the plumber", ((TodoFrontendDto) todos.get(1)).getName());
+    }
+
     @Test
     public void testUpdateTodoNameWithValidId() throws Exception {
         TodoSaveDto todoSaveDto = TodoSaveDto.builder()
@@ -264,4 +307,71 @@ public class MvcControllerIntegrationTest {
                 .andExpect(model().attributeExists("errormessage"))
                 .andExpect(model().attribute("errormessage", "Failed to delete todo: Todo not found"));
     }
+
+    @Test
+    public void testBulkStatusAndClearCompleted() throws Exception {
+        Todo first = todoService.saveTodo(TodoSaveDto.builder().name("First").build());
+        Todo second = todoService.saveTodo(TodoSaveDto.builder().name("Second").build());
+
+        mockMvc.perform(post("/updateIsDoneStatuses")
+                        .param("todoIds", first.getTodoId().toString(), second.getTodoId().toString())
+                        .param("isDone", "true"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/"));
+
+        Assertions.assertTrue(todoRepository.findById(second.getTodoId()).orElseThrow().isDone());
+
+        mockMvc.perform(post("/deleteCompletedTodos"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/"));
+
+        Assertions.assertEquals(0, todoRepository.count());
+    }
+
+    @Test
+    public void testRowEditRendersOnlyTheRow() throws Exception {
+        Todo savedTodo = todoService.saveTodo(TodoSaveDto.builder().name("Example Todo").priority(Priority.LOW).build());
+
+        String row = mockMvc.perform(post("/row/updatePriority")
+                        .param("todoId", savedTodo.getTodoId().toString())
+                        .param("priority", "HIGH"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().trim();
+
+        Assertions.assertTrue(row.startsWith("<tr data-todo-id=\"" + savedTodo.getTodoId() + "\""), row);
+        Assertions.assertTrue(row.endsWith("</tr>"), row);
+        Assertions.assertTrue(row.contains("<option value=\"HIGH\" selected=\"selected\">"), row);
+        Assertions.assertTrue(row.contains("Example Todo"), row);
+        Assertions.assertEquals(Priority.HIGH, todoRepository.findById(savedTodo.getTodoId()).orElseThrow().getPriority());
+    }
+
+    @Test
+    public void testListRendersRowsFromTheRowFragment() throws Exception {
+        Todo savedTodo = todoService.saveTodo(TodoSaveDto.builder().name("Example Todo").build());
+
+        String page = mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        Assertions.assertTrue(page.contains("<tr data-todo-id=\"" + savedTodo.getTodoId() + "\">"), page);
+        // The template for new rows is the same fragment without a todo
+        Assertions.assertTrue(page.contains("<template id=\"todoRowTemplate\">"), page);
+        Assertions.assertEquals(2, page.split("class=\"delete-form\"").length - 1);
+    }
+
+    @Test
+    public void testListRendersOnlyTheFirstPageForVirtualScrolling() throws Exception {
+        todoService.saveTodos(IntStream.range(0, TodoService.DEFAULT_PAGE_SIZE + 5)
+                .mapToObj(i -> TodoSaveDto.builder().name("Todo " + i).build())
+                .toList());
+
+        String page = mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // The first page plus the template for new rows
+        Assertions.assertEquals(TodoService.DEFAULT_PAGE_SIZE + 1, page.split("class=\"delete-form\"").length - 1);
+        Assertions.assertTrue(page.contains("data-virtual-scroll=\"true\""), page);
+        Assertions.assertTrue(page.contains("data-next-cursor=\""), page);
+    }
 }
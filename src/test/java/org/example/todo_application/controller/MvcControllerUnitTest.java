@@ -1,7 +1,13 @@
 package org.example.todo_application.controller;
 
+import org.example.todo_application.dto.TodoFilterDto;
+import org.example.todo_application.dto.TodoFrontendDto;
+import org.example.todo_application.dto.TodoPageDto;
 import org.example.todo_application.dto.TodoSaveDto;
 import org.example.todo_application.entity.Priority;
+import org.example.todo_application.exception.DeadlineCannotBeInPastException;
+import org.example.todo_application.exception.ServiceBusyException;
+import org.example.todo_application.exception.TodoNotFoundException;
 import org.example.todo_application.service.TodoService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,8 +19,12 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.validation.BindingResult;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -91,13 +101,102 @@ class MvcControllerUnitTest {
 
     @Test
     public void testGetFrontendTodoList() throws Exception {
+        when(todoService.getFrontendTodoPage(null, TodoService.DEFAULT_PAGE_SIZE))
+                .thenReturn(new TodoPageDto(new ArrayList<>(), "next"));
+
         mockMvc.perform(get("/"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("index"))
                 .andExpect(model().attributeExists("todos"))
+                .andExpect(model().attribute("nextCursor", "next"))
+                .andExpect(model().attribute("virtualScroll", true))
+                .andExpect(model().attributeExists("todoSaveDto"));
+
+        verify(todoService, times(1)).getFrontendTodoPage(null, TodoService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Test
+    public void testGetFrontendTodoListNotModified() throws Exception {
+        when(todoService.getTodoListETag()).thenReturn("\"1-5\"");
+
+        mockMvc.perform(get("/")
+                        .header("If-None-Match", "\"1-5\""))
+                .andExpect(status().isNotModified());
+
+        verify(todoService, times(0)).getFrontendTodoPage(any(), anyInt());
+    }
+
+    @Test
+    public void testGetFrontendTodoListWithCursor() throws Exception {
+        when(todoService.getFrontendTodoPage("abc", 10))
+                .thenReturn(new TodoPageDto(new ArrayList<>(), null));
+
+        mockMvc.perform(get("/")
+                        .param("cursor", "abc")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("index"))
+                .andExpect(model().attributeExists("todos"));
+
+        verify(todoService, times(1)).getFrontendTodoPage("abc", 10);
+    }
+
+    @Test
+    public void testGetFilteredFrontendTodoList() throws Exception {
+        List<TodoFrontendDto> todos = List.of(
+                new TodoFrontendDto(1L, "Todo 1", "Finished", "No deadline", "HIGH"),
+                new TodoFrontendDto(2L, "Todo 2", "Finished", "No deadline", "HIGH"));
+        when(todoService.getFilteredFrontendTodoDtoList(any(TodoFilterDto.class), eq(0), eq(2))).thenReturn(todos);
+
+        mockMvc.perform(get("/filter")
+                        .param("isDone", "true")
+                        .param("priority", "HIGH")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("index"))
+                .andExpect(model().attribute("todos", todos))
+                .andExpect(model().attribute("nextPage", 1))
                 .andExpect(model().attributeExists("todoSaveDto"));
+    }
+
+    @Test
+    public void testGetFilteredFrontendTodoListWithServiceError() throws Exception {
+        when(todoService.getFilteredFrontendTodoDtoList(any(TodoFilterDto.class), eq(0), eq(TodoService.DEFAULT_PAGE_SIZE)))
+                .thenThrow(new RuntimeException("Service failed"));
+
+        mockMvc.perform(get("/filter"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("error-page"))
+                .andExpect(model().attribute("errormessage", "Failed to get todos: Service failed"));
+    }
 
-        verify(todoService, times(1)).getFrontedTodoDtoList();
+    @Test
+    public void testSearchTodos() throws Exception {
+        List<TodoFrontendDto> todos = List.of(
+                new TodoFrontendDto(2L, "Buy milk", "Not finished", "No deadline", "LOW"),
+                new TodoFrontendDto(1L, "Buy milk and bread", "Not finished", "No deadline", "HIGH"));
+        when(todoService.searchTodos("milk", 0, 2)).thenReturn(todos);
+
+        mockMvc.perform(get("/search")
+                        .param("q", "milk")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("index"))
+                .andExpect(model().attribute("todos", todos))
+                .andExpect(model().attribute("nextSearchPage", 1))
+                .andExpect(model().attributeExists("todoSaveDto"));
+    }
+
+    @Test
+    public void testSearchTodosWithServiceError() throws Exception {
+        when(todoService.searchTodos("milk", 0, TodoService.DEFAULT_PAGE_SIZE))
+                .thenThrow(new RuntimeException("Service failed"));
+
+        mockMvc.perform(get("/search")
+                        .param("q", "milk"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("error-page"))
+                .andExpect(model().attribute("errormessage", "Failed to search todos: Service failed"));
     }
 
     @Test
@@ -220,4 +319,199 @@ class MvcControllerUnitTest {
                 .andExpect(model().attributeExists("errormessage"))
                 .andExpect(model().attribute("errormessage", "Failed to delete todo: Todo not found"));
     }
+
+    @Test
+    public void testChangeIsDoneStatuses() throws Exception {
+        mockMvc.perform(post("/updateIsDoneStatuses")
+                        .param("todoIds", "1", "2")
+                        .param("isDone", "true"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/"));
+
+        verify(todoService, times(1)).changeTodosIsDoneStatus(List.of(1L, 2L), true);
+    }
+
+    @Test
+    public void testUpdatePriorities() throws Exception {
+        mockMvc.perform(post("/updatePriorities")
+                        .param("todoIds", "1", "2")
+                        .param("priority", "null"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/"));
+
+        verify(todoService, times(1)).updateTodosPriority(List.of(1L, 2L), null);
+    }
+
+    @Test
+    public void testDeleteTodos() throws Exception {
+        mockMvc.perform(post("/deleteTodos")
+                        .param("todoIds", "1", "2"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/"));
+
+        verify(todoService, times(1)).deleteTodos(List.of(1L, 2L));
+    }
+
+    @Test
+    public void testDeleteTodosWithoutSelection() throws Exception {
+        mockMvc.perform(post("/deleteTodos"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/"));
+
+        verify(todoService, times(0)).deleteTodos(anyList());
+    }
+
+    @Test
+    public void testDeleteCompletedTodosWithError() throws Exception {
+        doThrow(new RuntimeException("Database unavailable"))
+                .when(todoService).deleteCompletedTodos();
+
+        mockMvc.perform(post("/deleteCompletedTodos"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("error-page"))
+                .andExpect(model().attribute("errormessage", "Failed to delete completed todos: Database unavailable"));
+    }
+
+    @Test
+    public void testUpdateNameRow() throws Exception {
+        TodoFrontendDto todo = new TodoFrontendDto(1L, "New todo", "Not finished", "No deadline", "No priority");
+        when(todoService.getFrontendTodo(1L)).thenReturn(todo);
+
+        mockMvc.perform(post("/row/updateName")
+                        .param("todoId", "1")
+                        .param("newName", "New todo"))
+                .andExpect(status().isOk())
+                .andExpect(view().name(MvcController.TODO_ROW))
+                .andExpect(model().attribute("todo", todo));
+
+        verify(todoService, times(1)).updateTodoName(1L, "New todo");
+    }
+
+    @Test
+    public void testUpdateNameRowWithTooLongName() throws Exception {
+        mockMvc.perform(post("/row/updateName")
+                        .param("todoId", "1")
+                        .param("newName", "a".repeat(101)))
+                .andExpect(status().isBadRequest())
+                .andExpect(view().name("error-page"))
+                .andExpect(model().attribute("errormessage", "Failed to update todo: Name cannot exceed 100 characters."));
+
+        verify(todoService, times(0)).updateTodoName(any(), any());
+    }
+
+    @Test
+    public void testChangeIsDoneStatusRow() throws Exception {
+        TodoFrontendDto todo = new TodoFrontendDto(1L, "Todo", "Finished", "No deadline", "No priority");
+        when(todoService.getFrontendTodo(1L)).thenReturn(todo);
+
+        mockMvc.perform(post("/row/changeIsDoneStatus")
+                        .param("todoId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(view().name(MvcController.TODO_ROW))
+                .andExpect(model().attribute("todo", todo));
+
+        verify(todoService, times(1)).changeTodoIsDoneStatus(1L);
+    }
+
+    @Test
+    public void testChangeIsDoneStatusRowWithInvalidId() throws Exception {
+        doThrow(new TodoNotFoundException("Todo not found"))
+                .when(todoService).changeTodoIsDoneStatus(99L);
+
+        mockMvc.perform(post("/row/changeIsDoneStatus")
+                        .param("todoId", "99"))
+                .andExpect(status().isNotFound())
+                .andExpect(view().name("error-page"))
+                .andExpect(model().attribute("errormessage", "Failed to change todo status: Todo not found"));
+    }
+
+    @Test
+    public void testUpdateDeadlineRow() throws Exception {
+        TodoFrontendDto todo = new TodoFrontendDto(1L, "Todo", "Not finished", today.plusDays(1).toString(), "No priority");
+        when(todoService.getFrontendTodo(1L)).thenReturn(todo);
+
+        mockMvc.perform(post("/row/updateDeadline")
+                        .param("todoId", "1")
+                        .param("newLocalDate", today.plusDays(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(view().name(MvcController.TODO_ROW))
+                .andExpect(model().attribute("todo", todo));
+
+        verify(todoService, times(1)).updateTodoDeadline(1L, today.plusDays(1));
+    }
+
+    @Test
+    public void testUpdateDeadlineRowInPast() throws Exception {
+        doThrow(new DeadlineCannotBeInPastException("Deadline cannot be in past"))
+                .when(todoService).updateTodoDeadline(1L, today.minusDays(1));
+
+        mockMvc.perform(post("/row/updateDeadline")
+                        .param("todoId", "1")
+                        .param("newLocalDate", today.minusDays(1).toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(view().name("error-page"))
+                .andExpect(model().attribute("errormessage", "Failed to update todo deadline: Deadline cannot be in past"));
+    }
+
+    @Test
+    public void testUpdateDeadlineRowWithInvalidDate() throws Exception {
+        mockMvc.perform(post("/row/updateDeadline")
+                        .param("todoId", "1")
+                        .param("newLocalDate", "tomorrow"))
+                .andExpect(status().isBadRequest())
+                .andExpect(view().name("error-page"));
+
+        verify(todoService, times(0)).updateTodoDeadline(any(), any());
+    }
+
+    @Test
+    public void testUpdatePriorityRow() throws Exception {
+        TodoFrontendDto todo = new TodoFrontendDto(1L, "Todo", "Not finished", "No deadline", "No priority");
+        when(todoService.getFrontendTodo(1L)).thenReturn(todo);
+
+        mockMvc.perform(post("/row/updatePriority")
+                        .param("todoId", "1")
+                        .param("priority", "null"))
+                .andExpect(status().isOk())
+                .andExpect(view().name(MvcController.TODO_ROW))
+                .andExpect(model().attribute("todo", todo));
+
+        verify(todoService, times(1)).updateTodoPriority(1L, null);
+    }
+
+    @Test
+    public void testUpdatePriorityRowWithUnknownPriority() throws Exception {
+        mockMvc.perform(post("/row/updatePriority")
+                        .param("todoId", "1")
+                        .param("priority", "URGENT"))
+                .andExpect(status().isBadRequest())
+                .andExpect(view().name("error-page"));
+
+        verify(todoService, times(0)).updateTodoPriority(any(), any());
+    }
+
+    @Test
+    public void testUpdateNameRowWhenServiceBusy() throws Exception {
+        doThrow(new ServiceBusyException("Too many concurrent requests, please try again later"))
+                .when(todoService).updateTodoName(1L, "New todo");
+
+        mockMvc.perform(post("/row/updateName")
+                        .param("todoId", "1")
+                        .param("newName", "New todo"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(view().name("error-page"))
+                .andExpect(model().attribute("errormessage", "Failed to update todo: Too many concurrent requests, please try again later"));
+    }
+
+    @Test
+    public void testUpdateNameRowWhenServiceFails() throws Exception {
+        doThrow(new RuntimeException("Database unavailable"))
+                .when(todoService).updateTodoName(1L, "New todo");
+
+        mockMvc.perform(post("/row/updateName")
+                        .param("todoId", "1")
+                        .param("newName", "New todo"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(view().name("error-page"));
+    }
 }
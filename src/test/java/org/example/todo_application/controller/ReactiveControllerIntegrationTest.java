@@ -0,0 +1,219 @@
+package org.example.todo_application.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.todo_application.dto.TodoFrontendDto;
+import org.example.todo_application.dto.TodoSaveDto;
+import org.example.todo_application.entity.Priority;
+import org.example.todo_application.entity.Todo;
+import org.example.todo_application.repository.TodoRepository;
+import org.example.todo_application.service.TodoChangeFeed;
+import org.example.todo_application.service.TodoService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Runs against a real server, so the streams are written by Tomcat as a browser would receive them.
+ * Tomcat gets two request threads, so stalled streams that held a thread each would block the other requests.
+ * Its socket send buffer is fixed at a few kilobytes, so a client that stops reading stalls its stream at once
+ * instead of after the megabytes the kernel would otherwise buffer.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"server.tomcat.threads.max=2", "server.tomcat.threads.min-spare=1"})
+public class ReactiveControllerIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TodoChangeFeed todoChangeFeed;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @TestConfiguration
+    static class SmallSendBufferConfig {
+        @Bean
+        WebServerFactoryCustomizer<TomcatServletWebServerFactory> smallSendBuffer() {
+            return factory -> factory.addConnectorCustomizers(connector -> connector.setProperty("socket.txBufSize", "4096"));
+        }
+    }
+
+    @BeforeEach
+    public void setup() {
+        todoRepository.deleteAll();
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private List<Long> seed(int count) {
+        return todoService.saveTodos(IntStream.range(0, count)
+                .mapToObj(i -> TodoSaveDto.builder().name("Todo " + i).build())
+                .toList());
+    }
+
+    @Test
+    public void testStreamTodosInIdOrder() throws Exception {
+        // Arrange
+        List<Long> todoIds = seed(1234);
+        todoService.saveTodo(TodoSaveDto.builder().name("Last").priority(Priority.HIGH).deadline(LocalDate.of(2099, 1, 31)).build());
+
+        // Act
+        HttpResponse<String> response = get("/api/reactive/todos");
+
+        // Assert
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertEquals("application/x-ndjson", response.headers().firstValue("Content-Type").orElseThrow());
+        List<TodoFrontendDto> todos = new ArrayList<>();
+        for (String line : response.body().split("\n")) {
+            todos.add(objectMapper.readValue(line, TodoFrontendDto.class));
+        }
+        Assertions.assertEquals(1235, todos.size());
+        Assertions.assertEquals(todoIds, todos.subList(0, 1234).stream().map(TodoFrontendDto::getTodoId).toList());
+        Assertions.assertEquals(objectMapper.writeValueAsString(todoService.getFrontedTodoDtoList().get(1234)),
+                objectMapper.writeValueAsString(todos.get(1234)));
+    }
+
+    @Test
+    public void testStreamWithoutTodosIsEmpty() throws Exception {
+        // Act
+        HttpResponse<String> response = get("/api/reactive/todos");
+
+        // Assert
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertEquals("", response.body());
+    }
+
+    @Test
+    public void testGetTodo() throws Exception {
+        // Arrange
+        Todo todo = todoService.saveTodo(TodoSaveDto.builder().name("Buy milk").priority(Priority.LOW).build());
+
+        // Act
+        HttpResponse<String> found = get("/api/reactive/todos/" + todo.getTodoId());
+        HttpResponse<String> missing = get("/api/reactive/todos/" + (todo.getTodoId() + 1000));
+
+        // Assert
+        Assertions.assertEquals(200, found.statusCode());
+        TodoFrontendDto todoFrontendDto = objectMapper.readValue(found.body(), TodoFrontendDto.class);
+        Assertions.assertEquals("Buy milk", todoFrontendDto.getName());
+        Assertions.assertEquals("LOW", todoFrontendDto.getPriority());
+        Assertions.assertEquals(404, missing.statusCode());
+        Assertions.assertEquals("Todo not found", missing.body());
+    }
+
+    @Test
+    public void testEventsFollowChanges() throws Exception {
+        // Arrange
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/reactive/events")).build();
+        HttpResponse<Stream<String>> response = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofLines())
+                .get(30, TimeUnit.SECONDS);
+        Assertions.assertEquals("text/event-stream", response.headers().firstValue("Content-Type").orElseThrow());
+        Iterator<String> lines = response.body().iterator();
+
+        // Act: the feed sends the state at the time it applies a change, so each change is applied before the next
+        Todo todo = todoService.saveTodo(TodoSaveDto.builder().name("Buy milk").build());
+        todoChangeFeed.awaitApplied();
+        todoService.updateTodoName(todo.getTodoId(), "Buy oat milk");
+        todoChangeFeed.awaitApplied();
+        todoService.deleteTodo(todo.getTodoId());
+
+        // Assert
+        List<String> events = Assertions.assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            List<String> received = new ArrayList<>();
+            while (received.size() < 6) {
+                String line = lines.next();
+                if (line.startsWith("event:") || line.startsWith("data:")) {
+                    received.add(line);
+                }
+            }
+            return received;
+        });
+        response.body().close();
+        Assertions.assertEquals("event:created", events.get(0));
+        Assertions.assertEquals("Buy milk", objectMapper.readValue(events.get(1).substring("data:".length()),
+                TodoFrontendDto[].class)[0].getName());
+        Assertions.assertEquals("event:updated", events.get(2));
+        Assertions.assertEquals("Buy oat milk", objectMapper.readValue(events.get(3).substring("data:".length()),
+                TodoFrontendDto[].class)[0].getName());
+        Assertions.assertEquals("event:deleted", events.get(4));
+        Assertions.assertEquals("data:[" + todo.getTodoId() + "]", events.get(5));
+    }
+
+    @Test
+    public void testStalledStreamsHoldNoThread() throws Exception {
+        // Arrange: more stalled streams than there are request threads and task executor threads
+        List<Long> todoIds = seed(5_000);
+        List<Socket> stalledClients = new ArrayList<>();
+        try {
+            for (int i = 0; i < 20; i++) {
+                Socket socket = new Socket();
+                socket.setReceiveBufferSize(1024);
+                socket.connect(new InetSocketAddress("localhost", port));
+                OutputStream outputStream = socket.getOutputStream();
+                outputStream.write(("GET /api/reactive/todos HTTP/1.1\r\nHost: localhost\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+                outputStream.flush();
+                stalledClients.add(socket);
+            }
+
+            // Act
+            HttpResponse<String> todo = get("/api/reactive/todos/" + todoIds.get(0));
+            // The request timeout covers only the headers, so the whole body gets a deadline
+            HttpResponse<String> stream = httpClient.sendAsync(
+                            HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/reactive/todos")).build(),
+                            HttpResponse.BodyHandlers.ofString())
+                    .get(30, TimeUnit.SECONDS);
+
+            // Assert
+            Assertions.assertEquals(200, todo.statusCode());
+            Assertions.assertEquals("Todo 0", objectMapper.readValue(todo.body(), TodoFrontendDto.class).getName());
+            Assertions.assertEquals(200, stream.statusCode());
+            String[] lines = stream.body().split("\n");
+            Assertions.assertEquals(5_000, lines.length);
+            Assertions.assertEquals(todoIds.get(4_999),
+                    objectMapper.readValue(lines[4_999], TodoFrontendDto.class).getTodoId());
+        } finally {
+            for (Socket socket : stalledClients) {
+                socket.close();
+            }
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package org.example.todo_application.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.todo_application.dto.TodoBatchSaveDto;
 import org.example.todo_application.dto.TodoFrontendDto;
+import org.example.todo_application.dto.TodoIdsDto;
 import org.example.todo_application.dto.TodoSaveDto;
 import org.example.todo_application.entity.Priority;
 import org.example.todo_application.entity.Todo;
+import org.example.todo_application.metrics.TodoMetrics;
 import org.example.todo_application.repository.TodoRepository;
+import org.example.todo_application.service.TodoChangeFeed;
 import org.example.todo_application.service.TodoService;
+import org.example.todo_application.service.TodoSummaryCounters;
+import org.example.todo_application.support.StatementCounts;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,10 +22,13 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -38,6 +48,15 @@ public class RestControllerIntegrationTest {
     @Autowired
     private TodoService todoService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TodoChangeFeed todoChangeFeed;
+
+    @Autowired
+    private TodoSummaryCounters todoSummaryCounters;
+
     @BeforeEach
     public void setup() {
         todoRepository.deleteAll();
@@ -99,6 +118,42 @@ public class RestControllerIntegrationTest {
         Assertions.assertEquals(0, todoRepository.count());
     }
 
+    @Test
+    public void testCreateTodos() throws Exception {
+        // Arrange
+        List<TodoSaveDto> todoSaveDtos = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            todoSaveDtos.add(TodoSaveDto.builder().name("Imported " + i).priority(Priority.LOW).build());
+        }
+        TodoBatchSaveDto todoBatchSaveDto = new TodoBatchSaveDto(todoSaveDtos);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/restController/createTodos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(todoBatchSaveDto)))
+                .andExpect(status().isCreated())
+                .andExpect(content().string("120 todos were saved"));
+
+        Assertions.assertEquals(120, todoRepository.count());
+    }
+
+    @Test
+    public void testCreateTodosWithInvalidTodoSavesNothing() throws Exception {
+        // Arrange
+        TodoBatchSaveDto todoBatchSaveDto = new TodoBatchSaveDto(List.of(
+                TodoSaveDto.builder().name("Valid").build(),
+                TodoSaveDto.builder().name("").build()));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/restController/createTodos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(todoBatchSaveDto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$['todos[1].name']").value("must not be blank"));
+
+        Assertions.assertEquals(0, todoRepository.count());
+    }
+
     @Test
     public void testGetFrontendTodoList() throws Exception {
         // Arrange
@@ -128,6 +183,180 @@ public class RestControllerIntegrationTest {
         Assertions.assertEquals("Todo 2", dtoList.get(1).getName());
     }
 
+    @Test
+    public void testGetFrontendTodoListConditionalGet() throws Exception {
+        // Arrange
+        Todo todo = todoService.saveTodo(TodoSaveDto.builder()
+                .name("Todo 1")
+                .build());
+
+        String eTag = mockMvc.perform(get("/api/restController/todos/frontendDto"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Act & Assert: unchanged list
+        mockMvc.perform(get("/api/restController/todos/frontendDto")
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        // Act & Assert: a write moves the ETag on
+        todoService.updateTodoName(todo.getTodoId(), "Renamed");
+
+        mockMvc.perform(get("/api/restController/todos/frontendDto")
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)))
+                .andExpect(jsonPath("$[0].name").value("Renamed"));
+    }
+
+    @Test
+    public void testGetFrontendTodoPage() throws Exception {
+        // Arrange
+        for (int i = 1; i <= 3; i++) {
+            todoService.saveTodo(TodoSaveDto.builder()
+                    .name("Todo " + i)
+                    .build());
+        }
+
+        // Act & Assert
+        String firstPage = mockMvc.perform(get("/api/restController/todos/frontendDto/page")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.todos.length()").value(2))
+                .andExpect(jsonPath("$.todos[0].name").value("Todo 1"))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+
+        String nextCursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/restController/todos/frontendDto/page")
+                        .param("cursor", nextCursor)
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.todos.length()").value(1))
+                .andExpect(jsonPath("$.todos[0].name").value("Todo 3"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    public void testGetTodoSummary() throws Exception {
+        // Arrange
+        todoRepository.save(Todo.builder().name("Overdue").deadline(LocalDate.now().minusDays(2)).priority(Priority.HIGH).build());
+        todoChangeFeed.reload();
+        Todo finished = todoService.saveTodo(TodoSaveDto.builder().name("Finished").priority(Priority.LOW).build());
+        Todo reprioritized = todoService.saveTodo(TodoSaveDto.builder().name("Due later").deadline(LocalDate.now().plusDays(3)).build());
+        Todo deleted = todoService.saveTodo(TodoSaveDto.builder().name("Deleted").build());
+        todoService.changeTodoIsDoneStatus(finished.getTodoId());
+        todoService.updateTodoPriority(reprioritized.getTodoId(), Priority.MEDIUM);
+        todoService.deleteTodo(deleted.getTodoId());
+        todoChangeFeed.awaitApplied();
+
+        // Act & Assert
+        StatementCounts.reset();
+        mockMvc.perform(get("/api/restController/todos/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.open").value(2))
+                .andExpect(jsonPath("$.finished").value(1))
+                .andExpect(jsonPath("$.overdue").value(1))
+                .andExpect(jsonPath("$.noPriority").value(0))
+                .andExpect(jsonPath("$.lowPriority").value(1))
+                .andExpect(jsonPath("$.mediumPriority").value(1))
+                .andExpect(jsonPath("$.highPriority").value(1));
+        StatementCounts.assertStatements(0, 0, 0, 0);
+    }
+
+    @Test
+    public void testTodoSummaryIsReconciledWithStore() throws Exception {
+        // Arrange
+        todoChangeFeed.reload();
+        todoService.saveTodo(TodoSaveDto.builder().name("Seen").build());
+        todoChangeFeed.awaitApplied();
+        // Written without a change event, like a write through another instance
+        todoRepository.save(Todo.builder().name("Unseen").isDone(true).priority(Priority.HIGH).build());
+
+        // Act
+        boolean correctedAtFirstSight = todoSummaryCounters.reconcile();
+        boolean correctedWhenSeenAgain = todoSummaryCounters.reconcile();
+
+        // Assert
+        Assertions.assertFalse(correctedAtFirstSight);
+        Assertions.assertTrue(correctedWhenSeenAgain);
+        Assertions.assertFalse(todoSummaryCounters.reconcile());
+        mockMvc.perform(get("/api/restController/todos/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.finished").value(1))
+                .andExpect(jsonPath("$.noPriority").value(1))
+                .andExpect(jsonPath("$.highPriority").value(1));
+    }
+
+    @Test
+    public void testSearchTodos() throws Exception {
+        // Arrange
+        todoService.saveTodo(TodoSaveDto.builder().name("Buy milk and bread").build());
+        todoService.saveTodo(TodoSaveDto.builder().name("Milkshake").build());
+        todoService.saveTodo(TodoSaveDto.builder().name("Walk the dog").build());
+        // Drops todos of earlier tests, which were deleted without change events
+        todoChangeFeed.reload();
+        Todo renamed = todoService.saveTodo(TodoSaveDto.builder().name("Buy eggs").build());
+        todoService.updateTodoName(renamed.getTodoId(), "Buy milk");
+        todoChangeFeed.awaitApplied();
+
+        // Act & Assert
+        StatementCounts.reset();
+        mockMvc.perform(get("/api/restController/todos/frontendDto/search")
+                        .param("q", "milk")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].name").value("Buy milk"))
+                .andExpect(jsonPath("$[1].name").value("Buy milk and bread"));
+        StatementCounts.assertStatements(1, 0, 0, 0);
+
+        mockMvc.perform(get("/api/restController/todos/frontendDto/search")
+                        .param("q", "milk")
+                        .param("page", "1")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Milkshake"));
+    }
+
+    @Test
+    public void testExportFrontendTodos() throws Exception {
+        // Arrange
+        todoService.saveTodo(TodoSaveDto.builder()
+                .name("Todo 1")
+                .build());
+        todoService.saveTodo(TodoSaveDto.builder()
+                .name("Todo 2")
+                .isDone(true)
+                .priority(Priority.HIGH)
+                .build());
+
+        // Act
+        MvcResult mvcResult = mockMvc.perform(get("/api/restController/todos/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        String[] lines = body.split("\n");
+        Assertions.assertEquals(2, lines.length);
+        TodoFrontendDto exported1 = objectMapper.readValue(lines[0], TodoFrontendDto.class);
+        TodoFrontendDto exported2 = objectMapper.readValue(lines[1], TodoFrontendDto.class);
+        Assertions.assertEquals("Todo 1", exported1.getName());
+        Assertions.assertEquals("Not finished", exported1.getIsDone());
+        Assertions.assertEquals("Todo 2", exported2.getName());
+        Assertions.assertEquals("HIGH", exported2.getPriority());
+    }
+
     @Test
     public void testUpdateTodoNameWithValidId() throws Exception {
         // Arrange
@@ -157,8 +386,8 @@ public class RestControllerIntegrationTest {
         mockMvc.perform(patch("/api/restController/updateName")
                         .param("todoId", String.valueOf(nonExistentTodoId))
                         .param("newName", "Updated Todo Name"))
-                .andExpect(status().isInternalServerError())
-                .andExpect(content().string("An unexpected error occurred: Todo not found"));
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Todo not found"));
 
         Assertions.assertEquals(0, todoRepository.count());
 
@@ -192,8 +421,8 @@ public class RestControllerIntegrationTest {
         // Act and Assert
         mockMvc.perform(patch("/api/restController/changeIsDoneStatus")
                         .param("todoId", String.valueOf(nonExistentTodoId)))
-                .andExpect(status().isInternalServerError())
-                .andExpect(content().string("An unexpected error occurred: Todo not found"));
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Todo not found"));
 
     }
 
@@ -230,8 +459,8 @@ public class RestControllerIntegrationTest {
         mockMvc.perform(patch("/api/restController/updateDeadline")
                         .param("todoId", String.valueOf(nonExistentTodoId))
                         .param("newLocalDate", newLocalDate.toString()))
-                .andExpect(status().isInternalServerError())
-                .andExpect(content().string("An unexpected error occurred: Todo not found"));
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Todo not found"));
     }
 
     @Test
@@ -284,11 +513,24 @@ public class RestControllerIntegrationTest {
         mockMvc.perform(patch("/api/restController/updatePriority")
                         .param("todoId", String.valueOf(nonExistentTodoId))
                         .param("priority", Priority.MEDIUM.toString()))
-                .andExpect(status().isInternalServerError())
-                .andExpect(content().string("An unexpected error occurred: Todo not found"));
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Todo not found"));
 
     }
 
+    @Test
+    public void testUpdateTodoPriorityWithInvalidPriority() throws Exception {
+        // Arrange
+        Todo todo = todoService.saveTodo(TodoSaveDto.builder().name("Example todo").build());
+
+        // Act and Assert
+        mockMvc.perform(patch("/api/restController/updatePriority")
+                        .param("todoId", todo.getTodoId().toString())
+                        .param("priority", "URGENT"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Invalid value for priority: URGENT"));
+    }
+
     @Test
     public void testDeleteTodoWithValidId() throws Exception {
         // Arrange
@@ -315,7 +557,110 @@ public class RestControllerIntegrationTest {
         // Act and Assert
         mockMvc.perform(delete("/api/restController/deleteTodo")
                         .param("todoId", String.valueOf(nonExistentTodoId)))
-                .andExpect(status().isInternalServerError())
-                .andExpect(content().string("An unexpected error occurred: Todo not found"));
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Todo not found"));
+    }
+
+    @Test
+    public void testBulkEndpoints() throws Exception {
+        // Arrange
+        Todo first = todoService.saveTodo(TodoSaveDto.builder().name("First").build());
+        Todo second = todoService.saveTodo(TodoSaveDto.builder().name("Second").build());
+        String bothIds = objectMapper.writeValueAsString(new TodoIdsDto(List.of(first.getTodoId(), second.getTodoId())));
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/restController/updatePriorities")
+                        .param("priority", "MEDIUM")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(bothIds))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Priority was changed for 2 todos"));
+
+        mockMvc.perform(patch("/api/restController/updateIsDoneStatuses")
+                        .param("isDone", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TodoIdsDto(List.of(first.getTodoId())))))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Status was changed for 1 todos"));
+
+        mockMvc.perform(delete("/api/restController/deleteCompletedTodos"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("1 completed todos were deleted"));
+
+        Assertions.assertEquals(Priority.MEDIUM, todoRepository.findById(second.getTodoId()).orElseThrow().getPriority());
+
+        mockMvc.perform(delete("/api/restController/deleteTodos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(bothIds))
+                .andExpect(status().isOk())
+                .andExpect(content().string("1 todos were deleted"));
+
+        Assertions.assertEquals(0, todoRepository.count());
+    }
+
+    @Test
+    public void testValidationFailureIsCounted() throws Exception {
+        // Arrange
+        double before = meterRegistry.counter(TodoMetrics.VALIDATION_FAILURES,
+                TodoMetrics.REASON_TAG, TodoMetrics.INVALID_REQUEST).count();
+
+        // Act
+        mockMvc.perform(post("/api/restController/createTodo")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(TodoSaveDto.builder().name("").build())))
+                .andExpect(status().isBadRequest());
+
+        // Assert
+        Assertions.assertEquals(before + 1, meterRegistry.counter(TodoMetrics.VALIDATION_FAILURES,
+                TodoMetrics.REASON_TAG, TodoMetrics.INVALID_REQUEST).count());
+    }
+
+    @Test
+    public void testEndpointPoolAndHibernateMetricsAreRegistered() throws Exception {
+        // Act
+        mockMvc.perform(get("/api/restController/todos/frontendDto"))
+                .andExpect(status().isOk());
+
+        // Assert
+        Assertions.assertNotNull(meterRegistry.find("http.server.requests")
+                .tag("uri", "/api/restController/todos/frontendDto").timer());
+        Assertions.assertNotNull(meterRegistry.find("hikaricp.connections.active").gauge());
+        Assertions.assertNotNull(meterRegistry.find("hibernate.statements").functionCounter());
+    }
+
+    @Test
+    public void testStatementCountsPerEndpoint() throws Exception {
+        // Arrange
+        Todo todo = todoService.saveTodo(TodoSaveDto.builder().name("Counted").build());
+
+        // Act & Assert
+        StatementCounts.reset();
+        mockMvc.perform(get("/api/restController/todos/frontendDto"))
+                .andExpect(status().isOk());
+        StatementCounts.assertStatements(1, 0, 0, 0);
+
+        StatementCounts.reset();
+        mockMvc.perform(patch("/api/restController/updateName")
+                        .param("todoId", todo.getTodoId().toString())
+                        .param("newName", "Renamed"))
+                .andExpect(status().isOk());
+        StatementCounts.assertStatements(0, 0, 1, 0);
+
+        StatementCounts.reset();
+        mockMvc.perform(patch("/api/restController/changeIsDoneStatus")
+                        .param("todoId", todo.getTodoId().toString()))
+                .andExpect(status().isOk());
+        StatementCounts.assertStatements(0, 0, 1, 0);
+
+        StatementCounts.reset();
+        mockMvc.perform(delete("/api/restController/deleteCompletedTodos"))
+                .andExpect(status().isOk());
+        StatementCounts.assertStatements(1, 0, 0, 1);
+
+        StatementCounts.reset();
+        mockMvc.perform(delete("/api/restController/deleteTodo")
+                        .param("todoId", todo.getTodoId().toString()))
+                .andExpect(status().isNotFound());
+        StatementCounts.assertStatements(0, 0, 0, 1);
     }
-}
\ No newline at end of file
+}
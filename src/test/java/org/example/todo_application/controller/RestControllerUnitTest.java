@@ -1,19 +1,33 @@
 package org.example.todo_application.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.todo_application.dto.TodoBatchSaveDto;
+import org.example.todo_application.dto.TodoFilterDto;
 import org.example.todo_application.dto.TodoFrontendDto;
+import org.example.todo_application.dto.TodoIdsDto;
+import org.example.todo_application.dto.TodoPageDto;
 import org.example.todo_application.dto.TodoSaveDto;
+import org.example.todo_application.dto.TodoSortField;
+import org.example.todo_application.dto.TodoSummaryDto;
 import org.example.todo_application.entity.Priority;
+import org.example.todo_application.entity.Todo;
 import org.example.todo_application.exception.DeadlineCannotBeInPastException;
 import org.example.todo_application.exception.GlobalExceptionHandler;
+import org.example.todo_application.exception.InvalidCursorException;
+import org.example.todo_application.exception.ServiceBusyException;
 import org.example.todo_application.service.TodoService;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.LocalDate;
@@ -29,6 +43,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 class RestControllerUnitTest {
 
     private MockMvc mockMvc;
+    @Spy
     private ObjectMapper objectMapper;
 
     @Mock
@@ -95,6 +110,36 @@ class RestControllerUnitTest {
         verify(todoService, times(0)).saveTodo(any(TodoSaveDto.class));
     }
 
+    @Test
+    public void testCreateTodos() throws Exception {
+        TodoBatchSaveDto todoBatchSaveDto = new TodoBatchSaveDto(List.of(
+                TodoSaveDto.builder().name("Todo 1").build(),
+                TodoSaveDto.builder().name("Todo 2").priority(Priority.HIGH).build()));
+
+        when(todoService.saveTodos(anyList())).thenReturn(List.of(1L, 2L));
+
+        mockMvc.perform(post("/api/restController/createTodos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(todoBatchSaveDto)))
+                .andExpect(status().isCreated())
+                .andExpect(content().string("2 todos were saved"));
+
+        verify(todoService, times(1)).saveTodos(anyList());
+    }
+
+    @Test
+    public void testCreateTodosWithEmptyList() throws Exception {
+        TodoBatchSaveDto todoBatchSaveDto = new TodoBatchSaveDto(new ArrayList<>());
+
+        mockMvc.perform(post("/api/restController/createTodos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(todoBatchSaveDto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.todos").value("must not be empty"));
+
+        verify(todoService, times(0)).saveTodos(anyList());
+    }
+
     @Test
     public void testGetFrontendTodoList() throws Exception {
         List<TodoFrontendDto> todoList = new ArrayList<>();
@@ -110,6 +155,169 @@ class RestControllerUnitTest {
         verify(todoService, times(1)).getFrontedTodoDtoList();
     }
 
+    @Test
+    public void testGetFrontendTodoListNotModified() throws Exception {
+        when(todoService.getTodoListETag()).thenReturn("\"1-5\"");
+
+        mockMvc.perform(get("/api/restController/todos/frontendDto")
+                        .header("If-None-Match", "\"1-5\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"1-5\""))
+                .andExpect(content().string(""));
+
+        verify(todoService, times(0)).getFrontedTodoDtoList();
+    }
+
+    @Test
+    public void testGetFrontendTodoListWithOutdatedETag() throws Exception {
+        when(todoService.getTodoListETag()).thenReturn("\"1-6\"");
+        when(todoService.getFrontedTodoDtoList()).thenReturn(new ArrayList<>());
+
+        mockMvc.perform(get("/api/restController/todos/frontendDto")
+                        .header("If-None-Match", "\"1-5\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-6\""))
+                .andExpect(content().json("[]"));
+
+        verify(todoService, times(1)).getFrontedTodoDtoList();
+    }
+
+    @Test
+    public void testGetFrontendTodoPageNotModified() throws Exception {
+        when(todoService.getTodoListETag()).thenReturn("\"1-5\"");
+
+        mockMvc.perform(get("/api/restController/todos/frontendDto/page")
+                        .header("If-None-Match", "\"1-5\""))
+                .andExpect(status().isNotModified());
+
+        verify(todoService, times(0)).getFrontendTodoPage(any(), anyInt());
+    }
+
+    @Test
+    public void testGetFrontendTodoPage() throws Exception {
+        List<TodoFrontendDto> todoList = new ArrayList<>();
+        todoList.add(new TodoFrontendDto(1L, "Todo 1", "false", null, "LOW"));
+        TodoPageDto todoPage = new TodoPageDto(todoList, "Mg");
+
+        when(todoService.getFrontendTodoPage("MQ", 1)).thenReturn(todoPage);
+
+        mockMvc.perform(get("/api/restController/todos/frontendDto/page")
+                        .param("cursor", "MQ")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(todoPage)));
+
+        verify(todoService, times(1)).getFrontendTodoPage("MQ", 1);
+    }
+
+    @Test
+    public void testGetFrontendTodoPageWithInvalidCursor() throws Exception {
+        when(todoService.getFrontendTodoPage("bad", TodoService.DEFAULT_PAGE_SIZE))
+                .thenThrow(new InvalidCursorException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/restController/todos/frontendDto/page")
+                        .param("cursor", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Invalid cursor"));
+    }
+
+    @Test
+    public void testGetFilteredFrontendTodoList() throws Exception {
+        List<TodoFrontendDto> todoList = new ArrayList<>();
+        todoList.add(new TodoFrontendDto(1L, "Todo 1", "Not finished", today.plusDays(1).toString(), "HIGH"));
+
+        when(todoService.getFilteredFrontendTodoDtoList(any(TodoFilterDto.class), eq(0), eq(20))).thenReturn(todoList);
+
+        mockMvc.perform(get("/api/restController/todos/frontendDto/filter")
+                        .param("isDone", "false")
+                        .param("priority", "HIGH")
+                        .param("deadlineFrom", today.toString())
+                        .param("sortBy", "PRIORITY")
+                        .param("direction", "DESC")
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(todoList)));
+
+        ArgumentCaptor<TodoFilterDto> filterCaptor = ArgumentCaptor.forClass(TodoFilterDto.class);
+        verify(todoService, times(1)).getFilteredFrontendTodoDtoList(filterCaptor.capture(), eq(0), eq(20));
+        TodoFilterDto filter = filterCaptor.getValue();
+        Assertions.assertEquals(Boolean.FALSE, filter.getIsDone());
+        Assertions.assertEquals(Priority.HIGH, filter.getPriority());
+        Assertions.assertEquals(today, filter.getDeadlineFrom());
+        Assertions.assertNull(filter.getDeadlineTo());
+        Assertions.assertEquals(TodoSortField.PRIORITY, filter.getSortBy());
+    }
+
+    @Test
+    public void testSearchTodos() throws Exception {
+        List<TodoFrontendDto> todoList = List.of(
+                new TodoFrontendDto(2L, "Buy milk", "Not finished", "No deadline", "LOW"),
+                new TodoFrontendDto(1L, "Buy milk and bread", "Not finished", "No deadline", "HIGH"));
+
+        when(todoService.searchTodos("milk", 1, 2)).thenReturn(todoList);
+
+        mockMvc.perform(get("/api/restController/todos/frontendDto/search")
+                        .param("q", "milk")
+                        .param("page", "1")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(todoList)));
+
+        verify(todoService, times(1)).searchTodos("milk", 1, 2);
+    }
+
+    @Test
+    public void testGetTodoSummary() throws Exception {
+        TodoSummaryDto summary = new TodoSummaryDto(5, 3, 2, 1, 1, 2, 1, 1);
+
+        when(todoService.getTodoSummary()).thenReturn(summary);
+
+        mockMvc.perform(get("/api/restController/todos/summary"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(summary)));
+
+        verify(todoService, times(1)).getTodoSummary();
+    }
+
+    @Test
+    public void testServiceBusyReturnsServiceUnavailable() throws Exception {
+        when(todoService.getTodoSummary()).thenThrow(new ServiceBusyException("Too many concurrent requests, please try again later"));
+
+        mockMvc.perform(get("/api/restController/todos/summary"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(content().string("Too many concurrent requests, please try again later"));
+    }
+
+    @Test
+    public void testExportFrontendTodos() throws Exception {
+        TodoFrontendDto todo1 = new TodoFrontendDto(1L, "Todo 1", "Not finished", "No deadline", "LOW");
+        TodoFrontendDto todo2 = new TodoFrontendDto(TodoService.MAX_PAGE_SIZE + 1L, "Todo 2", "Finished", "No deadline", "HIGH");
+
+        List<TodoFrontendDto> fullPage = new ArrayList<>();
+        for (long todoId = 1; todoId <= TodoService.MAX_PAGE_SIZE; todoId++) {
+            fullPage.add(todoId == 1 ? todo1 : new TodoFrontendDto(todoId, "Todo " + todoId, "Not finished", "No deadline", "LOW"));
+        }
+        when(todoService.getFrontendTodosAfter(0L, TodoService.MAX_PAGE_SIZE)).thenReturn(fullPage);
+        when(todoService.getFrontendTodosAfter((long) TodoService.MAX_PAGE_SIZE, TodoService.MAX_PAGE_SIZE)).thenReturn(List.of(todo2));
+        StringBuilder expected = new StringBuilder();
+        for (TodoFrontendDto todo : fullPage) {
+            expected.append(objectMapper.writeValueAsString(todo)).append('\n');
+        }
+        expected.append(objectMapper.writeValueAsString(todo2)).append('\n');
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/restController/todos/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(expected.toString()));
+
+        // A short page is the last one
+        verify(todoService, times(2)).getFrontendTodosAfter(anyLong(), eq(TodoService.MAX_PAGE_SIZE));
+    }
+
     @Test
     public void testUpdateTodoNameWithValidId() throws Exception {
         mockMvc.perform(patch("/api/restController/updateName")
@@ -162,6 +370,17 @@ class RestControllerUnitTest {
         verify(todoService, times(1)).changeTodoIsDoneStatus(nonExistentTodoId);
     }
 
+    @Test
+    void testChangeTodoIsDoneStatusWithConcurrentModification() throws Exception {
+        doThrow(new ObjectOptimisticLockingFailureException(Todo.class, 1L))
+                .when(todoService).changeTodoIsDoneStatus(1L);
+
+        mockMvc.perform(patch("/api/restController/changeIsDoneStatus")
+                        .param("todoId", "1"))
+                .andExpect(status().isConflict())
+                .andExpect(content().string("Todo was modified concurrently, please reload and try again"));
+    }
+
     @Test
     void testUpdateTodoDeadlineWithValidId() throws Exception {
         mockMvc.perform(patch("/api/restController/updateDeadline")
@@ -255,5 +474,62 @@ class RestControllerUnitTest {
 
         verify(todoService, times(1)).deleteTodo(nonExistentTodoId);
     }
-}
 
+    @Test
+    public void testChangeIsDoneStatuses() throws Exception {
+        TodoIdsDto todoIdsDto = new TodoIdsDto(List.of(1L, 2L));
+        when(todoService.changeTodosIsDoneStatus(List.of(1L, 2L), true)).thenReturn(2);
+
+        mockMvc.perform(patch("/api/restController/updateIsDoneStatuses")
+                        .param("isDone", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(todoIdsDto)))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Status was changed for 2 todos"));
+    }
+
+    @Test
+    public void testUpdatePriorities() throws Exception {
+        TodoIdsDto todoIdsDto = new TodoIdsDto(List.of(1L));
+        when(todoService.updateTodosPriority(List.of(1L), Priority.LOW)).thenReturn(1);
+
+        mockMvc.perform(patch("/api/restController/updatePriorities")
+                        .param("priority", "LOW")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(todoIdsDto)))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Priority was changed for 1 todos"));
+    }
+
+    @Test
+    public void testDeleteTodos() throws Exception {
+        TodoIdsDto todoIdsDto = new TodoIdsDto(List.of(1L, 2L, 3L));
+        when(todoService.deleteTodos(List.of(1L, 2L, 3L))).thenReturn(3);
+
+        mockMvc.perform(delete("/api/restController/deleteTodos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(todoIdsDto)))
+                .andExpect(status().isOk())
+                .andExpect(content().string("3 todos were deleted"));
+    }
+
+    @Test
+    public void testDeleteTodosWithoutIds() throws Exception {
+        mockMvc.perform(delete("/api/restController/deleteTodos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"todoIds\": []}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.todoIds").value("must not be empty"));
+
+        verify(todoService, times(0)).deleteTodos(anyList());
+    }
+
+    @Test
+    public void testDeleteCompletedTodos() throws Exception {
+        when(todoService.deleteCompletedTodos()).thenReturn(4);
+
+        mockMvc.perform(delete("/api/restController/deleteCompletedTodos"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("4 completed todos were deleted"));
+    }
+}
@@ -0,0 +1,218 @@
+package org.example.todo_application.journal;
+
+import org.example.todo_application.dto.TodoFrontendDto;
+import org.example.todo_application.entity.Priority;
+import org.example.todo_application.entity.Todo;
+import org.example.todo_application.mapper.TodoMapper;
+import org.example.todo_application.repository.InMemoryTodoStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.*;
+
+public class FileTodoJournalTest {
+    private final List<FileTodoJournal> journals = new ArrayList<>();
+
+    @TempDir
+    private Path directory;
+
+    @AfterEach
+    void closeJournals() {
+        journals.forEach(FileTodoJournal::close);
+    }
+
+    private InMemoryTodoStore openStore(long snapshotAfterRecords) {
+        FileTodoJournal todoJournal = new FileTodoJournal(directory, true, snapshotAfterRecords);
+        journals.add(todoJournal);
+        return new InMemoryTodoStore(new TodoMapper(), todoJournal);
+    }
+
+    private InMemoryTodoStore reopenStore(long snapshotAfterRecords) {
+        journals.forEach(FileTodoJournal::close);
+        return openStore(snapshotAfterRecords);
+    }
+
+    private static Todo save(InMemoryTodoStore todoStore, String name) {
+        return todoStore.save(Todo.builder().name(name).build());
+    }
+
+    private List<Path> files(String suffix) throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.filter(path -> path.toString().endsWith(suffix)).sorted().toList();
+        }
+    }
+
+    @Test
+    public void testRecoversWritesAfterRestart() {
+        // Arrange
+        InMemoryTodoStore todoStore = openStore(1000);
+        Todo kept = todoStore.save(Todo.builder().name("Kept").priority(Priority.HIGH).deadline(LocalDate.of(2030, 1, 1)).build());
+        Todo deleted = save(todoStore, "Deleted");
+        todoStore.updateName(kept.getTodoId(), "Kept ünïcode");
+        todoStore.toggleIsDone(kept.getTodoId());
+        todoStore.deleteByTodoId(deleted.getTodoId());
+
+        // Act
+        InMemoryTodoStore recovered = reopenStore(1000);
+        Todo added = save(recovered, "Added");
+
+        // Assert
+        List<TodoFrontendDto> todos = recovered.findAllFrontendDtos();
+        Assertions.assertEquals(2, todos.size());
+        Assertions.assertEquals("Kept ünïcode", todos.get(0).getName());
+        Assertions.assertEquals(TodoMapper.FINISHED, todos.get(0).getIsDone());
+        Assertions.assertEquals("HIGH", todos.get(0).getPriority());
+        Assertions.assertEquals("2030-01-01", todos.get(0).getDeadline());
+        Assertions.assertEquals(2, recovered.streamAllByOrderByTodoIdAsc().findFirst().orElseThrow().getVersion());
+        // The id of the deleted todo is not handed out again
+        Assertions.assertTrue(added.getTodoId() > deleted.getTodoId());
+    }
+
+    @Test
+    public void testTruncatesIncompleteWriteAtEndOfLog() throws IOException {
+        // Arrange
+        InMemoryTodoStore todoStore = openStore(1000);
+        save(todoStore, "First");
+        save(todoStore, "Second");
+        journals.forEach(FileTodoJournal::close);
+        Path segment = files(".log").get(0);
+        long intactSize = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            // Frame header of a record whose payload never made it to disk
+            channel.write(ByteBuffer.allocate(8).putInt(40).putInt(12345).flip());
+        }
+
+        // Act
+        InMemoryTodoStore recovered = reopenStore(1000);
+        save(recovered, "Third");
+        InMemoryTodoStore recoveredAgain = reopenStore(1000);
+
+        // Assert
+        Assertions.assertEquals(List.of("First", "Second", "Third"),
+                recoveredAgain.findAllFrontendDtos().stream().map(TodoFrontendDto::getName).toList());
+        Assertions.assertTrue(Files.size(segment) > intactSize);
+    }
+
+    @Test
+    public void testDropsRecordWithBadChecksumAtEndOfLog() throws IOException {
+        // Arrange
+        InMemoryTodoStore todoStore = openStore(1000);
+        save(todoStore, "First");
+        save(todoStore, "Second");
+        journals.forEach(FileTodoJournal::close);
+        Path segment = files(".log").get(0);
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[bytes.length - 1] ^= 0x7f;
+        Files.write(segment, bytes);
+
+        // Act
+        InMemoryTodoStore recovered = reopenStore(1000);
+
+        // Assert
+        Assertions.assertEquals(List.of("First"),
+                recovered.findAllFrontendDtos().stream().map(TodoFrontendDto::getName).toList());
+    }
+
+    @Test
+    public void testSnapshotReplacesOlderLog() throws Exception {
+        // Arrange
+        InMemoryTodoStore todoStore = openStore(10);
+        Todo todo = save(todoStore, "Task");
+        for (int i = 0; i < 25; i++) {
+            todoStore.toggleIsDone(todo.getTodoId());
+        }
+        save(todoStore, "Other");
+
+        // Act
+        long deadline = System.currentTimeMillis() + 10_000;
+        while ((files(".snapshot").isEmpty() || files(".log").size() > 1) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        InMemoryTodoStore recovered = reopenStore(10);
+
+        // Assert
+        Assertions.assertFalse(files(".snapshot").isEmpty());
+        Assertions.assertEquals(1, files(".log").size());
+        List<TodoFrontendDto> todos = recovered.findAllFrontendDtos();
+        Assertions.assertEquals(2, todos.size());
+        Assertions.assertEquals(TodoMapper.FINISHED, todos.get(0).getIsDone());
+        Assertions.assertEquals(25, recovered.streamAllByOrderByTodoIdAsc().findFirst().orElseThrow().getVersion());
+    }
+
+    @Test
+    public void testConcurrentWritersAreAllDurable() throws Exception {
+        // Arrange
+        InMemoryTodoStore todoStore = openStore(1000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            int writer = thread;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 50; i++) {
+                    save(todoStore, "Todo " + writer + "-" + i);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        InMemoryTodoStore recovered = reopenStore(1000);
+
+        // Assert
+        Assertions.assertEquals(400, recovered.findAllFrontendDtos().size());
+    }
+
+    @Test
+    public void testFailedSyncMakesStoreReadOnly() throws IOException {
+        // Arrange
+        FileChannel failingSegment = mock(FileChannel.class);
+        when(failingSegment.write(any(ByteBuffer.class))).thenAnswer(invocation -> {
+            ByteBuffer buffer = invocation.getArgument(0);
+            int written = buffer.remaining();
+            buffer.position(buffer.limit());
+            return written;
+        });
+        doThrow(new IOException("Disk failed")).when(failingSegment).force(anyBoolean());
+        FileTodoJournal todoJournal = new FileTodoJournal(directory, true, 1000) {
+            @Override
+            FileChannel openSegment(long segmentGeneration) {
+                return failingSegment;
+            }
+        };
+        journals.add(todoJournal);
+        InMemoryTodoStore todoStore = new InMemoryTodoStore(new TodoMapper(), todoJournal);
+
+        // Act
+        Assertions.assertThrows(DataAccessResourceFailureException.class, () -> save(todoStore, "Lost"));
+
+        // Assert
+        Assertions.assertThrows(DataAccessResourceFailureException.class, () -> save(todoStore, "Rejected"));
+        // Reads ran ahead of the failed sync; the write is gone after a restart
+        Assertions.assertEquals(1, todoStore.findAllFrontendDtos().size());
+        Long lostTodoId = todoStore.findAllFrontendDtos().get(0).getTodoId();
+        Assertions.assertThrows(DataAccessResourceFailureException.class, () -> todoStore.updateName(lostTodoId, "Renamed"));
+        Assertions.assertTrue(reopenStore(1000).findAllFrontendDtos().isEmpty());
+    }
+}
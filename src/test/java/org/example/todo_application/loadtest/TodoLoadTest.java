@@ -0,0 +1,258 @@
+package org.example.todo_application.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.example.todo_application.dto.TodoSaveDto;
+import org.example.todo_application.entity.Priority;
+import org.example.todo_application.service.TodoService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Open-loop HTTP load test: a fixed request rate is spread over worker threads, and each request's latency
+ * is measured from the time it was scheduled to start rather than from when it was actually sent. A stalled
+ * server therefore shows up as latency for every request that should have been sent meanwhile, instead of
+ * being hidden by the load generator slowing down (coordinated omission).
+ * <p>
+ * Only runs with {@code -Dloadtest=true} (see the loadtest Maven profile); add
+ * {@code -Dspring.profiles.active=in-memory} to take the database out of the measurement. The report, with
+ * throughput and p50/p99/p99.9 per endpoint, is logged and written to {@code target/loadtest/<threads>}.
+ * <p>
+ * To compare request execution models, run it once as is and once with
+ * {@code -Dspring.profiles.active=virtual-threads} at a rate above what the platform thread pool
+ * sustains; the reports land in {@code platform-threads} and {@code virtual-threads}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"todo.cache.enabled=true", "logging.level.org.example.todo_application=WARN"})
+public class TodoLoadTest {
+    private static final int RATE = Integer.getInteger("loadtest.rate", 200);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.durationSeconds", 30);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmupSeconds", 5);
+    private static final int THREADS = Integer.getInteger("loadtest.threads", 32);
+    private static final int SEED_TODOS = Integer.getInteger("loadtest.seedTodos", 1000);
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final Path REPORT_DIRECTORY = Path.of("target", "loadtest");
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Autowired
+    private TodoService todoService;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final Map<String, Histogram> histograms = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> errors = new LinkedHashMap<>();
+    private final ConcurrentLinkedQueue<Long> deletableTodoIds = new ConcurrentLinkedQueue<>();
+    private final List<Long> stableTodoIds = new ArrayList<>();
+    private final AtomicLong createdTodos = new AtomicLong();
+
+    private enum Operation {
+        // Weights are percentages: 90% list reads, 10% writes
+        REST_LIST("GET /api/restController/todos/frontendDto", 40),
+        REST_PAGE("GET /api/restController/todos/frontendDto/page", 30),
+        MVC_INDEX("GET /", 20),
+        CREATE("POST /api/restController/createTodo", 4),
+        UPDATE_NAME("PATCH /api/restController/updateName", 2),
+        TOGGLE_STATUS("PATCH /api/restController/changeIsDoneStatus", 2),
+        DELETE("DELETE /api/restController/deleteTodo", 2);
+
+        private final String label;
+        private final int weight;
+
+        Operation(String label, int weight) {
+            this.label = label;
+            this.weight = weight;
+        }
+    }
+
+    @Test
+    public void runMixedWorkload() throws Exception {
+        // Arrange
+        List<TodoSaveDto> todoSaveDtos = new ArrayList<>();
+        for (int i = 0; i < SEED_TODOS * 2; i++) {
+            todoSaveDtos.add(TodoSaveDto.builder().name("Seed " + i).priority(Priority.MEDIUM).build());
+        }
+        List<Long> seededIds = todoService.saveTodos(todoSaveDtos);
+        // Updates target one half of the seeded todos, deletes consume the other half
+        stableTodoIds.addAll(seededIds.subList(0, SEED_TODOS));
+        deletableTodoIds.addAll(seededIds.subList(SEED_TODOS, seededIds.size()));
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation.label, new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3));
+            errors.put(operation.label, new AtomicLong());
+        }
+
+        // Act
+        runPhase(WARMUP_SECONDS);
+        histograms.values().forEach(Histogram::reset);
+        errors.values().forEach(counter -> counter.set(0));
+        runPhase(DURATION_SECONDS);
+
+        // Assert
+        writeReport();
+        errors.forEach((label, count) -> Assertions.assertEquals(0, count.get(), "Failed requests for " + label));
+    }
+
+    private void runPhase(int seconds) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) * THREADS / RATE;
+        long startNanos = System.nanoTime();
+        long endNanos = startNanos + TimeUnit.SECONDS.toNanos(seconds);
+        for (int thread = 0; thread < THREADS; thread++) {
+            // Stagger the threads so their requests are spread evenly over each interval
+            long firstNanos = startNanos + intervalNanos * thread / THREADS;
+            executor.execute(() -> runWorker(firstNanos, intervalNanos, endNanos));
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(seconds + 60L, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void runWorker(long firstNanos, long intervalNanos, long endNanos) {
+        for (long intendedNanos = firstNanos; intendedNanos < endNanos; intendedNanos += intervalNanos) {
+            long waitNanos = intendedNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                sleepNanos(waitNanos);
+            }
+            Operation operation = pickOperation();
+            boolean succeeded;
+            try {
+                succeeded = send(operation);
+            } catch (IOException e) {
+                succeeded = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            histograms.get(operation.label).recordValue(Math.min(System.nanoTime() - intendedNanos, HIGHEST_TRACKABLE_NANOS));
+            if (!succeeded) {
+                errors.get(operation.label).incrementAndGet();
+            }
+        }
+    }
+
+    private Operation pickOperation() {
+        int roll = ThreadLocalRandom.current().nextInt(100);
+        for (Operation operation : Operation.values()) {
+            roll -= operation.weight;
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        return Operation.REST_LIST;
+    }
+
+    private boolean send(Operation operation) throws IOException, InterruptedException {
+        Long todoId = stableTodoIds.get(ThreadLocalRandom.current().nextInt(stableTodoIds.size()));
+        HttpRequest request = switch (operation) {
+            case REST_LIST -> get("/api/restController/todos/frontendDto");
+            case REST_PAGE -> get("/api/restController/todos/frontendDto/page");
+            case MVC_INDEX -> get("/");
+            case CREATE -> request("/api/restController/createTodo")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"name\": \"Load " + createdTodos.incrementAndGet() + "\", \"priority\": \"LOW\"}"))
+                    .build();
+            case UPDATE_NAME -> request("/api/restController/updateName?todoId=" + todoId + "&newName="
+                    + URLEncoder.encode("Renamed " + System.nanoTime(), StandardCharsets.UTF_8))
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                    .build();
+            case TOGGLE_STATUS -> request("/api/restController/changeIsDoneStatus?todoId=" + todoId)
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                    .build();
+            case DELETE -> {
+                Long deletableId = deletableTodoIds.poll();
+                if (deletableId == null) {
+                    yield get("/api/restController/todos/frontendDto/page");
+                }
+                yield request("/api/restController/deleteTodo?todoId=" + deletableId).DELETE().build();
+            }
+        };
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        return response.statusCode() < 400;
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30));
+    }
+
+    private static void sleepNanos(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeReport() throws IOException {
+        boolean servedOnVirtualThreads = virtualThreads && Runtime.version().feature() >= 21;
+        Path reportDirectory = REPORT_DIRECTORY.resolve(servedOnVirtualThreads ? "virtual-threads" : "platform-threads");
+        Files.createDirectories(reportDirectory);
+        StringBuilder report = new StringBuilder(String.format(
+                "Load test: %d req/s target, %d threads, %d s measured after %d s warm-up, %d seeded todos, served on %s%n",
+                RATE, THREADS, DURATION_SECONDS, WARMUP_SECONDS, SEED_TODOS,
+                servedOnVirtualThreads ? "virtual threads" : "platform threads"));
+        report.append(String.format("%-50s %9s %9s %9s %9s %9s %9s %7s%n",
+                "Endpoint", "Requests", "Req/s", "p50 ms", "p99 ms", "p99.9 ms", "Max ms", "Errors"));
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation.label);
+            report.append(String.format("%-50s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %7d%n",
+                    operation.label,
+                    histogram.getTotalCount(),
+                    histogram.getTotalCount() / (double) DURATION_SECONDS,
+                    toMillis(histogram.getValueAtPercentile(50)),
+                    toMillis(histogram.getValueAtPercentile(99)),
+                    toMillis(histogram.getValueAtPercentile(99.9)),
+                    toMillis(histogram.getMaxValue()),
+                    errors.get(operation.label).get()));
+            Path distributionFile = reportDirectory.resolve(operation.name().toLowerCase() + ".hgrm");
+            try (PrintStream printStream = new PrintStream(Files.newOutputStream(distributionFile), true, StandardCharsets.UTF_8)) {
+                histogram.outputPercentileDistribution(printStream, 1_000_000.0);
+            }
+        }
+        Files.writeString(reportDirectory.resolve("report.txt"), report);
+        log.warn("\n{}", report);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,146 @@
+package org.example.todo_application.reactive;
+
+import org.example.todo_application.dto.TodoFrontendDto;
+import org.example.todo_application.entity.Priority;
+import org.example.todo_application.entity.Todo;
+import org.example.todo_application.event.TodoChangeType;
+import org.example.todo_application.mapper.TodoMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class TodoEventBroadcasterTest {
+    private static final int CLIENT_BUFFER = 4;
+
+    private TodoEventBroadcaster todoEventBroadcaster;
+
+    @BeforeEach
+    void setup() {
+        todoEventBroadcaster = new TodoEventBroadcaster(new TodoMapper(), CLIENT_BUFFER);
+    }
+
+    @AfterEach
+    void shutdown() {
+        todoEventBroadcaster.destroy();
+    }
+
+    private Todo todo(long todoId) {
+        return Todo.builder().todoId(todoId).name("Todo " + todoId).priority(Priority.HIGH).build();
+    }
+
+    // Requests the given number of events up front and records what it receives
+    private static class RecordingClient extends BaseSubscriber<TodoStreamEvent> {
+        private final long demand;
+        private final BlockingQueue<TodoStreamEvent> events = new LinkedBlockingQueue<>();
+        private final BlockingQueue<Throwable> errors = new LinkedBlockingQueue<>();
+
+        RecordingClient(long demand) {
+            this.demand = demand;
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            if (demand > 0) {
+                subscription.request(demand);
+            }
+        }
+
+        @Override
+        protected void hookOnNext(TodoStreamEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        protected void hookOnError(Throwable throwable) {
+            errors.add(throwable);
+        }
+
+        TodoStreamEvent nextEvent() throws InterruptedException {
+            TodoStreamEvent event = events.poll(5, TimeUnit.SECONDS);
+            Assertions.assertNotNull(event, "No event received");
+            return event;
+        }
+    }
+
+    @Test
+    public void testChangesReachEveryClient() throws InterruptedException {
+        // Arrange
+        RecordingClient first = new RecordingClient(Long.MAX_VALUE);
+        RecordingClient second = new RecordingClient(Long.MAX_VALUE);
+        todoEventBroadcaster.events().subscribe(first);
+        todoEventBroadcaster.events().subscribe(second);
+
+        // Act
+        todoEventBroadcaster.changed(TodoChangeType.CREATED, List.of(todo(1), todo(2)));
+        todoEventBroadcaster.changed(TodoChangeType.UPDATED, List.of(todo(1)));
+        todoEventBroadcaster.remove(List.of(2L));
+
+        // Assert
+        for (RecordingClient client : List.of(first, second)) {
+            TodoStreamEvent created = client.nextEvent();
+            Assertions.assertEquals(TodoChangeType.CREATED, created.getType());
+            Assertions.assertEquals(List.of(1L, 2L), created.getTodos().stream().map(TodoFrontendDto::getTodoId).toList());
+            Assertions.assertEquals("HIGH", created.getTodos().get(0).getPriority());
+            TodoStreamEvent updated = client.nextEvent();
+            Assertions.assertEquals(TodoChangeType.UPDATED, updated.getType());
+            Assertions.assertEquals("Todo 1", updated.getTodos().get(0).getName());
+            TodoStreamEvent deleted = client.nextEvent();
+            Assertions.assertEquals(TodoChangeType.DELETED, deleted.getType());
+            Assertions.assertEquals(List.of(2L), deleted.getTodoIds());
+        }
+        Assertions.assertEquals(2, todoEventBroadcaster.getNumberOfClients());
+    }
+
+    @Test
+    public void testFullLoadIsNotSent() throws InterruptedException {
+        // Arrange
+        RecordingClient client = new RecordingClient(Long.MAX_VALUE);
+        todoEventBroadcaster.events().subscribe(client);
+
+        // Act
+        todoEventBroadcaster.clear();
+        todoEventBroadcaster.put(List.of(todo(1), todo(2)));
+        todoEventBroadcaster.loaded();
+        todoEventBroadcaster.changed(TodoChangeType.UPDATED, List.of(todo(3)));
+
+        // Assert
+        TodoStreamEvent event = client.nextEvent();
+        Assertions.assertEquals(TodoChangeType.UPDATED, event.getType());
+        Assertions.assertEquals(3L, event.getTodos().get(0).getTodoId());
+    }
+
+    @Test
+    public void testClientThatFallsBehindIsDropped() throws InterruptedException {
+        // Arrange
+        RecordingClient stalled = new RecordingClient(0);
+        RecordingClient reading = new RecordingClient(Long.MAX_VALUE);
+        todoEventBroadcaster.events().subscribe(stalled);
+        todoEventBroadcaster.events().subscribe(reading);
+
+        // Act
+        for (long todoId = 1; todoId <= CLIENT_BUFFER; todoId++) {
+            todoEventBroadcaster.changed(TodoChangeType.UPDATED, List.of(todo(todoId)));
+        }
+        List<Long> received = new ArrayList<>();
+        for (int i = 0; i < CLIENT_BUFFER; i++) {
+            received.add(reading.nextEvent().getTodos().get(0).getTodoId());
+        }
+        todoEventBroadcaster.changed(TodoChangeType.UPDATED, List.of(todo(CLIENT_BUFFER + 1)));
+        received.add(reading.nextEvent().getTodos().get(0).getTodoId());
+
+        // Assert
+        Assertions.assertNotNull(stalled.errors.poll(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(stalled.events.isEmpty());
+        Assertions.assertEquals(List.of(1L, 2L, 3L, 4L, 5L), received);
+        Assertions.assertTrue(reading.errors.isEmpty());
+    }
+}
@@ -0,0 +1,212 @@
+package org.example.todo_application.repository;
+
+import org.example.todo_application.dto.TodoFilterDto;
+import org.example.todo_application.dto.TodoFrontendDto;
+import org.example.todo_application.dto.TodoSortField;
+import org.example.todo_application.entity.Priority;
+import org.example.todo_application.entity.Todo;
+import org.example.todo_application.mapper.TodoMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+public class InMemoryTodoStoreTest {
+    private final LocalDate today = LocalDate.now();
+    private InMemoryTodoStore todoStore;
+
+    @BeforeEach
+    void setup() {
+        todoStore = new InMemoryTodoStore(new TodoMapper());
+    }
+
+    private Todo save(String name, boolean isDone, LocalDate deadline, Priority priority) {
+        return todoStore.save(Todo.builder().name(name).isDone(isDone).deadline(deadline).priority(priority).build());
+    }
+
+    @Test
+    public void testSaveAssignsIdsAndListsInIdOrder() {
+        // Arrange
+        Todo first = save("First", false, null, null);
+        Todo second = save("Second", true, today, Priority.HIGH);
+
+        // Act
+        List<TodoFrontendDto> todos = todoStore.findAllFrontendDtos();
+
+        // Assert
+        Assertions.assertTrue(second.getTodoId() > first.getTodoId());
+        Assertions.assertEquals(2, todos.size());
+        Assertions.assertEquals("First", todos.get(0).getName());
+        Assertions.assertEquals(TodoMapper.NOT_FINISHED, todos.get(0).getIsDone());
+        Assertions.assertEquals(TodoMapper.NO_DEADLINE, todos.get(0).getDeadline());
+        Assertions.assertEquals(TodoMapper.NO_PRIORITY, todos.get(0).getPriority());
+        Assertions.assertEquals(TodoMapper.FINISHED, todos.get(1).getIsDone());
+        Assertions.assertEquals(today.toString(), todos.get(1).getDeadline());
+        Assertions.assertEquals("HIGH", todos.get(1).getPriority());
+    }
+
+    @Test
+    public void testFindFrontendDtosAfterReturnsKeysetPage() {
+        // Arrange
+        Todo first = save("First", false, null, null);
+        save("Second", false, null, null);
+        save("Third", false, null, null);
+
+        // Act
+        List<TodoFrontendDto> page = todoStore.findFrontendDtosAfter(first.getTodoId(), Limit.of(1));
+
+        // Assert
+        Assertions.assertEquals(1, page.size());
+        Assertions.assertEquals("Second", page.get(0).getName());
+    }
+
+    @Test
+    public void testMutatorsReturnAffectedCountAndBumpVersion() {
+        // Arrange
+        Todo todo = save("Task", false, null, null);
+        Long todoId = todo.getTodoId();
+
+        // Act & Assert
+        Assertions.assertEquals(1, todoStore.updateName(todoId, "Renamed"));
+        Assertions.assertEquals(1, todoStore.toggleIsDone(todoId));
+        Assertions.assertEquals(1, todoStore.updateDeadline(todoId, today));
+        Assertions.assertEquals(1, todoStore.updatePriority(todoId, Priority.LOW));
+        Assertions.assertEquals(0, todoStore.updateName(999L, "Missing"));
+
+        Todo stored = findOnly();
+        Assertions.assertEquals("Renamed", stored.getName());
+        Assertions.assertTrue(stored.isDone());
+        Assertions.assertEquals(today, stored.getDeadline());
+        Assertions.assertEquals(Priority.LOW, stored.getPriority());
+        Assertions.assertEquals(4, stored.getVersion());
+
+        Assertions.assertEquals(1, todoStore.deleteByTodoId(todoId));
+        Assertions.assertEquals(0, todoStore.deleteByTodoId(todoId));
+        Assertions.assertTrue(todoStore.findAllFrontendDtos().isEmpty());
+    }
+
+    @Test
+    public void testReturnedTodosAreCopies() {
+        // Arrange
+        save("Original", false, null, null);
+
+        // Act
+        findOnly().setName("Changed outside");
+
+        // Assert
+        Assertions.assertEquals("Original", findOnly().getName());
+    }
+
+    @Test
+    public void testStaleSaveIsRejected() {
+        // Arrange
+        Todo todo = save("Task", false, null, null);
+        Todo stale = findOnly();
+        todoStore.updateName(todo.getTodoId(), "Updated elsewhere");
+
+        // Act & Assert
+        stale.setName("Stale");
+        Assertions.assertThrows(OptimisticLockingFailureException.class, () -> todoStore.save(stale));
+        Assertions.assertEquals("Updated elsewhere", findOnly().getName());
+    }
+
+    @Test
+    public void testFindFilteredUsesUpdatedIndexes() {
+        // Arrange
+        Todo todo = save("Task", false, today, Priority.LOW);
+        save("Other", false, today.plusDays(5), Priority.HIGH);
+        TodoFilterDto lowPriority = TodoFilterDto.builder().priority(Priority.LOW).build();
+        TodoFilterDto highPriority = TodoFilterDto.builder().priority(Priority.HIGH).build();
+
+        // Act
+        todoStore.updatePriority(todo.getTodoId(), Priority.HIGH);
+        todoStore.updateDeadline(todo.getTodoId(), today.plusDays(1));
+
+        // Assert
+        Assertions.assertTrue(todoStore.findFiltered(lowPriority, 0, 10).isEmpty());
+        Assertions.assertEquals(2, todoStore.findFiltered(highPriority, 0, 10).size());
+        TodoFilterDto deadlineRange = TodoFilterDto.builder().deadlineFrom(today.plusDays(1)).deadlineTo(today.plusDays(2)).build();
+        List<Todo> inRange = todoStore.findFiltered(deadlineRange, 0, 10);
+        Assertions.assertEquals(1, inRange.size());
+        Assertions.assertEquals(todo.getTodoId(), inRange.get(0).getTodoId());
+        Assertions.assertTrue(todoStore.findFiltered(TodoFilterDto.builder().deadlineTo(today).build(), 0, 10).isEmpty());
+    }
+
+    @Test
+    public void testFindFilteredSortsMissingValuesLastAndPages() {
+        // Arrange
+        save("None", false, null, null);
+        save("Low", false, today.plusDays(2), Priority.LOW);
+        save("High", false, today.plusDays(1), Priority.HIGH);
+        save("Medium", true, null, Priority.MEDIUM);
+
+        // Act
+        List<Todo> byPriorityAsc = todoStore.findFiltered(
+                TodoFilterDto.builder().sortBy(TodoSortField.PRIORITY).direction(Sort.Direction.ASC).build(), 0, 10);
+        List<Todo> byPriorityDesc = todoStore.findFiltered(
+                TodoFilterDto.builder().sortBy(TodoSortField.PRIORITY).direction(Sort.Direction.DESC).build(), 0, 10);
+        List<Todo> byDeadlineDesc = todoStore.findFiltered(
+                TodoFilterDto.builder().direction(Sort.Direction.DESC).build(), 0, 10);
+        List<Todo> secondPage = todoStore.findFiltered(TodoFilterDto.builder().build(), 1, 3);
+        List<Todo> unfinished = todoStore.findFiltered(TodoFilterDto.builder().isDone(false).build(), 0, 10);
+
+        // Assert
+        Assertions.assertEquals(List.of("Low", "Medium", "High", "None"), byPriorityAsc.stream().map(Todo::getName).toList());
+        Assertions.assertEquals(List.of("High", "Medium", "Low", "None"), byPriorityDesc.stream().map(Todo::getName).toList());
+        Assertions.assertEquals(List.of("Low", "High", "None", "Medium"), byDeadlineDesc.stream().map(Todo::getName).toList());
+        Assertions.assertEquals(List.of("Medium"), secondPage.stream().map(Todo::getName).toList());
+        Assertions.assertEquals(3, unfinished.size());
+    }
+
+    @Test
+    public void testBulkOperationsAndCompletedIds() {
+        // Arrange
+        Todo first = save("First", false, null, null);
+        Todo second = save("Second", false, null, null);
+        Todo third = save("Third", true, null, null);
+
+        // Act & Assert
+        Assertions.assertEquals(2, todoStore.updateIsDoneIn(List.of(first.getTodoId(), second.getTodoId(), 999L), true));
+        Assertions.assertEquals(List.of(first.getTodoId(), second.getTodoId()), todoStore.findCompletedTodoIds(Limit.of(2)));
+        Assertions.assertEquals(3, todoStore.updatePriorityIn(List.of(first.getTodoId(), second.getTodoId(), third.getTodoId()), Priority.LOW));
+        Assertions.assertEquals(2, todoStore.deleteByTodoIdIn(List.of(first.getTodoId(), third.getTodoId())));
+        Assertions.assertEquals(List.of(second.getTodoId()), todoStore.findCompletedTodoIds(Limit.of(10)));
+    }
+
+    @Test
+    public void testConcurrentTogglesAreNotLost() throws InterruptedException {
+        // Arrange
+        Todo todo = save("Task", false, null, null);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            executor.execute(() -> todoStore.toggleIsDone(todo.getTodoId()));
+        }
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        Todo stored = findOnly();
+        Assertions.assertFalse(stored.isDone());
+        Assertions.assertEquals(1000, stored.getVersion());
+        Assertions.assertTrue(todoStore.findCompletedTodoIds(Limit.of(10)).isEmpty());
+    }
+
+    private Todo findOnly() {
+        try (Stream<Todo> todos = todoStore.streamAllByOrderByTodoIdAsc()) {
+            List<Todo> todoList = todos.toList();
+            Assertions.assertEquals(1, todoList.size());
+            return todoList.get(0);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.todo_application.repository;
+
+import org.example.todo_application.dto.TodoFilterDto;
+import org.example.todo_application.dto.TodoSortField;
+import org.example.todo_application.entity.Priority;
+import org.example.todo_application.entity.Todo;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Runs EXPLAIN on the SQL that the filtered todo list generates and checks which index the database picks.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "org.example.todo_application.repository.TodoFilterQueryPlanTest$RecordingStatementInspector")
+public class TodoFilterQueryPlanTest {
+    private final LocalDate today = LocalDate.now();
+
+    @Autowired
+    private TodoRepository todoRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public static class RecordingStatementInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void setup() {
+        todoRepository.deleteAll();
+        List<Todo> todos = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            todos.add(Todo.builder()
+                    .name("Todo " + i)
+                    .isDone(i % 2 == 0)
+                    .deadline(i % 5 == 0 ? null : today.plusDays(i))
+                    .priority(i % 4 == 0 ? null : Priority.values()[i % 3])
+                    .build());
+        }
+        todoRepository.saveAll(todos);
+        // Gives the planner row counts and selectivities to cost the indexes with
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    // Plans the first statement of the filtered read, binding its parameters in order
+    private String explain(TodoFilterDto filter, Object... parameters) {
+        RecordingStatementInspector.STATEMENTS.clear();
+        todoRepository.findFiltered(filter, 0, 10);
+        String sql = RecordingStatementInspector.STATEMENTS.get(0);
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+    }
+
+    @Test
+    public void testPrioritySortWalksRankIndex() {
+        String byStatus = explain(TodoFilterDto.builder().isDone(false).sortBy(TodoSortField.PRIORITY).build(),
+                false, 1, 0, 10);
+        String unfiltered = explain(TodoFilterDto.builder().sortBy(TodoSortField.PRIORITY).build(), 1, 0, 10);
+
+        Assertions.assertTrue(byStatus.contains("IDX_TODO_IS_DONE_PRIORITY_RANK"), byStatus);
+        Assertions.assertTrue(unfiltered.contains("IDX_TODO_PRIORITY_RANK"), unfiltered);
+    }
+
+    @Test
+    public void testDeadlineSortUsesFilteredColumnIndex() {
+        String byStatus = explain(TodoFilterDto.builder().isDone(false).build(), false, 0, 10);
+        String byPriorityInRange = explain(TodoFilterDto.builder()
+                .priority(Priority.HIGH).deadlineFrom(today).deadlineTo(today.plusDays(30)).build(),
+                Priority.HIGH.name(), today, today.plusDays(30), 0, 10);
+
+        Assertions.assertTrue(byStatus.contains("IDX_TODO_IS_DONE_DEADLINE"), byStatus);
+        Assertions.assertTrue(byPriorityInRange.contains("IDX_TODO_PRIORITY_DEADLINE"), byPriorityInRange);
+    }
+}
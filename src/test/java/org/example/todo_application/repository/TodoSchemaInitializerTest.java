@@ -0,0 +1,72 @@
+package org.example.todo_application.repository;
+
+import org.example.todo_application.entity.Priority;
+import org.example.todo_application.entity.Todo;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+@SpringBootTest
+public class TodoSchemaInitializerTest {
+
+    @Autowired
+    private TodoSchemaInitializer todoSchemaInitializer;
+    @Autowired
+    private TodoRepository todoRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        todoRepository.deleteAll();
+    }
+
+    private Integer priorityRank(Todo todo) {
+        return jdbcTemplate.queryForObject("select priority_rank from todo where todo_id = ?", Integer.class,
+                todo.getTodoId());
+    }
+
+    @Test
+    public void testFillsInMissingPriorityRanks() {
+        // Arrange: rows written before the rank column existed
+        Todo high = todoRepository.save(Todo.builder().name("High").priority(Priority.HIGH).build());
+        Todo none = todoRepository.save(Todo.builder().name("None").build());
+        jdbcTemplate.update("update todo set priority_rank = null");
+
+        // Act
+        todoSchemaInitializer.afterPropertiesSet();
+
+        // Assert
+        Assertions.assertEquals(Priority.rankOf(Priority.HIGH), priorityRank(high));
+        Assertions.assertNull(priorityRank(none));
+    }
+
+    @Test
+    public void testMovesIdSequencePastExistingRows() {
+        // Arrange: rows whose ids the sequence would hand out next, as in a table filled before it was used
+        long nextValue = jdbcTemplate.queryForObject(
+                "select base_value from information_schema.sequences where sequence_name = 'TODO_SEQ'", Long.class);
+        long firstId = Math.max(1, nextValue - Todo.ID_ALLOCATION_SIZE + 1);
+        long lastId = nextValue + 2L * Todo.ID_ALLOCATION_SIZE;
+        for (long todoId = firstId; todoId <= lastId; todoId++) {
+            jdbcTemplate.update("insert into todo (todo_id, name, is_done, version) values (?, ?, false, 0)",
+                    todoId, "Existing " + todoId);
+        }
+
+        // Act: enough new todos to use up any block of ids already held and fetch new ones
+        todoSchemaInitializer.afterPropertiesSet();
+        List<Todo> saved = todoRepository.saveAll(IntStream.rangeClosed(1, 2 * Todo.ID_ALLOCATION_SIZE + 1)
+                .mapToObj(i -> Todo.builder().name("New " + i).build())
+                .toList());
+
+        // Assert
+        Assertions.assertEquals(lastId - firstId + 1 + saved.size(), todoRepository.count());
+        Assertions.assertTrue(saved.stream().allMatch(todo -> todo.getTodoId() < firstId || todo.getTodoId() > lastId));
+    }
+}
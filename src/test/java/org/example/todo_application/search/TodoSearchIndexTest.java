@@ -0,0 +1,207 @@
+package org.example.todo_application.search;
+
+import org.example.todo_application.entity.Todo;
+import org.example.todo_application.event.TodoChangeType;
+import org.example.todo_application.event.TodoChangedEvent;
+import org.example.todo_application.mapper.TodoMapper;
+import org.example.todo_application.repository.InMemoryTodoStore;
+import org.example.todo_application.service.TodoChangeFeed;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.mockito.Mockito.mock;
+
+public class TodoSearchIndexTest {
+    private InMemoryTodoStore todoStore;
+    private TodoSearchIndex todoSearchIndex;
+    private TodoChangeFeed todoChangeFeed;
+
+    @BeforeEach
+    void setup() {
+        todoStore = new InMemoryTodoStore(new TodoMapper());
+        todoSearchIndex = new TodoSearchIndex();
+        todoChangeFeed = new TodoChangeFeed(todoStore, List.of(todoSearchIndex), mock(PlatformTransactionManager.class));
+    }
+
+    @AfterEach
+    void shutdown() {
+        todoChangeFeed.destroy();
+    }
+
+    private long save(String name) {
+        return todoStore.save(Todo.builder().name(name).build()).getTodoId();
+    }
+
+    private void publish(TodoChangeType type, Long... todoIds) {
+        todoChangeFeed.onTodoChanged(new TodoChangedEvent(type, List.of(todoIds)));
+        todoChangeFeed.awaitApplied();
+    }
+
+    @Test
+    public void testRanksExactWordThenWordPrefixThenSubstring() {
+        // Arrange
+        long substring = save("Skimmilk powder");
+        long prefix = save("Milkshake");
+        long exact = save("Buy milk");
+        long longerExact = save("Buy milk and bread");
+        save("Walk the dog");
+        todoChangeFeed.reload();
+
+        // Act
+        List<Long> todoIds = todoSearchIndex.search("MILK", 0, 10);
+
+        // Assert
+        Assertions.assertEquals(List.of(exact, longerExact, prefix, substring), todoIds);
+    }
+
+    @Test
+    public void testEveryQueryWordMustMatch() {
+        // Arrange
+        long both = save("Buy milk and bread");
+        save("Buy milk");
+        save("Bake bread");
+        todoChangeFeed.reload();
+
+        // Act & Assert
+        Assertions.assertEquals(List.of(both), todoSearchIndex.search("bread, milk", 0, 10));
+        Assertions.assertEquals(List.of(), todoSearchIndex.search("milk cheese", 0, 10));
+    }
+
+    @Test
+    public void testShortWordsMatchWordStartsOnly() {
+        // Arrange
+        long startsWord = save("Call Bob");
+        save("Eat kebab");
+        todoChangeFeed.reload();
+
+        // Act & Assert
+        Assertions.assertEquals(List.of(startsWord), todoSearchIndex.search("bo", 0, 10));
+        Assertions.assertEquals(List.of(startsWord), todoSearchIndex.search("b", 0, 10));
+    }
+
+    @Test
+    public void testIgnoresCaseAccentsAndPunctuation() {
+        // Arrange
+        long todoId = save("Café-Besuch mit Jürgen");
+        todoChangeFeed.reload();
+
+        // Act & Assert
+        Assertions.assertEquals(List.of(todoId), todoSearchIndex.search("cafe besuch", 0, 10));
+        Assertions.assertEquals(List.of(todoId), todoSearchIndex.search("JURG", 0, 10));
+        Assertions.assertEquals(List.of(), todoSearchIndex.search(" ,;- ", 0, 10));
+        Assertions.assertEquals(List.of(), todoSearchIndex.search(null, 0, 10));
+    }
+
+    @Test
+    public void testFollowsChangeEvents() {
+        // Arrange
+        long renamed = save("Old name");
+        long deleted = save("Old thing");
+        todoChangeFeed.reload();
+
+        // Act
+        long created = save("New thing");
+        publish(TodoChangeType.CREATED, created);
+        todoStore.updateName(renamed, "New name");
+        publish(TodoChangeType.UPDATED, renamed);
+        todoStore.deleteByTodoId(deleted);
+        publish(TodoChangeType.DELETED, deleted);
+
+        // Assert
+        Assertions.assertEquals(List.of(), todoSearchIndex.search("old", 0, 10));
+        Assertions.assertEquals(List.of(renamed, created), todoSearchIndex.search("new", 0, 10));
+        Assertions.assertEquals(2, todoSearchIndex.size());
+    }
+
+    @Test
+    public void testUpdateOfTodoThatIsGoneRemovesIt() {
+        // Arrange
+        long todoId = save("Short lived");
+        todoChangeFeed.reload();
+        todoStore.deleteByTodoId(todoId);
+
+        // Act
+        publish(TodoChangeType.UPDATED, todoId);
+
+        // Assert
+        Assertions.assertEquals(0, todoSearchIndex.size());
+    }
+
+    @Test
+    public void testPagesThroughRankedResults() {
+        // Arrange
+        List<Long> todoIds = IntStream.range(0, 25).mapToObj(i -> save("Task " + i)).toList();
+        todoChangeFeed.reload();
+
+        // Act
+        List<Long> firstPage = todoSearchIndex.search("task", 0, 10);
+        List<Long> lastPage = todoSearchIndex.search("task", 2, 10);
+
+        // Assert
+        // Equal scores: shorter names first, then lower ids
+        Assertions.assertEquals(todoIds.subList(0, 10), firstPage);
+        Assertions.assertEquals(todoIds.subList(20, 25), lastPage);
+        Assertions.assertEquals(List.of(), todoSearchIndex.search("task", TodoSearchIndex.MAX_RESULTS / 10, 10));
+    }
+
+    @Test
+    public void testFindsWholeWordMatchAmongManyPartialMatches() {
+        // Arrange: the best match is the oldest of many todos that hold the query's trigrams
+        todoSearchIndex.put(List.of(Todo.builder().todoId(1L).name("Task").build()));
+        todoSearchIndex.put(LongStream.rangeClosed(2, 50_000)
+                .mapToObj(todoId -> Todo.builder().todoId(todoId).name("Tasks " + todoId).build())
+                .toList());
+
+        // Act
+        List<Long> todoIds = todoSearchIndex.search("task", 0, 10);
+
+        // Assert
+        Assertions.assertEquals(1L, todoIds.get(0));
+        Assertions.assertEquals(10, todoIds.size());
+    }
+
+    @Test
+    public void testRanksAtMostMaxRankedCandidatesOfAnUnspecificQuery() {
+        // Arrange: the shortest partial match comes after the first MAX_RANKED_CANDIDATES ids
+        int candidates = TodoSearchIndex.MAX_RANKED_CANDIDATES + 1000;
+        todoSearchIndex.put(LongStream.rangeClosed(1, candidates)
+                .mapToObj(todoId -> Todo.builder().todoId(todoId).name("Tasks " + todoId).build())
+                .toList());
+        todoSearchIndex.put(List.of(Todo.builder().todoId(candidates + 1L).name("Tasks").build()));
+
+        // Act
+        List<Long> todoIds = todoSearchIndex.search("task", 0, 10);
+
+        // Assert
+        Assertions.assertEquals(LongStream.rangeClosed(1, 9).boxed().toList(), todoIds.subList(0, 9));
+        Assertions.assertFalse(todoIds.contains(candidates + 1L));
+    }
+
+    @Test
+    public void testRemovesBatchesOfTodosFromSharedPostings() {
+        // Arrange
+        List<Todo> todos = LongStream.rangeClosed(1, 1000)
+                .mapToObj(todoId -> Todo.builder().todoId(todoId).name("Task " + todoId).build())
+                .toList();
+        todoSearchIndex.put(todos);
+
+        // Act: every other todo, in no particular order
+        todoSearchIndex.remove(LongStream.rangeClosed(1, 1000).filter(todoId -> todoId % 2 == 0)
+                .map(todoId -> 1002 - todoId).boxed().toList());
+        todoSearchIndex.put(List.of(Todo.builder().todoId(3L).name("Chore 3").build()));
+
+        // Assert
+        List<Long> remaining = todoSearchIndex.search("task", 0, TodoSearchIndex.MAX_RESULTS);
+        Assertions.assertEquals(499, remaining.size());
+        Assertions.assertTrue(remaining.stream().allMatch(todoId -> todoId % 2 == 1 && todoId != 3));
+        Assertions.assertEquals(List.of(3L), todoSearchIndex.search("chore", 0, 10));
+        Assertions.assertEquals(500, todoSearchIndex.size());
+    }
+}
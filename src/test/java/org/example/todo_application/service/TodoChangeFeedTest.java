@@ -0,0 +1,132 @@
+package org.example.todo_application.service;
+
+import org.example.todo_application.entity.Todo;
+import org.example.todo_application.event.TodoChangeType;
+import org.example.todo_application.event.TodoChangedEvent;
+import org.example.todo_application.repository.TodoStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TodoChangeFeedTest {
+    @Mock
+    private TodoStore todoStore;
+    @Mock
+    private TodoChangeFeed.Subscriber subscriber;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final CountDownLatch released = new CountDownLatch(1);
+    private TodoChangeFeed todoChangeFeed;
+
+    @AfterEach
+    void shutdown() {
+        released.countDown();
+        todoChangeFeed.destroy();
+    }
+
+    private static Todo todo(long todoId) {
+        return Todo.builder().todoId(todoId).name("Todo " + todoId).build();
+    }
+
+    private static List<Todo> todosWithIds(Long... todoIds) {
+        return argThat(todos -> todos.stream().map(Todo::getTodoId).toList().equals(List.of(todoIds)));
+    }
+
+    private void publish(TodoChangeType type, Long... todoIds) {
+        todoChangeFeed.onTodoChanged(new TodoChangedEvent(type, List.of(todoIds)));
+    }
+
+    // Re-reads answer with a todo per id; the first one waits for the test, so the next changes queue up behind it
+    private void holdFirstApply() throws InterruptedException {
+        when(todoStore.findAllById(any())).thenAnswer(invocation -> {
+            List<Todo> todos = new ArrayList<>();
+            invocation.<Iterable<Long>>getArgument(0).forEach(todoId -> todos.add(todo(todoId)));
+            return todos;
+        });
+        CountDownLatch applying = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            applying.countDown();
+            released.await(5, TimeUnit.SECONDS);
+            return null;
+        }).doNothing().when(subscriber).changed(any(), anyList());
+        publish(TodoChangeType.UPDATED, 100L);
+        Assertions.assertTrue(applying.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testChangesWaitingToBeAppliedAreCoalesced() throws InterruptedException {
+        // Arrange
+        todoChangeFeed = new TodoChangeFeed(todoStore, List.of(subscriber), transactionManager);
+        holdFirstApply();
+
+        // Act
+        publish(TodoChangeType.UPDATED, 1L);
+        publish(TodoChangeType.UPDATED, 1L, 2L);
+        publish(TodoChangeType.CREATED, 3L);
+        publish(TodoChangeType.UPDATED, 3L);
+        publish(TodoChangeType.DELETED, 2L);
+        released.countDown();
+        todoChangeFeed.awaitApplied();
+
+        // Assert
+        verify(todoStore, times(3)).findAllById(any());
+        verify(subscriber).changed(eq(TodoChangeType.UPDATED), todosWithIds(1L));
+        verify(subscriber).changed(eq(TodoChangeType.CREATED), todosWithIds(3L));
+        verify(subscriber).remove(List.of(2L));
+    }
+
+    @Test
+    public void testTooManyWaitingChangesLoadViewsInFull() throws InterruptedException {
+        // Arrange
+        todoChangeFeed = new TodoChangeFeed(todoStore, List.of(subscriber), transactionManager, 2);
+        holdFirstApply();
+        when(todoStore.streamAllByOrderByTodoIdAsc()).thenReturn(Stream.of(todo(1L), todo(2L), todo(3L)));
+
+        // Act
+        publish(TodoChangeType.CREATED, 1L, 2L);
+        publish(TodoChangeType.CREATED, 3L);
+        publish(TodoChangeType.UPDATED, 1L);
+        released.countDown();
+        todoChangeFeed.awaitApplied();
+
+        // Assert
+        verify(todoStore, times(1)).findAllById(any());
+        verify(subscriber).clear();
+        verify(subscriber).put(todosWithIds(1L, 2L, 3L));
+        verify(subscriber).loaded();
+    }
+
+    @Test
+    public void testFailedApplyLoadsViewsAgain() {
+        // Arrange
+        todoChangeFeed = new TodoChangeFeed(todoStore, List.of(subscriber), transactionManager);
+        when(todoStore.findAllById(any())).thenThrow(new IllegalStateException("Store unavailable"));
+        when(todoStore.streamAllByOrderByTodoIdAsc()).thenReturn(Stream.of(todo(1L)));
+
+        // Act
+        publish(TodoChangeType.UPDATED, 1L);
+
+        // Assert
+        verify(subscriber, timeout(10_000)).loaded();
+        verify(subscriber).clear();
+        verify(subscriber).put(todosWithIds(1L));
+    }
+}
@@ -0,0 +1,137 @@
+package org.example.todo_application.service;
+
+import org.example.todo_application.entity.Todo;
+import org.example.todo_application.event.TodoDeadlineEvent;
+import org.example.todo_application.event.TodoDeadlineType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class TodoDeadlineSchedulerTest {
+    private final LocalDate today = LocalDate.now();
+    private List<TodoDeadlineEvent> events;
+    private TodoDeadlineScheduler todoDeadlineScheduler;
+
+    @BeforeEach
+    void setup() {
+        events = new ArrayList<>();
+        todoDeadlineScheduler = new TodoDeadlineScheduler(event -> events.add((TodoDeadlineEvent) event), 1, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void shutdown() {
+        todoDeadlineScheduler.destroy();
+    }
+
+    private Todo todo(long todoId, boolean isDone, LocalDate deadline) {
+        return Todo.builder().todoId(todoId).name("Todo " + todoId).isDone(isDone).deadline(deadline).build();
+    }
+
+    private List<Long> advanceTo(LocalDate day, TodoDeadlineType type) {
+        events.clear();
+        todoDeadlineScheduler.advanceTo(day);
+        return events.stream().filter(event -> event.getType() == type).flatMap(event -> event.getTodoIds().stream()).toList();
+    }
+
+    @Test
+    public void testFiresDueSoonThenOverdue() {
+        // Arrange
+        todoDeadlineScheduler.put(List.of(todo(1, false, today.plusDays(3))));
+
+        // Act & Assert
+        Assertions.assertEquals(List.of(), advanceTo(today.plusDays(1), TodoDeadlineType.DUE_SOON));
+        Assertions.assertEquals(List.of(1L), advanceTo(today.plusDays(2), TodoDeadlineType.DUE_SOON));
+        Assertions.assertEquals(List.of(), advanceTo(today.plusDays(3), TodoDeadlineType.OVERDUE));
+        Assertions.assertEquals(List.of(1L), advanceTo(today.plusDays(4), TodoDeadlineType.OVERDUE));
+        Assertions.assertTrue(advanceTo(today.plusDays(30), TodoDeadlineType.OVERDUE).isEmpty());
+    }
+
+    @Test
+    public void testFollowsDeadlineChangesAndCancels() {
+        // Arrange
+        todoDeadlineScheduler.put(List.of(
+                todo(1, false, today.plusDays(2)),
+                todo(2, false, today.plusDays(2)),
+                todo(3, false, today.plusDays(2)),
+                todo(4, false, today.plusDays(2))));
+
+        // Act
+        todoDeadlineScheduler.put(List.of(todo(1, false, today.plusDays(10)), todo(2, true, today.plusDays(2)),
+                todo(3, false, null)));
+        todoDeadlineScheduler.remove(List.of(4L));
+
+        // Assert
+        Assertions.assertEquals(List.of(), advanceTo(today.plusDays(5), TodoDeadlineType.OVERDUE));
+        Assertions.assertEquals(List.of(1L), advanceTo(today.plusDays(11), TodoDeadlineType.OVERDUE));
+        Assertions.assertEquals(1, todoDeadlineScheduler.size());
+    }
+
+    @Test
+    public void testSameDeadlineIsNotAnnouncedTwice() {
+        // Arrange
+        Todo todo = todo(1, false, today.plusDays(1));
+        todoDeadlineScheduler.put(List.of(todo));
+        advanceTo(today.plusDays(2), TodoDeadlineType.OVERDUE);
+
+        // Act
+        todoDeadlineScheduler.put(List.of(todo));
+
+        // Assert
+        Assertions.assertEquals(List.of(), advanceTo(today.plusDays(3), TodoDeadlineType.OVERDUE));
+    }
+
+    @Test
+    public void testLoadSkipsPassedDeadlinesButChangesAnnounceThem() {
+        // Arrange
+        todoDeadlineScheduler.clear();
+        todoDeadlineScheduler.put(List.of(todo(1, false, today.minusDays(5)), todo(2, false, today)));
+        todoDeadlineScheduler.loaded();
+
+        // Act
+        todoDeadlineScheduler.put(List.of(todo(3, false, today.minusDays(5)), todo(4, false, today)));
+        todoDeadlineScheduler.advanceTo(today);
+
+        // Assert
+        Assertions.assertEquals(2, events.size());
+        Assertions.assertEquals(TodoDeadlineType.DUE_SOON, events.get(0).getType());
+        Assertions.assertEquals(List.of(4L), events.get(0).getTodoIds());
+        Assertions.assertEquals(TodoDeadlineType.OVERDUE, events.get(1).getType());
+        Assertions.assertEquals(List.of(3L), events.get(1).getTodoIds());
+        Assertions.assertEquals(List.of(2L, 4L), advanceTo(today.plusDays(1), TodoDeadlineType.OVERDUE).stream().sorted().toList());
+    }
+
+    @Test
+    public void testFiresEveryTimerOnItsDayAcrossWheelLevels() {
+        // Arrange
+        Random random = new Random(42);
+        Map<Long, LocalDate> deadlines = new HashMap<>();
+        List<Todo> todos = new ArrayList<>();
+        for (long todoId = 1; todoId <= 20_000; todoId++) {
+            LocalDate deadline = today.plusDays(1 + random.nextInt(random.nextBoolean() ? 100 : 10_000));
+            deadlines.put(todoId, deadline);
+            todos.add(todo(todoId, false, deadline));
+        }
+        todoDeadlineScheduler.put(todos);
+
+        // Act
+        Map<Long, LocalDate> overdueOn = new HashMap<>();
+        for (LocalDate day = today.plusDays(1); !day.isAfter(today.plusDays(10_001)); day = day.plusDays(1)) {
+            for (Long todoId : advanceTo(day, TodoDeadlineType.OVERDUE)) {
+                Assertions.assertNull(overdueOn.put(todoId, day));
+            }
+        }
+
+        // Assert
+        Assertions.assertEquals(deadlines.size(), overdueOn.size());
+        deadlines.forEach((todoId, deadline) -> Assertions.assertEquals(deadline.plusDays(1), overdueOn.get(todoId)));
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.todo_application.service;
+
+import org.example.todo_application.controller.RestController;
+import org.example.todo_application.dto.TodoSaveDto;
+import org.example.todo_application.event.TodoChangedEvent;
+import org.example.todo_application.exception.ServiceBusyException;
+import org.example.todo_application.repository.TodoRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@SpringBootTest(properties = {"todo.bulkhead.enabled=true", "todo.bulkhead.max-concurrent=1", "todo.bulkhead.max-wait=100ms"})
+public class TodoServiceBulkheadIntegrationTest {
+
+    @Autowired
+    private TodoService todoService;
+    @Autowired
+    private TodoRepository todoRepository;
+    @Autowired
+    private TodoServiceBulkhead todoServiceBulkhead;
+    @Autowired
+    private RestController restController;
+    @Autowired
+    private BlockingSaveListener blockingSaveListener;
+
+    @BeforeEach
+    void setup() {
+        todoRepository.deleteAll();
+    }
+
+    @Test
+    public void testDatabaseCallsBeyondPoolSizeAreRejectedAfterWaiting() throws Exception {
+        // Arrange: a save that holds the only permit until released
+        CountDownLatch saving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        blockingSaveListener.block(saving, release);
+        CompletableFuture<Void> save = CompletableFuture.runAsync(
+                () -> todoService.saveTodo(TodoSaveDto.builder().name("Todo 1").build()));
+        Assertions.assertTrue(saving.await(10, TimeUnit.SECONDS));
+
+        // Act & Assert
+        Assertions.assertThrows(ServiceBusyException.class, () -> todoService.getFrontendTodosAfter(0L, 10));
+        // Answered from memory, so no permit is needed
+        Assertions.assertNotNull(todoService.getTodoSummary());
+        Assertions.assertNotNull(todoService.getTodoListETag());
+        release.countDown();
+        save.get(10, TimeUnit.SECONDS);
+        Assertions.assertEquals(1, todoService.getFrontedTodoDtoList().size());
+        Assertions.assertEquals(1, todoServiceBulkhead.availablePermits());
+    }
+
+    @Test
+    public void testExportHoldsNoPermitWhileWritingToTheClient() throws Exception {
+        // Arrange: more todos than the output buffer holds, so the first write happens while pages remain
+        todoService.saveTodos(IntStream.rangeClosed(1, TodoService.MAX_PAGE_SIZE + 100)
+                .mapToObj(i -> TodoSaveDto.builder().name("Todo " + i).build())
+                .toList());
+        StreamingResponseBody responseBody = restController.exportFrontendTodos().getBody();
+        BlockingOutputStream slowClient = new BlockingOutputStream();
+
+        // Act
+        CompletableFuture<Void> export = CompletableFuture.runAsync(() -> {
+            try {
+                responseBody.writeTo(slowClient);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Assertions.assertTrue(slowClient.writing.await(10, TimeUnit.SECONDS));
+
+        // Assert
+        Assertions.assertEquals(1, todoServiceBulkhead.availablePermits());
+        Assertions.assertNotNull(todoService.getFrontendTodosAfter(0L, 1));
+        slowClient.release.countDown();
+        export.get(10, TimeUnit.SECONDS);
+    }
+
+    @TestConfiguration
+    static class BulkheadTestConfig {
+        @Bean
+        BlockingSaveListener blockingSaveListener() {
+            return new BlockingSaveListener();
+        }
+    }
+
+    // Blocks the next save inside its transaction, while it holds a permit and a connection
+    static class BlockingSaveListener {
+        private volatile List<CountDownLatch> latches;
+
+        void block(CountDownLatch saving, CountDownLatch release) {
+            latches = List.of(saving, release);
+        }
+
+        @EventListener
+        public void onTodoChanged(TodoChangedEvent event) throws InterruptedException {
+            List<CountDownLatch> current = latches;
+            if (current == null) {
+                return;
+            }
+            latches = null;
+            current.get(0).countDown();
+            current.get(1).await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    static class BlockingOutputStream extends OutputStream {
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            writing.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.todo_application.service;
+
+import org.example.todo_application.dto.TodoFrontendDto;
+import org.example.todo_application.dto.TodoPageDto;
+import org.example.todo_application.dto.TodoSaveDto;
+import org.example.todo_application.entity.Priority;
+import org.example.todo_application.entity.Todo;
+import org.example.todo_application.repository.TodoRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = "todo.cache.enabled=true")
+public class TodoServiceCacheIntegrationTest {
+
+    @Autowired
+    private TodoService todoService;
+    @SpyBean
+    private TodoRepository todoRepository;
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setup() {
+        todoRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(cacheName -> cacheManager.getCache(cacheName).clear());
+        clearInvocations(todoRepository);
+    }
+
+    @Test
+    public void testRepeatedListReadsAreServedFromCache() {
+        todoService.saveTodo(TodoSaveDto.builder().name("Todo 1").build());
+
+        List<TodoFrontendDto> first = todoService.getFrontedTodoDtoList();
+        List<TodoFrontendDto> second = todoService.getFrontedTodoDtoList();
+
+        Assertions.assertEquals(1, second.size());
+        Assertions.assertSame(first, second);
+        verify(todoRepository, times(1)).findAllFrontendDtos();
+    }
+
+    @Test
+    public void testMutatorsEvictCachedList() {
+        Todo todo = todoService.saveTodo(TodoSaveDto.builder().name("Todo 1").build());
+        todoService.getFrontedTodoDtoList();
+
+        todoService.updateTodoName(todo.getTodoId(), "Renamed");
+        Assertions.assertEquals("Renamed", todoService.getFrontedTodoDtoList().get(0).getName());
+
+        todoService.changeTodoIsDoneStatus(todo.getTodoId());
+        Assertions.assertEquals("Finished", todoService.getFrontedTodoDtoList().get(0).getIsDone());
+
+        todoService.updateTodoPriority(todo.getTodoId(), Priority.HIGH);
+        Assertions.assertEquals("HIGH", todoService.getFrontedTodoDtoList().get(0).getPriority());
+
+        todoService.updateTodoDeadline(todo.getTodoId(), null);
+        Assertions.assertEquals("No deadline", todoService.getFrontedTodoDtoList().get(0).getDeadline());
+
+        todoService.deleteTodo(todo.getTodoId());
+        Assertions.assertTrue(todoService.getFrontedTodoDtoList().isEmpty());
+
+        verify(todoRepository, times(6)).findAllFrontendDtos();
+    }
+
+    @Test
+    public void testPagesAreCachedPerCursorAndEvictedOnWrite() {
+        todoService.saveTodo(TodoSaveDto.builder().name("Todo 1").build());
+        todoService.saveTodo(TodoSaveDto.builder().name("Todo 2").build());
+
+        TodoPageDto firstPage = todoService.getFrontendTodoPage(null, 1);
+        todoService.getFrontendTodoPage(null, 1);
+        todoService.getFrontendTodoPage(firstPage.getNextCursor(), 1);
+        verify(todoRepository, times(2)).findFrontendDtosAfter(anyLong(), any(Limit.class));
+
+        todoService.saveTodo(TodoSaveDto.builder().name("Todo 3").build());
+        todoService.getFrontendTodoPage(null, 1);
+        verify(todoRepository, times(3)).findFrontendDtosAfter(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    public void testReadOverlappingWriteDoesNotCacheStaleList() throws Exception {
+        Todo todo = todoService.saveTodo(TodoSaveDto.builder().name("Todo 1").build());
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+        // The first read loads its rows, then finishes only after the write has committed
+        Answer<?> repository = mockingDetails(todoRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            Object todos = repository.answer(invocation);
+            loaded.countDown();
+            written.await(5, TimeUnit.SECONDS);
+            return todos;
+        }).doAnswer(repository).when(todoRepository).findAllFrontendDtos();
+
+        CompletableFuture<List<TodoFrontendDto>> overlappingRead = CompletableFuture.supplyAsync(todoService::getFrontedTodoDtoList);
+        Assertions.assertTrue(loaded.await(5, TimeUnit.SECONDS));
+        todoService.updateTodoName(todo.getTodoId(), "Renamed");
+        written.countDown();
+
+        Assertions.assertEquals("Todo 1", overlappingRead.get(5, TimeUnit.SECONDS).get(0).getName());
+        Assertions.assertEquals("Renamed", todoService.getFrontedTodoDtoList().get(0).getName());
+        verify(todoRepository, times(2)).findAllFrontendDtos();
+    }
+
+    @Test
+    public void testFailedMutatorKeepsCachedList() {
+        todoService.saveTodo(TodoSaveDto.builder().name("Todo 1").build());
+        todoService.getFrontedTodoDtoList();
+
+        Assertions.assertThrows(RuntimeException.class, () -> todoService.updateTodoName(99L, "Renamed"));
+        todoService.getFrontedTodoDtoList();
+
+        verify(todoRepository, times(1)).findAllFrontendDtos();
+    }
+}
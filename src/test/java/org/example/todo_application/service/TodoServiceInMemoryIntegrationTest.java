@@ -0,0 +1,81 @@
+package org.example.todo_application.service;
+
+import org.example.todo_application.dto.TodoFilterDto;
+import org.example.todo_application.dto.TodoFrontendDto;
+import org.example.todo_application.dto.TodoSaveDto;
+import org.example.todo_application.entity.Priority;
+import org.example.todo_application.entity.Todo;
+import org.example.todo_application.exception.TodoNotFoundException;
+import org.example.todo_application.journal.FileTodoJournal;
+import org.example.todo_application.journal.TodoJournal;
+import org.example.todo_application.repository.InMemoryTodoStore;
+import org.example.todo_application.repository.TodoStore;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.util.List;
+
+@SpringBootTest
+@ActiveProfiles("in-memory")
+public class TodoServiceInMemoryIntegrationTest {
+    @TempDir
+    static Path journalDirectory;
+
+    @DynamicPropertySource
+    static void journalProperties(DynamicPropertyRegistry registry) {
+        registry.add("todo.journal.directory", journalDirectory::toString);
+    }
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoStore todoStore;
+
+    @Autowired
+    private TodoJournal todoJournal;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    public void testRunsWithoutDatabase() {
+        Assertions.assertInstanceOf(InMemoryTodoStore.class, todoStore);
+        Assertions.assertTrue(applicationContext.getBeansOfType(DataSource.class).isEmpty());
+        Assertions.assertInstanceOf(FileTodoJournal.class, todoJournal);
+    }
+
+    @Test
+    public void testServiceOperationsAgainstInMemoryStore() {
+        // Arrange
+        String etagBefore = todoService.getTodoListETag();
+        Todo todo = todoService.saveTodo(TodoSaveDto.builder().name("In memory").priority(Priority.LOW).build());
+        List<Long> batchIds = todoService.saveTodos(List.of(
+                TodoSaveDto.builder().name("Batch 1").build(),
+                TodoSaveDto.builder().name("Batch 2").isDone(true).build()));
+
+        // Act
+        todoService.updateTodoName(todo.getTodoId(), "Renamed");
+        todoService.changeTodoIsDoneStatus(todo.getTodoId());
+        int deletedCompleted = todoService.deleteCompletedTodos();
+
+        // Assert
+        List<TodoFrontendDto> todos = todoService.getFrontedTodoDtoList();
+        Assertions.assertEquals(1, todos.size());
+        Assertions.assertEquals(batchIds.get(0), todos.get(0).getTodoId());
+        Assertions.assertEquals(2, deletedCompleted);
+        Assertions.assertNotEquals(etagBefore, todoService.getTodoListETag());
+        Assertions.assertTrue(todoService.getFilteredFrontendTodoDtoList(
+                TodoFilterDto.builder().priority(Priority.LOW).build(), 0, 10).isEmpty());
+        Assertions.assertThrows(TodoNotFoundException.class, () -> todoService.deleteTodo(todo.getTodoId()));
+    }
+}
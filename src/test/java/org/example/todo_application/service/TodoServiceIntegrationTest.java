@@ -1,20 +1,36 @@
 package org.example.todo_application.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.todo_application.dto.TodoFilterDto;
 import org.example.todo_application.dto.TodoFrontendDto;
+import org.example.todo_application.dto.TodoPageDto;
 import org.example.todo_application.dto.TodoSaveDto;
+import org.example.todo_application.dto.TodoSortField;
 import org.example.todo_application.entity.Priority;
 import org.example.todo_application.entity.Todo;
 import org.example.todo_application.exception.DeadlineCannotBeInPastException;
+import org.example.todo_application.exception.TodoNotFoundException;
+import org.example.todo_application.exception.InvalidCursorException;
+import org.example.todo_application.mapper.TodoMapper;
+import org.example.todo_application.metrics.TodoMetrics;
 import org.example.todo_application.repository.TodoRepository;
+import org.example.todo_application.support.StatementCounts;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 @SpringBootTest
 public class
@@ -24,6 +40,10 @@ TodoServiceIntegrationTest {
     private TodoService todoService;
     @Autowired
     private TodoRepository todoRepository;
+    @Autowired
+    private TodoMapper todoMapper;
+    @Autowired
+    private MeterRegistry meterRegistry;
 
     @BeforeEach
     void setup() {
@@ -102,6 +122,168 @@ TodoServiceIntegrationTest {
         Assertions.assertEquals("Finished", dto2.getIsDone());
     }
 
+    @Test
+    public void testSaveTodosAcrossSeveralChunks() {
+        // Arrange
+        int count = TodoService.SAVE_CHUNK_SIZE * 2 + 7;
+        List<TodoSaveDto> todoSaveDtos = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            todoSaveDtos.add(TodoSaveDto.builder().name("Imported " + i).deadline(today).priority(Priority.MEDIUM).build());
+        }
+
+        // Act
+        List<Long> todoIds = todoService.saveTodos(todoSaveDtos);
+
+        // Assert
+        Assertions.assertEquals(count, todoIds.size());
+        Assertions.assertEquals(count, todoIds.stream().distinct().count());
+        Assertions.assertEquals(count, todoRepository.count());
+        Todo last = todoRepository.findById(todoIds.get(count - 1)).orElseThrow();
+        Assertions.assertEquals("Imported " + (count - 1), last.getName());
+        Assertions.assertEquals(Priority.MEDIUM, last.getPriority());
+    }
+
+    @Test
+    public void testSaveTodosWithInvalidDateSavesNothing() {
+        // Arrange
+        List<TodoSaveDto> todoSaveDtos = List.of(
+                TodoSaveDto.builder().name("Valid").build(),
+                TodoSaveDto.builder().name("Past").deadline(today.minusDays(1)).build());
+
+        // Act & Assert
+        Assertions.assertThrows(DeadlineCannotBeInPastException.class, () -> todoService.saveTodos(todoSaveDtos));
+        Assertions.assertEquals(0, todoRepository.count());
+    }
+
+    @Test
+    public void testProjectedListMatchesMapperFormatting() {
+        todoService.saveTodo(TodoSaveDto.builder().name("Plain").build());
+        todoService.saveTodo(TodoSaveDto.builder().name("Low").priority(Priority.LOW).deadline(today).build());
+        todoService.saveTodo(TodoSaveDto.builder().name("Medium").isDone(true).priority(Priority.MEDIUM).build());
+        todoService.saveTodo(TodoSaveDto.builder().name("High").priority(Priority.HIGH).deadline(today.plusDays(30)).build());
+
+        List<TodoFrontendDto> projected = todoService.getFrontedTodoDtoList();
+        List<TodoFrontendDto> mapped = todoRepository.findAll().stream()
+                .map(todoMapper::entityToFrontEndDto)
+                .toList();
+
+        Assertions.assertEquals(mapped.size(), projected.size());
+        for (int i = 0; i < mapped.size(); i++) {
+            Assertions.assertEquals(mapped.get(i).getTodoId(), projected.get(i).getTodoId());
+            Assertions.assertEquals(mapped.get(i).getName(), projected.get(i).getName());
+            Assertions.assertEquals(mapped.get(i).getIsDone(), projected.get(i).getIsDone());
+            Assertions.assertEquals(mapped.get(i).getDeadline(), projected.get(i).getDeadline());
+            Assertions.assertEquals(mapped.get(i).getPriority(), projected.get(i).getPriority());
+        }
+    }
+
+    @Test
+    public void testGetFrontendTodoPageWalksAllTodosInIdOrder() {
+        for (int i = 1; i <= 5; i++) {
+            todoService.saveTodo(TodoSaveDto.builder()
+                    .name("Todo " + i)
+                    .build());
+        }
+
+        TodoPageDto firstPage = todoService.getFrontendTodoPage(null, 2);
+        Assertions.assertEquals(List.of("Todo 1", "Todo 2"),
+                firstPage.getTodos().stream().map(TodoFrontendDto::getName).toList());
+        Assertions.assertNotNull(firstPage.getNextCursor());
+
+        TodoPageDto secondPage = todoService.getFrontendTodoPage(firstPage.getNextCursor(), 2);
+        Assertions.assertEquals(List.of("Todo 3", "Todo 4"),
+                secondPage.getTodos().stream().map(TodoFrontendDto::getName).toList());
+        Assertions.assertNotNull(secondPage.getNextCursor());
+
+        TodoPageDto lastPage = todoService.getFrontendTodoPage(secondPage.getNextCursor(), 2);
+        Assertions.assertEquals(List.of("Todo 5"),
+                lastPage.getTodos().stream().map(TodoFrontendDto::getName).toList());
+        Assertions.assertNull(lastPage.getNextCursor());
+    }
+
+    @Test
+    public void testGetFrontendTodoPageWithInvalidCursor() {
+        Exception exception = Assertions.assertThrows(InvalidCursorException.class,
+                () -> todoService.getFrontendTodoPage("not a cursor", 2));
+        Assertions.assertEquals("Invalid cursor", exception.getMessage());
+    }
+
+    @Test
+    public void testGetFilteredFrontendTodoDtoList() {
+        todoService.saveTodo(TodoSaveDto.builder().name("Open low soon").priority(Priority.LOW).deadline(today.plusDays(1)).build());
+        todoService.saveTodo(TodoSaveDto.builder().name("Open high later").priority(Priority.HIGH).deadline(today.plusDays(5)).build());
+        todoService.saveTodo(TodoSaveDto.builder().name("Open no deadline").priority(Priority.HIGH).build());
+        todoService.saveTodo(TodoSaveDto.builder().name("Done high").isDone(true).priority(Priority.HIGH).deadline(today.plusDays(2)).build());
+
+        // status only, default sort by deadline with missing deadlines last
+        List<TodoFrontendDto> openTodos = todoService.getFilteredFrontendTodoDtoList(
+                TodoFilterDto.builder().isDone(false).build(), 0, 10);
+        Assertions.assertEquals(List.of("Open low soon", "Open high later", "Open no deadline"),
+                openTodos.stream().map(TodoFrontendDto::getName).toList());
+
+        // priority plus deadline range
+        List<TodoFrontendDto> highInRange = todoService.getFilteredFrontendTodoDtoList(
+                TodoFilterDto.builder()
+                        .priority(Priority.HIGH)
+                        .deadlineFrom(today.plusDays(2))
+                        .deadlineTo(today.plusDays(5))
+                        .build(), 0, 10);
+        Assertions.assertEquals(List.of("Done high", "Open high later"),
+                highInRange.stream().map(TodoFrontendDto::getName).toList());
+
+        // paging
+        List<TodoFrontendDto> secondPage = todoService.getFilteredFrontendTodoDtoList(
+                TodoFilterDto.builder().isDone(false).build(), 1, 2);
+        Assertions.assertEquals(List.of("Open no deadline"),
+                secondPage.stream().map(TodoFrontendDto::getName).toList());
+    }
+
+    @Test
+    public void testGetFilteredFrontendTodoDtoListSortedByPriority() {
+        Todo medium = todoService.saveTodo(TodoSaveDto.builder().name("Medium").priority(Priority.MEDIUM).build());
+        Todo none = todoService.saveTodo(TodoSaveDto.builder().name("None").build());
+        todoService.saveTodo(TodoSaveDto.builder().name("High").priority(Priority.HIGH).build());
+        todoService.saveTodo(TodoSaveDto.builder().name("Low").priority(Priority.LOW).build());
+
+        List<TodoFrontendDto> ascending = todoService.getFilteredFrontendTodoDtoList(
+                TodoFilterDto.builder().sortBy(TodoSortField.PRIORITY).direction(Sort.Direction.ASC).build(), 0, 10);
+        Assertions.assertEquals(List.of("Low", "Medium", "High", "None"),
+                ascending.stream().map(TodoFrontendDto::getName).toList());
+
+        List<TodoFrontendDto> descending = todoService.getFilteredFrontendTodoDtoList(
+                TodoFilterDto.builder().sortBy(TodoSortField.PRIORITY).direction(Sort.Direction.DESC).build(), 0, 10);
+        Assertions.assertEquals(List.of("High", "Medium", "Low", "None"),
+                descending.stream().map(TodoFrontendDto::getName).toList());
+
+        // Priority changes move the sort rank along
+        todoService.updateTodoPriority(medium.getTodoId(), null);
+        todoService.updateTodosPriority(List.of(none.getTodoId()), Priority.HIGH);
+        List<TodoFrontendDto> afterUpdates = todoService.getFilteredFrontendTodoDtoList(
+                TodoFilterDto.builder().sortBy(TodoSortField.PRIORITY).direction(Sort.Direction.DESC).build(), 0, 10);
+        Assertions.assertEquals(List.of("None", "High", "Low", "Medium"),
+                afterUpdates.stream().map(TodoFrontendDto::getName).toList());
+    }
+
+    @Test
+    public void testGetFrontendTodosAfter() {
+        Todo first = todoService.saveTodo(TodoSaveDto.builder()
+                .name("Todo 1")
+                .build());
+        todoService.saveTodo(TodoSaveDto.builder()
+                .name("Todo 2")
+                .deadline(today.plusDays(2))
+                .build());
+        todoService.saveTodo(TodoSaveDto.builder()
+                .name("Todo 3")
+                .build());
+
+        List<TodoFrontendDto> todos = todoService.getFrontendTodosAfter(first.getTodoId(), 1);
+
+        Assertions.assertEquals(1, todos.size());
+        Assertions.assertEquals("Todo 2", todos.get(0).getName());
+        Assertions.assertEquals(today.plusDays(2).toString(), todos.get(0).getDeadline());
+    }
+
     @Test
     public void testUpdateTodoNameWithValidId() {
         TodoSaveDto todoSaveDto = TodoSaveDto.builder()
@@ -109,7 +291,8 @@ TodoServiceIntegrationTest {
                 .build();
         Todo todo = todoService.saveTodo(todoSaveDto);
 
-        Todo updatedTodo = todoService.updateTodoName(todo.getTodoId(), "New todo");
+        todoService.updateTodoName(todo.getTodoId(), "New todo");
+        Todo updatedTodo = todoRepository.findById(todo.getTodoId()).orElseThrow();
         Assertions.assertEquals("New todo", updatedTodo.getName());
     }
 
@@ -129,7 +312,8 @@ TodoServiceIntegrationTest {
                 .build();
         Todo todo = todoService.saveTodo(todoSaveDto);
 
-        Todo updatedTodo = todoService.changeTodoIsDoneStatus(todo.getTodoId());
+        todoService.changeTodoIsDoneStatus(todo.getTodoId());
+        Todo updatedTodo = todoRepository.findById(todo.getTodoId()).orElseThrow();
         Assertions.assertTrue(updatedTodo.isDone());
     }
 
@@ -141,7 +325,8 @@ TodoServiceIntegrationTest {
                 .build();
         Todo todo = todoService.saveTodo(todoSaveDto);
 
-        Todo updatedTodo = todoService.changeTodoIsDoneStatus(todo.getTodoId());
+        todoService.changeTodoIsDoneStatus(todo.getTodoId());
+        Todo updatedTodo = todoRepository.findById(todo.getTodoId()).orElseThrow();
         Assertions.assertFalse(updatedTodo.isDone());
     }
 
@@ -153,6 +338,45 @@ TodoServiceIntegrationTest {
         Assertions.assertEquals("Todo not found", exception.getMessage());
     }
 
+    @Test
+    public void testConcurrentChangeTodoIsDoneStatusLosesNoUpdates() throws Exception {
+        Todo todo = todoService.saveTodo(TodoSaveDto.builder()
+                .name("Example todo")
+                .build());
+
+        int toggles = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < toggles; i++) {
+                futures.add(executor.submit(() -> todoService.changeTodoIsDoneStatus(todo.getTodoId())));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Todo updatedTodo = todoRepository.findById(todo.getTodoId()).orElseThrow();
+        Assertions.assertFalse(updatedTodo.isDone(), "An even number of toggles should end where it started");
+        Assertions.assertEquals(todo.getVersion() + toggles, updatedTodo.getVersion());
+    }
+
+    @Test
+    public void testSaveOfStaleTodoIsRejected() {
+        Todo todo = todoService.saveTodo(TodoSaveDto.builder()
+                .name("Example todo")
+                .build());
+        Todo staleCopy = todoRepository.findById(todo.getTodoId()).orElseThrow();
+
+        todoService.updateTodoName(todo.getTodoId(), "New todo");
+
+        staleCopy.setPriority(Priority.HIGH);
+        Assertions.assertThrows(OptimisticLockingFailureException.class, () -> todoRepository.save(staleCopy));
+        Assertions.assertEquals("New todo", todoRepository.findById(todo.getTodoId()).orElseThrow().getName());
+    }
+
     @Test
     public void testUpdateTodoDeadlineWithValidId() {
         TodoSaveDto todoSaveDto = TodoSaveDto.builder()
@@ -161,7 +385,8 @@ TodoServiceIntegrationTest {
                 .build();
         Todo todo = todoService.saveTodo(todoSaveDto);
 
-        Todo updatedTodo = todoService.updateTodoDeadline(todo.getTodoId(), today.plusDays(10));
+        todoService.updateTodoDeadline(todo.getTodoId(), today.plusDays(10));
+        Todo updatedTodo = todoRepository.findById(todo.getTodoId()).orElseThrow();
         Assertions.assertEquals(today.plusDays(10), updatedTodo.getDeadline());
         Assertions.assertNotEquals(todo.getDeadline(), updatedTodo.getDeadline());
     }
@@ -174,7 +399,8 @@ TodoServiceIntegrationTest {
                 .build();
         Todo todo = todoService.saveTodo(todoSaveDto);
 
-        Todo updatedTodo = todoService.updateTodoDeadline(todo.getTodoId(), null);
+        todoService.updateTodoDeadline(todo.getTodoId(), null);
+        Todo updatedTodo = todoRepository.findById(todo.getTodoId()).orElseThrow();
         Assertions.assertNull(updatedTodo.getDeadline());
     }
 
@@ -207,7 +433,8 @@ TodoServiceIntegrationTest {
                 .build();
         Todo todo = todoService.saveTodo(todoSaveDto);
 
-        Todo updatedTodo = todoService.updateTodoPriority(todo.getTodoId(), Priority.MEDIUM);
+        todoService.updateTodoPriority(todo.getTodoId(), Priority.MEDIUM);
+        Todo updatedTodo = todoRepository.findById(todo.getTodoId()).orElseThrow();
         Assertions.assertEquals(Priority.MEDIUM, updatedTodo.getPriority());
         Assertions.assertNotEquals(todo.getPriority(), updatedTodo.getPriority());
     }
@@ -219,7 +446,8 @@ TodoServiceIntegrationTest {
                 .build();
         Todo todo = todoService.saveTodo(todoSaveDto);
 
-        Todo updatedTodo = todoService.updateTodoPriority(todo.getTodoId(), null);
+        todoService.updateTodoPriority(todo.getTodoId(), null);
+        Todo updatedTodo = todoRepository.findById(todo.getTodoId()).orElseThrow();
         Assertions.assertNull(updatedTodo.getPriority());
     }
 
@@ -251,4 +479,140 @@ TodoServiceIntegrationTest {
         Assertions.assertEquals("Todo not found", exception.getMessage());
     }
 
+    @Test
+    public void testBulkOperations() {
+        // Arrange
+        Todo first = todoService.saveTodo(TodoSaveDto.builder().name("First").build());
+        Todo second = todoService.saveTodo(TodoSaveDto.builder().name("Second").build());
+        Todo third = todoService.saveTodo(TodoSaveDto.builder().name("Third").build());
+        List<Long> firstTwo = List.of(first.getTodoId(), second.getTodoId());
+
+        // Act & Assert
+        Assertions.assertEquals(2, todoService.changeTodosIsDoneStatus(firstTwo, true));
+        Assertions.assertTrue(todoRepository.findById(first.getTodoId()).orElseThrow().isDone());
+        Assertions.assertFalse(todoRepository.findById(third.getTodoId()).orElseThrow().isDone());
+
+        Assertions.assertEquals(3, todoService.updateTodosPriority(
+                List.of(first.getTodoId(), second.getTodoId(), third.getTodoId(), 999_999L), Priority.HIGH));
+        Assertions.assertEquals(Priority.HIGH, todoRepository.findById(third.getTodoId()).orElseThrow().getPriority());
+        Assertions.assertEquals(third.getVersion() + 1, todoRepository.findById(third.getTodoId()).orElseThrow().getVersion());
+
+        Assertions.assertEquals(2, todoService.deleteCompletedTodos());
+        Assertions.assertEquals(1, todoRepository.count());
+
+        Assertions.assertEquals(1, todoService.deleteTodos(List.of(third.getTodoId(), third.getTodoId())));
+        Assertions.assertEquals(0, todoRepository.count());
+    }
+
+    @Test
+    public void testDeleteCompletedTodosAcrossSeveralChunks() {
+        // Arrange
+        int completed = TodoService.BULK_CHUNK_SIZE + 10;
+        List<TodoSaveDto> todoSaveDtos = new ArrayList<>();
+        for (int i = 0; i < completed; i++) {
+            todoSaveDtos.add(TodoSaveDto.builder().name("Done " + i).isDone(true).build());
+        }
+        todoSaveDtos.add(TodoSaveDto.builder().name("Open").build());
+        todoService.saveTodos(todoSaveDtos);
+
+        // Act
+        int deleted = todoService.deleteCompletedTodos();
+
+        // Assert
+        Assertions.assertEquals(completed, deleted);
+        Assertions.assertEquals(1, todoRepository.count());
+    }
+
+    @Test
+    public void testServiceOperationsAreTimed() {
+        // Act
+        todoService.saveTodo(TodoSaveDto.builder().name("Timed").build());
+
+        // Assert
+        Timer timer = meterRegistry.find(TodoMetrics.SERVICE_TIMER).tag("method", "saveTodo").timer();
+        Assertions.assertNotNull(timer);
+        Assertions.assertTrue(timer.count() >= 1);
+    }
+
+    @Test
+    public void testNotFoundAndValidationFailuresAreCounted() {
+        // Arrange
+        double notFoundBefore = meterRegistry.counter(TodoMetrics.NOT_FOUND).count();
+        double deadlineBefore = meterRegistry.counter(TodoMetrics.VALIDATION_FAILURES,
+                TodoMetrics.REASON_TAG, TodoMetrics.DEADLINE_IN_PAST).count();
+
+        // Act
+        Assertions.assertThrows(TodoNotFoundException.class, () -> todoService.deleteTodo(999_999L));
+        Assertions.assertThrows(DeadlineCannotBeInPastException.class, () ->
+                todoService.saveTodo(TodoSaveDto.builder().name("Late").deadline(today.minusDays(1)).build()));
+
+        // Assert
+        Assertions.assertEquals(notFoundBefore + 1, meterRegistry.counter(TodoMetrics.NOT_FOUND).count());
+        Assertions.assertEquals(deadlineBefore + 1, meterRegistry.counter(TodoMetrics.VALIDATION_FAILURES,
+                TodoMetrics.REASON_TAG, TodoMetrics.DEADLINE_IN_PAST).count());
+    }
+
+    @Test
+    public void testStatementCountsPerOperation() {
+        // Arrange
+        Todo todo = todoService.saveTodo(TodoSaveDto.builder().name("Counted").build());
+        Long todoId = todo.getTodoId();
+        TodoFilterDto filter = TodoFilterDto.builder().isDone(false).build();
+
+        // Act & Assert: every mutator is one UPDATE/DELETE without a prior SELECT, every read one SELECT unless noted
+        StatementCounts.reset();
+        todoService.updateTodoName(todoId, "Renamed");
+        StatementCounts.assertStatements(0, 0, 1, 0);
+
+        StatementCounts.reset();
+        todoService.changeTodoIsDoneStatus(todoId);
+        StatementCounts.assertStatements(0, 0, 1, 0);
+
+        StatementCounts.reset();
+        todoService.updateTodoDeadline(todoId, today.plusDays(1));
+        StatementCounts.assertStatements(0, 0, 1, 0);
+
+        StatementCounts.reset();
+        todoService.updateTodoPriority(todoId, Priority.HIGH);
+        StatementCounts.assertStatements(0, 0, 1, 0);
+
+        StatementCounts.reset();
+        todoService.getFrontedTodoDtoList();
+        StatementCounts.assertStatements(1, 0, 0, 0);
+
+        StatementCounts.reset();
+        todoService.getFrontendTodoPage(null, 10);
+        StatementCounts.assertStatements(1, 0, 0, 0);
+
+        // A page that is not full also reads the todos without a deadline, which sort last
+        StatementCounts.reset();
+        todoService.getFilteredFrontendTodoDtoList(filter, 0, 10);
+        StatementCounts.assertStatements(2, 0, 0, 0);
+
+        StatementCounts.reset();
+        todoService.deleteTodo(todoId);
+        StatementCounts.assertStatements(0, 0, 0, 1);
+    }
+
+    @Test
+    public void testSaveStatementCounts() {
+        // Arrange
+        List<TodoSaveDto> todoSaveDtos = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            todoSaveDtos.add(TodoSaveDto.builder().name("Batched " + i).build());
+        }
+
+        // Act & Assert: a single save is one INSERT; a batch of 120 is three JDBC batches of at most 50.
+        // The id sequence is read once per 50 ids, so SELECTs depend on the pool state and are only bounded.
+        StatementCounts.reset();
+        todoService.saveTodo(TodoSaveDto.builder().name("Single").build());
+        Assertions.assertEquals(1, StatementCounts.current().getInsert());
+        Assertions.assertTrue(StatementCounts.current().getSelect() <= 1);
+
+        StatementCounts.reset();
+        todoService.saveTodos(todoSaveDtos);
+        Assertions.assertEquals(3, StatementCounts.current().getInsert());
+        Assertions.assertTrue(StatementCounts.current().getSelect() <= 3);
+        Assertions.assertEquals(0, StatementCounts.current().getUpdate());
+    }
 }
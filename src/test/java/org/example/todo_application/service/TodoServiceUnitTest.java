@@ -1,25 +1,41 @@
 package org.example.todo_application.service;
 
+import org.example.todo_application.dto.TodoFieldUpdateDto;
 import org.example.todo_application.dto.TodoFrontendDto;
+import org.example.todo_application.dto.TodoPageDto;
 import org.example.todo_application.dto.TodoSaveDto;
 import org.example.todo_application.entity.Priority;
 import org.example.todo_application.entity.Todo;
+import org.example.todo_application.event.TodoChangeType;
+import org.example.todo_application.event.TodoChangedEvent;
 import org.example.todo_application.exception.DeadlineCannotBeInPastException;
+import org.example.todo_application.exception.InvalidCursorException;
+import org.example.todo_application.exception.TodoNotFoundException;
 import org.example.todo_application.mapper.TodoMapper;
 import org.example.todo_application.repository.TodoRepository;
+import org.example.todo_application.search.TodoSearchIndex;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +45,18 @@ public class TodoServiceUnitTest {
     private TodoRepository todoRepository;
     @Mock
     private TodoMapper todoMapper;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private TodoListChangeTracker todoListChangeTracker;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private TodoWriteBehindBuffer todoWriteBehindBuffer;
+    @Mock
+    private TodoSearchIndex todoSearchIndex;
+    @Mock
+    private TodoSummaryCounters todoSummaryCounters;
     @InjectMocks
     private TodoService todoService;
 
@@ -65,6 +93,7 @@ public class TodoServiceUnitTest {
         Assertions.assertEquals(today.plusDays(1), result.getDeadline());
         Assertions.assertFalse(savedTodo.isDone());
         verify(todoRepository, times(1)).save(any(Todo.class));
+        verify(eventPublisher, times(1)).publishEvent(any(TodoChangedEvent.class));
     }
 
     @Test
@@ -85,26 +114,57 @@ public class TodoServiceUnitTest {
     }
 
     @Test
-    public void testGetFrontendTodoDtoList() {
+    public void testSaveTodosFlushesInChunksAndPublishesOneEvent() {
         // Arrange
-        Todo todo1 = Todo.builder()
-                .todoId(1L)
-                .name("Todo 1")
-                .build();
-        Todo todo2 = Todo.builder()
-                .todoId(2L)
-                .name("Todo 2")
-                .build();
+        List<TodoSaveDto> todoSaveDtos = new ArrayList<>();
+        for (int i = 0; i < TodoService.SAVE_CHUNK_SIZE + 1; i++) {
+            todoSaveDtos.add(TodoSaveDto.builder().name("Task " + i).priority(Priority.LOW).build());
+        }
+        AtomicLong nextId = new AtomicLong(1);
+        when(todoRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Todo> chunk = invocation.getArgument(0);
+            chunk.forEach(todo -> todo.setTodoId(nextId.getAndIncrement()));
+            return chunk;
+        });
 
-        List<Todo> todoList = new ArrayList<>(List.of(todo1, todo2));
+        // Act
+        List<Long> todoIds = todoService.saveTodos(todoSaveDtos);
 
-        when(todoRepository.findAll()).thenReturn(todoList);
+        // Assert
+        Assertions.assertEquals(TodoService.SAVE_CHUNK_SIZE + 1, todoIds.size());
+        Assertions.assertEquals(1L, todoIds.get(0));
+        verify(todoRepository, times(2)).saveAll(anyList());
+        verify(todoRepository, times(2)).flushAndClear();
+        ArgumentCaptor<TodoChangedEvent> eventCaptor = ArgumentCaptor.forClass(TodoChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(eventCaptor.capture());
+        Assertions.assertEquals(TodoChangeType.CREATED, eventCaptor.getValue().getType());
+        Assertions.assertEquals(todoIds, eventCaptor.getValue().getTodoIds());
+    }
 
-        when(todoMapper.entityToFrontEndDto(todo1)).thenReturn(
-                new TodoFrontendDto(todo1.getTodoId(), todo1.getName(), "Not finished", "No deadline", "No priority"));
-        when(todoMapper.entityToFrontEndDto(todo2)).thenReturn(
-                new TodoFrontendDto(todo2.getTodoId(), todo2.getName(), "Not finished", "No deadline", "No priority"));
+    @Test
+    public void testSaveTodosWithInvalidDateSavesNothing() {
+        // Arrange
+        List<TodoSaveDto> todoSaveDtos = List.of(
+                TodoSaveDto.builder().name("Task 1").build(),
+                TodoSaveDto.builder().name("Task 2").deadline(today.minusDays(1)).build());
 
+        // Act & Assert
+        Exception exception = Assertions.assertThrows(DeadlineCannotBeInPastException.class, () -> {
+            todoService.saveTodos(todoSaveDtos);
+        });
+        Assertions.assertEquals("Deadline cannot be in past", exception.getMessage());
+        verify(todoRepository, times(0)).saveAll(anyList());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    public void testGetFrontendTodoDtoList() {
+        // Arrange
+        List<TodoFrontendDto> projectedList = new ArrayList<>(List.of(
+                new TodoFrontendDto(1L, "Todo 1", "Not finished", "No deadline", "No priority"),
+                new TodoFrontendDto(2L, "Todo 2", "Not finished", "No deadline", "No priority")));
+
+        when(todoRepository.findAllFrontendDtos()).thenReturn(projectedList);
 
         // Act
         List<TodoFrontendDto> dtoList = todoService.getFrontedTodoDtoList();
@@ -113,221 +173,330 @@ public class TodoServiceUnitTest {
         Assertions.assertEquals("Todo 1", dtoList.get(0).getName());
         Assertions.assertEquals("Todo 2", dtoList.get(1).getName());
 
-        verify(todoRepository, times(1)).findAll();
+        verify(todoRepository, times(1)).findAllFrontendDtos();
+        verify(todoRepository, times(0)).findAll();
+        verifyNoInteractions(todoMapper);
     }
 
     @Test
-    public void testUpdateTodoNameWithValidId() {
+    public void testGetFrontendTodoPageWithNextPage() {
         // Arrange
-        Todo todo = Todo.builder()
-                .todoId(1L)
-                .name("Example todo")
-                .build();
+        TodoFrontendDto dto1 = new TodoFrontendDto(1L, "Todo 1", "Not finished", "No deadline", "No priority");
+        TodoFrontendDto dto2 = new TodoFrontendDto(2L, "Todo 2", "Not finished", "No deadline", "No priority");
+        TodoFrontendDto dto3 = new TodoFrontendDto(3L, "Todo 3", "Not finished", "No deadline", "No priority");
 
-        when(todoRepository.findById(todo.getTodoId())).thenReturn(Optional.of(todo));
-        when(todoRepository.save(todo)).thenReturn(todo);
+        when(todoRepository.findFrontendDtosAfter(0L, Limit.of(3)))
+                .thenReturn(new ArrayList<>(List.of(dto1, dto2, dto3)));
 
         // Act
-        Todo updatedTodo = todoService.updateTodoName(todo.getTodoId(), "New todo");
+        TodoPageDto page = todoService.getFrontendTodoPage(null, 2);
 
         // Assert
-        Assertions.assertEquals("New todo", updatedTodo.getName());
-        verify(todoRepository, times(1)).save(todo);
+        Assertions.assertEquals(List.of(dto1, dto2), page.getTodos());
+        Assertions.assertNotNull(page.getNextCursor());
+
+        // The cursor resumes right after the last todo of the page
+        when(todoRepository.findFrontendDtosAfter(2L, Limit.of(3)))
+                .thenReturn(new ArrayList<>());
+        todoService.getFrontendTodoPage(page.getNextCursor(), 2);
+        verify(todoRepository, times(1)).findFrontendDtosAfter(2L, Limit.of(3));
+    }
+
+    @Test
+    public void testGetFrontendTodoPageWithLastPage() {
+        // Arrange
+        TodoFrontendDto dto1 = new TodoFrontendDto(1L, "Todo 1", "Not finished", "No deadline", "No priority");
+
+        when(todoRepository.findFrontendDtosAfter(0L, Limit.of(3)))
+                .thenReturn(new ArrayList<>(List.of(dto1)));
 
+        // Act
+        TodoPageDto page = todoService.getFrontendTodoPage("", 2);
+
+        // Assert
+        Assertions.assertEquals(1, page.getTodos().size());
+        Assertions.assertNull(page.getNextCursor());
     }
 
     @Test
-    public void testUpdateTodoNameWithInvalidId() {
+    public void testGetFrontendTodoPageClampsPageSize() {
+        // Act
+        todoService.getFrontendTodoPage(null, 100_000);
+
+        // Assert
+        verify(todoRepository, times(1))
+                .findFrontendDtosAfter(0L, Limit.of(TodoService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    public void testGetFrontendTodoPageWithInvalidCursor() {
+        // Act & Assert
+        Exception exception = Assertions.assertThrows(InvalidCursorException.class,
+                () -> todoService.getFrontendTodoPage("%%%", 2));
+        Assertions.assertEquals("Invalid cursor", exception.getMessage());
+        verify(todoRepository, times(0)).findFrontendDtosAfter(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    public void testSearchTodosKeepsRankedOrder() {
         // Arrange
-        long nonExistentTodoId = 99L;
-        when(todoRepository.findById(nonExistentTodoId)).thenReturn(Optional.empty());
+        Todo todo1 = Todo.builder().todoId(1L).name("Buy milk and bread").build();
+        Todo todo2 = Todo.builder().todoId(2L).name("Buy milk").build();
+        TodoFrontendDto dto1 = new TodoFrontendDto(1L, "Buy milk and bread", "Not finished", "No deadline", "No priority");
+        TodoFrontendDto dto2 = new TodoFrontendDto(2L, "Buy milk", "Not finished", "No deadline", "No priority");
 
-        // Act and assert
-        Exception exception = Assertions.assertThrows(RuntimeException.class,
-                () -> todoService.updateTodoName(nonExistentTodoId, "New todo"));
+        when(todoSearchIndex.search("milk", 0, 2)).thenReturn(List.of(2L, 3L, 1L));
+        // Todo 3 was deleted after the index was searched
+        when(todoRepository.findAllById(List.of(2L, 3L, 1L))).thenReturn(List.of(todo1, todo2));
+        when(todoMapper.entityToFrontEndDto(todo1)).thenReturn(dto1);
+        when(todoMapper.entityToFrontEndDto(todo2)).thenReturn(dto2);
 
-        // Assertions
-        Assertions.assertEquals("Todo not found", exception.getMessage());
-        verify(todoRepository, times(0)).save(any(Todo.class));
+        // Act
+        List<TodoFrontendDto> todos = todoService.searchTodos("milk", 0, 2);
+
+        // Assert
+        Assertions.assertEquals(List.of(dto2, dto1), todos);
+        verify(todoWriteBehindBuffer, times(1)).overlay(todos);
     }
 
     @Test
-    public void testChangeTodoIsDoneStatusWhenInitiallyFalse() {
+    public void testSearchTodosWithoutMatchesSkipsStore() {
         // Arrange
-        Todo todo = Todo.builder()
-                .todoId(1L)
-                .name("Example todo")
-                .isDone(false)
-                .build();
+        when(todoSearchIndex.search("nothing", 0, TodoService.MAX_PAGE_SIZE)).thenReturn(List.of());
+
+        // Act
+        List<TodoFrontendDto> todos = todoService.searchTodos("nothing", -1, 100_000);
+
+        // Assert
+        Assertions.assertTrue(todos.isEmpty());
+        verifyNoInteractions(todoRepository);
+    }
 
-        when(todoRepository.findById(todo.getTodoId())).thenReturn(Optional.of(todo));
-        when(todoRepository.save(todo)).thenReturn(todo);
+    @Test
+    public void testGetFrontendTodosAfterClampsLimitAndOverlaysBufferedEdits() {
+        // Arrange
+        List<TodoFrontendDto> todos = List.of(new TodoFrontendDto(6L, "Todo 6", "Not finished", "No deadline", "No priority"));
+        when(todoRepository.findFrontendDtosAfter(5L, Limit.of(TodoService.MAX_PAGE_SIZE))).thenReturn(todos);
 
         // Act
-        Todo updatedTodo = todoService.changeTodoIsDoneStatus(todo.getTodoId());
+        List<TodoFrontendDto> result = todoService.getFrontendTodosAfter(5L, TodoService.MAX_PAGE_SIZE + 1);
 
         // Assert
-        Assertions.assertTrue(updatedTodo.isDone());
-        verify(todoRepository, times(1)).save(todo);
+        Assertions.assertEquals(1, result.size());
+        Assertions.assertEquals(6L, result.get(0).getTodoId());
+        verify(todoWriteBehindBuffer, times(1)).overlay(result);
     }
 
     @Test
-    public void testChangeTodoIsDoneStatusWhenInitiallyTrue() {
+    public void testUpdateTodoNameWithValidId() {
         // Arrange
-        Todo todo = Todo.builder()
-                .todoId(1L)
-                .name("Example todo")
-                .isDone(true)
-                .build();
+        runTransactionCallbacks();
+        when(todoRepository.updateName(1L, "New todo")).thenReturn(1);
+
+        // Act
+        todoService.updateTodoName(1L, "New todo");
+
+        // Assert
+        verify(todoRepository, times(1)).updateName(1L, "New todo");
+        verify(todoRepository, times(0)).findById(anyLong());
+        verify(todoRepository, times(0)).save(any(Todo.class));
+    }
 
-        when(todoRepository.findById(todo.getTodoId())).thenReturn(Optional.of(todo));
-        when(todoRepository.save(todo)).thenReturn(todo);
+    @Test
+    public void testMutatorsPublishChangeEvents() {
+        // Arrange
+        runTransactionCallbacks();
+        when(todoRepository.updatePriority(1L, Priority.HIGH)).thenReturn(1);
+        when(todoRepository.deleteByTodoId(2L)).thenReturn(1);
 
         // Act
-        Todo updatedTodo = todoService.changeTodoIsDoneStatus(todo.getTodoId());
+        todoService.updateTodoPriority(1L, Priority.HIGH);
+        todoService.deleteTodo(2L);
 
         // Assert
-        Assertions.assertFalse(updatedTodo.isDone());
-        verify(todoRepository, times(1)).save(todo);
+        ArgumentCaptor<TodoChangedEvent> eventCaptor = ArgumentCaptor.forClass(TodoChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(eventCaptor.capture());
+        Assertions.assertEquals(TodoChangeType.UPDATED, eventCaptor.getAllValues().get(0).getType());
+        Assertions.assertEquals(List.of(1L), eventCaptor.getAllValues().get(0).getTodoIds());
+        Assertions.assertEquals(TodoChangeType.DELETED, eventCaptor.getAllValues().get(1).getType());
+        Assertions.assertEquals(List.of(2L), eventCaptor.getAllValues().get(1).getTodoIds());
+    }
 
+    @Test
+    public void testUpdateTodoNameIsBufferedWithWriteBehind() {
+        // Arrange
+        when(todoWriteBehindBuffer.isEnabled()).thenReturn(true);
+        when(todoWriteBehindBuffer.enqueue(any(TodoFieldUpdateDto.class))).thenReturn(true);
+
+        // Act
+        todoService.updateTodoName(1L, "New todo");
+
+        // Assert
+        ArgumentCaptor<TodoFieldUpdateDto> updateCaptor = ArgumentCaptor.forClass(TodoFieldUpdateDto.class);
+        verify(todoWriteBehindBuffer).enqueue(updateCaptor.capture());
+        Assertions.assertEquals(1L, updateCaptor.getValue().getTodoId());
+        Assertions.assertTrue(updateCaptor.getValue().isNameChanged());
+        Assertions.assertFalse(updateCaptor.getValue().isPriorityChanged());
+        Assertions.assertEquals("New todo", updateCaptor.getValue().getName());
+        verify(todoRepository, times(0)).updateName(anyLong(), any());
+        // The flush that writes the edit publishes it; until then only the list version moves
+        verify(eventPublisher, times(0)).publishEvent(any());
+        verify(todoListChangeTracker, times(1)).listChanged();
+    }
+
+    @Test
+    public void testBufferedUpdateOfUnknownTodoThrows() {
+        // Arrange
+        when(todoWriteBehindBuffer.isEnabled()).thenReturn(true);
+        when(todoWriteBehindBuffer.enqueue(any(TodoFieldUpdateDto.class))).thenReturn(false);
+
+        // Act and assert
+        Assertions.assertThrows(TodoNotFoundException.class, () -> todoService.updateTodoPriority(99L, Priority.HIGH));
+        verify(eventPublisher, times(0)).publishEvent(any());
+    }
+
+    @Test
+    public void testUpdateTodoNameWithInvalidId() {
+        // Arrange
+        runTransactionCallbacks();
+        long nonExistentTodoId = 99L;
+        when(todoRepository.updateName(nonExistentTodoId, "New todo")).thenReturn(0);
+
+        // Act and assert
+        Exception exception = Assertions.assertThrows(TodoNotFoundException.class,
+                () -> todoService.updateTodoName(nonExistentTodoId, "New todo"));
+
+        // Assertions
+        Assertions.assertEquals("Todo not found", exception.getMessage());
+        verify(eventPublisher, times(0)).publishEvent(any());
+    }
+
+    @Test
+    public void testChangeTodoIsDoneStatusWithValidId() {
+        // Arrange
+        when(todoRepository.toggleIsDone(1L)).thenReturn(1);
+
+        // Act
+        todoService.changeTodoIsDoneStatus(1L);
+
+        // Assert
+        verify(todoRepository, times(1)).toggleIsDone(1L);
+        verify(todoRepository, times(0)).findById(anyLong());
+        verify(todoRepository, times(0)).save(any(Todo.class));
     }
 
     @Test
     public void testChangeTodoIsDoneStatusWithInvalidId() {
         // Arrange
         long nonExistentTodoId = 99L;
-        when(todoRepository.findById(nonExistentTodoId)).thenReturn(Optional.empty());
+        when(todoRepository.toggleIsDone(nonExistentTodoId)).thenReturn(0);
 
         // Act and Assert
         Exception exception = Assertions.assertThrows(Exception.class,
                 () -> todoService.changeTodoIsDoneStatus(nonExistentTodoId));
         Assertions.assertEquals("Todo not found", exception.getMessage());
-        verify(todoRepository, times(0)).save(any(Todo.class));
     }
 
     @Test
     public void testUpdateTodoDeadlineWithValidId() {
         // Arrange
-        Todo todo = Todo.builder()
-                .todoId(1L)
-                .name("Example todo")
-                .deadline(today.plusDays(3))
-                .build();
-
-        when(todoRepository.findById(todo.getTodoId())).thenReturn(Optional.of(todo));
-        when(todoRepository.save(todo)).thenReturn(todo);
+        runTransactionCallbacks();
+        when(todoRepository.updateDeadline(1L, today.plusDays(10))).thenReturn(1);
 
         // Act
-        Todo updatedTodo = todoService.updateTodoDeadline(todo.getTodoId(),
-                today.plusDays(10));
+        todoService.updateTodoDeadline(1L, today.plusDays(10));
 
         // Assert
-        Assertions.assertEquals(today.plusDays(10), updatedTodo.getDeadline());
-        verify(todoRepository, times(1)).save(todo);
+        verify(todoRepository, times(1)).updateDeadline(1L, today.plusDays(10));
+        verify(todoRepository, times(0)).save(any(Todo.class));
     }
 
     @Test
     public void testUpdateTodoDeadlineToNull() {
         // Arrange
-        Todo todo = Todo.builder()
-                .todoId(1L)
-                .name("Example todo")
-                .deadline(today.plusDays(3))
-                .build();
-
-        when(todoRepository.findById(todo.getTodoId())).thenReturn(Optional.of(todo));
-        when(todoRepository.save(todo)).thenReturn(todo);
+        runTransactionCallbacks();
+        when(todoRepository.updateDeadline(1L, null)).thenReturn(1);
 
         // Act
-        Todo updatedTodo = todoService.updateTodoDeadline(todo.getTodoId(), null);
+        todoService.updateTodoDeadline(1L, null);
 
         // Assert
-        Assertions.assertNull(updatedTodo.getDeadline());
-        verify(todoRepository, times(1)).save(todo);
+        verify(todoRepository, times(1)).updateDeadline(1L, null);
     }
 
     @Test
     public void testUpdateTodoDeadlineWithInvalidId() {
         // Arrange
+        runTransactionCallbacks();
         long nonExistentTodoId = 99L;
-        when(todoRepository.findById(nonExistentTodoId)).thenReturn(Optional.empty());
+        when(todoRepository.updateDeadline(nonExistentTodoId, today.plusDays(10))).thenReturn(0);
 
         // Act and Assert
         Exception exception = Assertions.assertThrows(Exception.class,
                 () -> todoService.updateTodoDeadline(nonExistentTodoId, today.plusDays(10)));
         Assertions.assertEquals("Todo not found", exception.getMessage());
-        verify(todoRepository, times(0)).save(any(Todo.class));
+    }
+
+    @Test
+    public void testUpdateTodoDeadlineWithInvalidDate() {
+        // Act and Assert
+        Exception exception = Assertions.assertThrows(DeadlineCannotBeInPastException.class,
+                () -> todoService.updateTodoDeadline(1L, today.minusDays(1)));
+        Assertions.assertEquals("Deadline cannot be in past", exception.getMessage());
+        verify(todoRepository, times(0)).updateDeadline(anyLong(), any());
     }
 
     @Test
     public void testUpdateTodoPriorityWithValidId() {
         // Arrange
-        Todo todo = Todo.builder()
-                .todoId(1L)
-                .name("Example todo")
-                .priority(Priority.LOW)
-                .build();
-
-        when(todoRepository.findById(todo.getTodoId())).thenReturn(Optional.of(todo));
-        when(todoRepository.save(todo)).thenReturn(todo);
+        runTransactionCallbacks();
+        when(todoRepository.updatePriority(1L, Priority.MEDIUM)).thenReturn(1);
 
         // Act
-        Todo updatedTodo = todoService.updateTodoPriority(todo.getTodoId(), Priority.MEDIUM);
+        todoService.updateTodoPriority(1L, Priority.MEDIUM);
 
         // Assert
-        Assertions.assertEquals(Priority.MEDIUM, updatedTodo.getPriority());
-        verify(todoRepository, times(1)).save(todo);
+        verify(todoRepository, times(1)).updatePriority(1L, Priority.MEDIUM);
+        verify(todoRepository, times(0)).save(any(Todo.class));
     }
 
     @Test
     public void testUpdateTodoPriorityToNull() {
         // Arrange
-        Todo todo = Todo.builder()
-                .todoId(1L)
-                .name("Example todo")
-                .priority(Priority.LOW)
-                .build();
-
-        when(todoRepository.findById(todo.getTodoId())).thenReturn(Optional.of(todo));
-        when(todoRepository.save(todo)).thenReturn(todo);
+        runTransactionCallbacks();
+        when(todoRepository.updatePriority(1L, null)).thenReturn(1);
 
         // Act
-        Todo updatedTodo = todoService.updateTodoPriority(todo.getTodoId(), null);
+        todoService.updateTodoPriority(1L, null);
 
         // Assert
-        Assertions.assertNull(updatedTodo.getPriority());
-        verify(todoRepository, times(1)).save(todo);
+        verify(todoRepository, times(1)).updatePriority(1L, null);
     }
 
     @Test
     public void testUpdateTodoPriorityWithInvalidId() {
         // Arrange
+        runTransactionCallbacks();
         long nonExistentTodoId = 99L;
-        when(todoRepository.findById(nonExistentTodoId)).thenReturn(Optional.empty());
+        when(todoRepository.updatePriority(nonExistentTodoId, Priority.MEDIUM)).thenReturn(0);
 
         // Act and Assert
         Exception exception = Assertions.assertThrows(Exception.class,
                 () -> todoService.updateTodoPriority(nonExistentTodoId, Priority.MEDIUM));
         Assertions.assertEquals("Todo not found", exception.getMessage());
-        verify(todoRepository, times(0)).save(any(Todo.class));
     }
 
     @Test
     public void testDeleteTodoWithValidId() {
         // Arrange
-        Todo todo = Todo.builder()
-                .todoId(1L)
-                .name("Example todo")
-                .build();
-
-        when(todoRepository.findById(todo.getTodoId())).thenReturn(Optional.of(todo));
+        when(todoRepository.deleteByTodoId(1L)).thenReturn(1);
 
         // Act
-        todoService.deleteTodo(todo.getTodoId());
+        todoService.deleteTodo(1L);
 
         // Assert
-        verify(todoRepository, times(1)).findById(todo.getTodoId());
-        verify(todoRepository, times(1)).delete(todo);
+        verify(todoRepository, times(1)).deleteByTodoId(1L);
+        verify(todoRepository, times(0)).findById(anyLong());
     }
 
 
@@ -335,14 +504,117 @@ public class TodoServiceUnitTest {
     public void testDeleteTodoWithInvalidId() {
         // Arrange
         long nonExistentTodoId = 99L;
-        when(todoRepository.findById(nonExistentTodoId)).thenReturn(Optional.empty());
+        when(todoRepository.deleteByTodoId(nonExistentTodoId)).thenReturn(0);
 
         // Act and Assert
         Exception exception = Assertions.assertThrows(Exception.class,
                 () -> todoService.deleteTodo(nonExistentTodoId));
         Assertions.assertEquals("Todo not found", exception.getMessage());
-        verify(todoRepository, times(1)).findById(nonExistentTodoId);
-        verify(todoRepository, times(0)).delete(any(Todo.class));
+        verify(todoRepository, times(1)).deleteByTodoId(nonExistentTodoId);
+    }
+
+    @Test
+    public void testDeleteTodosRunsOneStatementPerChunk() {
+        // Arrange
+        runTransactionCallbacks();
+        List<Long> todoIds = new ArrayList<>();
+        for (long id = 1; id <= TodoService.BULK_CHUNK_SIZE + 5; id++) {
+            todoIds.add(id);
+        }
+        todoIds.add(1L);
+        when(todoRepository.deleteByTodoIdIn(anyList())).thenReturn(TodoService.BULK_CHUNK_SIZE, 5);
+
+        // Act
+        int deleted = todoService.deleteTodos(todoIds);
+
+        // Assert
+        Assertions.assertEquals(TodoService.BULK_CHUNK_SIZE + 5, deleted);
+        ArgumentCaptor<List<Long>> chunkCaptor = ArgumentCaptor.forClass(List.class);
+        verify(todoRepository, times(2)).deleteByTodoIdIn(chunkCaptor.capture());
+        Assertions.assertEquals(TodoService.BULK_CHUNK_SIZE, chunkCaptor.getAllValues().get(0).size());
+        Assertions.assertEquals(5, chunkCaptor.getAllValues().get(1).size());
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(eventPublisher, times(2)).publishEvent(any(TodoChangedEvent.class));
+    }
+
+    @Test
+    public void testChangeTodosIsDoneStatus() {
+        // Arrange
+        runTransactionCallbacks();
+        when(todoRepository.updateIsDoneIn(List.of(1L, 2L), true)).thenReturn(2);
+
+        // Act
+        int changed = todoService.changeTodosIsDoneStatus(List.of(1L, 2L), true);
+
+        // Assert
+        Assertions.assertEquals(2, changed);
+        InOrder inOrder = inOrder(todoWriteBehindBuffer, todoRepository);
+        inOrder.verify(todoWriteBehindBuffer).flush();
+        inOrder.verify(todoRepository).updateIsDoneIn(List.of(1L, 2L), true);
+        ArgumentCaptor<TodoChangedEvent> eventCaptor = ArgumentCaptor.forClass(TodoChangedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        Assertions.assertEquals(TodoChangeType.UPDATED, eventCaptor.getValue().getType());
+        Assertions.assertEquals(List.of(1L, 2L), eventCaptor.getValue().getTodoIds());
+    }
+
+    @Test
+    public void testUpdateTodosPriority() {
+        // Arrange
+        runTransactionCallbacks();
+        when(todoRepository.updatePriorityIn(List.of(3L), Priority.HIGH)).thenReturn(1);
+
+        // Act
+        int changed = todoService.updateTodosPriority(List.of(3L), Priority.HIGH);
+
+        // Assert
+        Assertions.assertEquals(1, changed);
+        verify(todoRepository, times(1)).updatePriorityIn(List.of(3L), Priority.HIGH);
     }
 
+    @Test
+    public void testDeleteCompletedTodosLoopsUntilChunkIsNotFull() {
+        // Arrange
+        runTransactionCallbacks();
+        List<Long> fullChunk = new ArrayList<>();
+        for (long id = 1; id <= TodoService.BULK_CHUNK_SIZE; id++) {
+            fullChunk.add(id);
+        }
+        List<Long> lastChunk = List.of(TodoService.BULK_CHUNK_SIZE + 1L);
+        when(todoRepository.findCompletedTodoIds(Limit.of(TodoService.BULK_CHUNK_SIZE))).thenReturn(fullChunk, lastChunk);
+        when(todoRepository.deleteByTodoIdIn(fullChunk)).thenReturn(TodoService.BULK_CHUNK_SIZE);
+        when(todoRepository.deleteByTodoIdIn(lastChunk)).thenReturn(1);
+
+        // Act
+        int deleted = todoService.deleteCompletedTodos();
+
+        // Assert
+        Assertions.assertEquals(TodoService.BULK_CHUNK_SIZE + 1, deleted);
+        verify(todoRepository, times(2)).findCompletedTodoIds(Limit.of(TodoService.BULK_CHUNK_SIZE));
+        verify(eventPublisher, times(2)).publishEvent(any(TodoChangedEvent.class));
+    }
+
+    @Test
+    public void testDeleteCompletedTodosWithNothingCompleted() {
+        // Arrange
+        runTransactionCallbacks();
+        when(todoRepository.findCompletedTodoIds(Limit.of(TodoService.BULK_CHUNK_SIZE))).thenReturn(List.of());
+
+        // Act
+        int deleted = todoService.deleteCompletedTodos();
+
+        // Assert
+        Assertions.assertEquals(0, deleted);
+        verify(todoRepository, times(0)).deleteByTodoIdIn(anyList());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionCallbacks() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+        lenient().doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
 }
@@ -0,0 +1,151 @@
+package org.example.todo_application.service;
+
+import org.example.todo_application.dto.TodoFilterDto;
+import org.example.todo_application.dto.TodoFrontendDto;
+import org.example.todo_application.dto.TodoSaveDto;
+import org.example.todo_application.entity.Priority;
+import org.example.todo_application.entity.Todo;
+import org.example.todo_application.exception.TodoNotFoundException;
+import org.example.todo_application.repository.TodoRepository;
+import org.example.todo_application.support.StatementCounts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// The delay is long enough that nothing is written unless a test flushes. With a single pooled connection, a flush
+// that needed a second one while its caller held the first would time out
+@SpringBootTest(properties = {"todo.write-behind.enabled=true", "todo.write-behind.max-delay=1h",
+        "spring.datasource.hikari.maximum-pool-size=1", "spring.datasource.hikari.connection-timeout=5000"})
+public class TodoServiceWriteBehindIntegrationTest {
+
+    @Autowired
+    private TodoService todoService;
+    @Autowired
+    private TodoWriteBehindBuffer todoWriteBehindBuffer;
+    @Autowired
+    private TodoRepository todoRepository;
+    @Autowired
+    private TodoChangeFeed todoChangeFeed;
+
+    @BeforeEach
+    void setup() {
+        todoRepository.deleteAll();
+    }
+
+    @AfterEach
+    void flush() {
+        todoWriteBehindBuffer.flush();
+    }
+
+    @Test
+    public void testEditsAreVisibleBeforeAndStoredAfterFlush() {
+        // Arrange
+        Todo first = todoService.saveTodo(TodoSaveDto.builder().name("First").build());
+        Todo second = todoService.saveTodo(TodoSaveDto.builder().name("Second").build());
+        LocalDate deadline = LocalDate.now().plusDays(3);
+
+        // Act
+        todoService.updateTodoName(first.getTodoId(), "First renamed");
+        todoService.updateTodoPriority(first.getTodoId(), Priority.MEDIUM);
+        todoService.updateTodoPriority(first.getTodoId(), Priority.HIGH);
+        todoService.updateTodoDeadline(second.getTodoId(), deadline);
+
+        // Assert
+        List<TodoFrontendDto> todos = todoService.getFrontedTodoDtoList();
+        Assertions.assertEquals("First renamed", todos.get(0).getName());
+        Assertions.assertEquals("HIGH", todos.get(0).getPriority());
+        Assertions.assertEquals(deadline.toString(), todos.get(1).getDeadline());
+        Assertions.assertEquals("First", todoRepository.findById(first.getTodoId()).orElseThrow().getName());
+
+        StatementCounts.reset();
+        todoWriteBehindBuffer.flush();
+        // Both todos go out in one JDBC batch
+        StatementCounts.assertStatements(0, 0, 1, 0);
+
+        Todo storedFirst = todoRepository.findById(first.getTodoId()).orElseThrow();
+        Assertions.assertEquals("First renamed", storedFirst.getName());
+        Assertions.assertEquals(Priority.HIGH, storedFirst.getPriority());
+        Assertions.assertEquals(1, storedFirst.getVersion());
+        Assertions.assertEquals(deadline, todoRepository.findById(second.getTodoId()).orElseThrow().getDeadline());
+    }
+
+    @Test
+    public void testBufferedEditIsPublishedByTheFlush() {
+        // Arrange
+        Todo todo = todoService.saveTodo(TodoSaveDto.builder().name("Task").build());
+        todoChangeFeed.awaitApplied();
+        String eTag = todoService.getTodoListETag();
+
+        // Act
+        todoService.updateTodoName(todo.getTodoId(), "Renamed");
+        todoChangeFeed.awaitApplied();
+        List<TodoFrontendDto> beforeFlush = todoService.searchTodos("Renamed", 0, 10);
+        todoWriteBehindBuffer.flush();
+        todoChangeFeed.awaitApplied();
+
+        // Assert
+        Assertions.assertNotEquals(eTag, todoService.getTodoListETag());
+        Assertions.assertTrue(beforeFlush.isEmpty());
+        Assertions.assertEquals("Renamed", todoService.searchTodos("Renamed", 0, 10).get(0).getName());
+    }
+
+    @Test
+    public void testEditOfUnknownTodoIsRejected() {
+        Assertions.assertThrows(TodoNotFoundException.class, () -> todoService.updateTodoName(99999L, "Ghost"));
+    }
+
+    @Test
+    public void testFilterAndBulkWritesSeeBufferedEdits() {
+        // Arrange
+        Todo todo = todoService.saveTodo(TodoSaveDto.builder().name("Task").priority(Priority.LOW).build());
+        todoService.updateTodoPriority(todo.getTodoId(), Priority.HIGH);
+
+        // Act
+        List<TodoFrontendDto> highPriority = todoService.getFilteredFrontendTodoDtoList(
+                TodoFilterDto.builder().priority(Priority.HIGH).build(), 0, 10);
+        todoService.updateTodoPriority(todo.getTodoId(), Priority.MEDIUM);
+        todoService.updateTodosPriority(List.of(todo.getTodoId()), Priority.LOW);
+        todoWriteBehindBuffer.flush();
+
+        // Assert
+        Assertions.assertEquals(1, highPriority.size());
+        // The buffered MEDIUM was written before the bulk update, not after it
+        Assertions.assertEquals(Priority.LOW, todoRepository.findById(todo.getTodoId()).orElseThrow().getPriority());
+    }
+
+    @Test
+    public void testFlushedPriorityEditUpdatesSortRank() {
+        // Arrange
+        Todo todo = todoService.saveTodo(TodoSaveDto.builder().name("Task").priority(Priority.LOW).build());
+        todoService.updateTodoPriority(todo.getTodoId(), Priority.HIGH);
+
+        // Act
+        todoWriteBehindBuffer.flush();
+
+        // Assert
+        Assertions.assertEquals(Priority.rankOf(Priority.HIGH),
+                todoRepository.findById(todo.getTodoId()).orElseThrow().getPriorityRank());
+    }
+
+    @Test
+    public void testDeleteDiscardsBufferedEdits() {
+        // Arrange
+        Todo todo = todoService.saveTodo(TodoSaveDto.builder().name("Task").build());
+        todoService.updateTodoName(todo.getTodoId(), "Renamed");
+
+        // Act
+        todoService.deleteTodo(todo.getTodoId());
+        StatementCounts.reset();
+        todoWriteBehindBuffer.flush();
+
+        // Assert
+        StatementCounts.assertStatements(0, 0, 0, 0);
+        Assertions.assertTrue(todoService.getFrontedTodoDtoList().isEmpty());
+    }
+}
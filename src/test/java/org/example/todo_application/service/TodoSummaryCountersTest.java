@@ -0,0 +1,120 @@
+package org.example.todo_application.service;
+
+import org.example.todo_application.dto.TodoSummaryDto;
+import org.example.todo_application.entity.Priority;
+import org.example.todo_application.entity.Todo;
+import org.example.todo_application.mapper.TodoMapper;
+import org.example.todo_application.repository.InMemoryTodoStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.mockito.Mockito.mock;
+
+public class TodoSummaryCountersTest {
+    private InMemoryTodoStore todoStore;
+    private TodoSummaryCounters todoSummaryCounters;
+
+    @BeforeEach
+    void setup() {
+        todoStore = new InMemoryTodoStore(new TodoMapper());
+        todoSummaryCounters = new TodoSummaryCounters(todoStore, mock(PlatformTransactionManager.class), Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void shutdown() {
+        todoSummaryCounters.destroy();
+    }
+
+    private Todo todo(long todoId, boolean isDone, Priority priority, LocalDate deadline) {
+        return Todo.builder().todoId(todoId).name("Todo " + todoId).isDone(isDone).priority(priority).deadline(deadline).build();
+    }
+
+    private void assertSummary(TodoSummaryDto summary, long total, long open, long finished, long overdue,
+                               long noPriority, long lowPriority, long mediumPriority, long highPriority) {
+        Assertions.assertEquals(List.of(total, open, finished, overdue, noPriority, lowPriority, mediumPriority, highPriority),
+                List.of(summary.getTotal(), summary.getOpen(), summary.getFinished(), summary.getOverdue(),
+                        summary.getNoPriority(), summary.getLowPriority(), summary.getMediumPriority(), summary.getHighPriority()));
+    }
+
+    @Test
+    public void testCountsFollowPutAndRemove() {
+        // Arrange
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        todoSummaryCounters.put(List.of(
+                todo(1, false, Priority.HIGH, yesterday),
+                todo(2, false, null, LocalDate.now().plusDays(1)),
+                todo(3, true, Priority.LOW, yesterday)));
+
+        // Act
+        todoSummaryCounters.put(List.of(todo(2, true, Priority.MEDIUM, LocalDate.now().plusDays(1))));
+        todoSummaryCounters.put(List.of(todo(3, false, Priority.LOW, yesterday)));
+        todoSummaryCounters.remove(List.of(1L, 42L));
+
+        // Assert
+        assertSummary(todoSummaryCounters.summary(), 2, 1, 1, 1, 0, 1, 1, 0);
+    }
+
+    @Test
+    public void testRepeatedPutOfSameStateCountsOnce() {
+        // Arrange
+        Todo todo = todo(7, false, Priority.LOW, null);
+
+        // Act
+        todoSummaryCounters.put(List.of(todo));
+        todoSummaryCounters.put(List.of(todo));
+
+        // Assert
+        assertSummary(todoSummaryCounters.summary(), 1, 1, 0, 0, 0, 1, 0, 0);
+    }
+
+    @Test
+    public void testClearForgetsEveryTodo() {
+        // Arrange
+        todoSummaryCounters.put(LongStream.rangeClosed(1, 1000).mapToObj(i -> todo(i, i % 2 == 0, null, null)).toList());
+
+        // Act
+        todoSummaryCounters.clear();
+        todoSummaryCounters.put(List.of(todo(500, false, null, null)));
+
+        // Assert
+        assertSummary(todoSummaryCounters.summary(), 1, 1, 0, 0, 1, 0, 0, 0);
+    }
+
+    @Test
+    public void testReconcileAdoptsDifferenceSeenTwice() {
+        // Arrange
+        todoStore.save(Todo.builder().name("Missed").priority(Priority.HIGH).deadline(LocalDate.now().minusDays(3)).build());
+
+        // Act
+        boolean correctedAtFirstSight = todoSummaryCounters.reconcile();
+        boolean correctedWhenSeenAgain = todoSummaryCounters.reconcile();
+
+        // Assert
+        Assertions.assertFalse(correctedAtFirstSight);
+        Assertions.assertTrue(correctedWhenSeenAgain);
+        assertSummary(todoSummaryCounters.summary(), 1, 1, 0, 1, 0, 0, 0, 1);
+        Assertions.assertFalse(todoSummaryCounters.reconcile());
+    }
+
+    @Test
+    public void testReconcileIgnoresDifferenceThatIsGoneOnSecondLook() {
+        // Arrange
+        Todo todo = todoStore.save(Todo.builder().name("Not applied yet").build());
+        Assertions.assertFalse(todoSummaryCounters.reconcile());
+
+        // Act
+        todoSummaryCounters.put(List.of(todo));
+
+        // Assert
+        Assertions.assertFalse(todoSummaryCounters.reconcile());
+        assertSummary(todoSummaryCounters.summary(), 1, 1, 0, 0, 1, 0, 0, 0);
+    }
+}
@@ -0,0 +1,213 @@
+package org.example.todo_application.service;
+
+import org.example.todo_application.dto.TodoFieldUpdateDto;
+import org.example.todo_application.dto.TodoFrontendDto;
+import org.example.todo_application.entity.Priority;
+import org.example.todo_application.exception.ServiceBusyException;
+import org.example.todo_application.mapper.TodoMapper;
+import org.example.todo_application.repository.TodoStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TodoWriteBehindBufferTest {
+    @Mock
+    private TodoStore todoStore;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TodoWriteBehindBuffer buffer;
+
+    private TodoWriteBehindBuffer createBuffer(Duration maxDelay, int maxPending) {
+        buffer = new TodoWriteBehindBuffer(todoStore, new TodoMapper(), eventPublisher, transactionManager,
+                true, maxDelay, maxPending);
+        return buffer;
+    }
+
+    @AfterEach
+    void shutdown() {
+        if (buffer != null) {
+            buffer.destroy();
+        }
+    }
+
+    private static TodoFieldUpdateDto name(long todoId, String name) {
+        return TodoFieldUpdateDto.builder().todoId(todoId).nameChanged(true).name(name).build();
+    }
+
+    private static TodoFieldUpdateDto priority(long todoId, Priority priority) {
+        return TodoFieldUpdateDto.builder().todoId(todoId).priorityChanged(true).priority(priority).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<TodoFieldUpdateDto> flushedUpdates(int flushes) {
+        ArgumentCaptor<List<TodoFieldUpdateDto>> updatesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(todoStore, times(flushes)).updateFields(updatesCaptor.capture());
+        return updatesCaptor.getValue();
+    }
+
+    @Test
+    public void testEditsToSameTodoAreCoalescedIntoOneUpdate() {
+        // Arrange
+        createBuffer(Duration.ofHours(1), 100);
+        when(todoStore.existsById(1L)).thenReturn(true);
+
+        // Act
+        buffer.enqueue(name(1L, "First"));
+        buffer.enqueue(priority(1L, Priority.HIGH));
+        buffer.enqueue(name(1L, "Second"));
+        buffer.flush();
+
+        // Assert
+        List<TodoFieldUpdateDto> updates = flushedUpdates(1);
+        Assertions.assertEquals(1, updates.size());
+        Assertions.assertEquals("Second", updates.get(0).getName());
+        Assertions.assertEquals(Priority.HIGH, updates.get(0).getPriority());
+        Assertions.assertFalse(updates.get(0).isDeadlineChanged());
+        // Only the first edit needed to check that the todo exists
+        verify(todoStore, times(1)).existsById(1L);
+    }
+
+    @Test
+    public void testEnqueueForUnknownTodoIsRejected() {
+        // Arrange
+        createBuffer(Duration.ofHours(1), 100);
+        when(todoStore.existsById(99L)).thenReturn(false);
+
+        // Act
+        boolean queued = buffer.enqueue(name(99L, "Ghost"));
+        buffer.flush();
+
+        // Assert
+        Assertions.assertFalse(queued);
+        verify(todoStore, never()).updateFields(anyList());
+    }
+
+    @Test
+    public void testOverlayShowsWaitingEdits() {
+        // Arrange
+        createBuffer(Duration.ofHours(1), 100);
+        when(todoStore.existsById(anyLong())).thenReturn(true);
+        buffer.enqueue(name(1L, "Renamed"));
+        buffer.enqueue(TodoFieldUpdateDto.builder().todoId(1L).deadlineChanged(true).deadline(LocalDate.of(2030, 5, 1)).build());
+        List<TodoFrontendDto> todos = List.of(
+                new TodoFrontendDto(1L, "Original", TodoMapper.NOT_FINISHED, TodoMapper.NO_DEADLINE, "LOW"),
+                new TodoFrontendDto(2L, "Untouched", TodoMapper.NOT_FINISHED, TodoMapper.NO_DEADLINE, TodoMapper.NO_PRIORITY));
+
+        // Act
+        buffer.overlay(todos);
+
+        // Assert
+        Assertions.assertEquals("Renamed", todos.get(0).getName());
+        Assertions.assertEquals("2030-05-01", todos.get(0).getDeadline());
+        Assertions.assertEquals("LOW", todos.get(0).getPriority());
+        Assertions.assertEquals("Untouched", todos.get(1).getName());
+    }
+
+    @Test
+    public void testFlushesAfterMaxDelay() {
+        // Arrange
+        createBuffer(Duration.ofMillis(50), 100);
+        when(todoStore.existsById(1L)).thenReturn(true);
+
+        // Act
+        buffer.enqueue(name(1L, "Renamed"));
+
+        // Assert
+        verify(todoStore, timeout(5000)).updateFields(anyList());
+    }
+
+    @Test
+    public void testFlushesWhenMaxPendingIsReached() {
+        // Arrange
+        createBuffer(Duration.ofHours(1), 2);
+        when(todoStore.existsById(anyLong())).thenReturn(true);
+
+        // Act
+        buffer.enqueue(name(1L, "One"));
+        buffer.enqueue(name(1L, "One again"));
+        verify(todoStore, never()).updateFields(anyList());
+        buffer.enqueue(name(2L, "Two"));
+
+        // Assert
+        Assertions.assertEquals(2, flushedUpdates(1).size());
+    }
+
+    @Test
+    public void testFullBufferRejectsEditWhenFlushFails() {
+        // Arrange
+        createBuffer(Duration.ofHours(1), 2);
+        when(todoStore.existsById(anyLong())).thenReturn(true);
+        when(todoStore.updateFields(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("Database is down"))
+                .thenThrow(new DataAccessResourceFailureException("Database is down"))
+                .thenReturn(2);
+        buffer.enqueue(name(1L, "One"));
+
+        // Act
+        boolean fillingEditQueued = buffer.enqueue(name(2L, "Two"));
+        Assertions.assertThrows(ServiceBusyException.class, () -> buffer.enqueue(name(3L, "Three")));
+        buffer.enqueue(priority(1L, Priority.LOW));
+        buffer.flush();
+
+        // Assert
+        Assertions.assertTrue(fillingEditQueued);
+        List<TodoFieldUpdateDto> updates = flushedUpdates(3);
+        Assertions.assertEquals(List.of(1L, 2L),
+                updates.stream().map(TodoFieldUpdateDto::getTodoId).sorted().toList());
+    }
+
+    @Test
+    public void testFailedFlushKeepsEditsForNextFlush() {
+        // Arrange
+        createBuffer(Duration.ofHours(1), 100);
+        when(todoStore.existsById(1L)).thenReturn(true);
+        when(todoStore.updateFields(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("Database is down"))
+                .thenReturn(1);
+        buffer.enqueue(name(1L, "Renamed"));
+
+        // Act
+        Assertions.assertThrows(DataAccessResourceFailureException.class, buffer::flush);
+        buffer.enqueue(priority(1L, Priority.LOW));
+        buffer.flush();
+
+        // Assert
+        List<TodoFieldUpdateDto> updates = flushedUpdates(2);
+        Assertions.assertEquals(1, updates.size());
+        Assertions.assertEquals("Renamed", updates.get(0).getName());
+        Assertions.assertEquals(Priority.LOW, updates.get(0).getPriority());
+    }
+
+    @Test
+    public void testDestroyWritesWaitingEdits() {
+        // Arrange
+        createBuffer(Duration.ofHours(1), 100);
+        when(todoStore.existsById(1L)).thenReturn(true);
+        buffer.enqueue(name(1L, "Renamed"));
+
+        // Act
+        buffer.destroy();
+
+        // Assert
+        Assertions.assertEquals(1, flushedUpdates(1).size());
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.todo_application.support;
+
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.junit.jupiter.api.Assertions;
+
+/**
+ * Assertions on the SQL statements executed by the current thread, as counted by the datasource-proxy
+ * (enabled for tests with todo.datasource-proxy.count-queries). A JDBC batch counts as one statement.
+ */
+public final class StatementCounts {
+
+    private StatementCounts() {
+    }
+
+    public static void reset() {
+        QueryCountHolder.clear();
+    }
+
+    public static QueryCount current() {
+        return QueryCountHolder.getGrandTotal();
+    }
+
+    public static void assertStatements(int select, int insert, int update, int delete) {
+        QueryCount queryCount = current();
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(select, queryCount.getSelect(), "SELECT statements"),
+                () -> Assertions.assertEquals(insert, queryCount.getInsert(), "INSERT statements"),
+                () -> Assertions.assertEquals(update, queryCount.getUpdate(), "UPDATE statements"),
+                () -> Assertions.assertEquals(delete, queryCount.getDelete(), "DELETE statements"));
+    }
+}